@@ -0,0 +1,340 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.client.DownstreamUnavailableException;
+import com.reliaquest.api.client.MockEmployeeClient;
+import com.reliaquest.api.model.Employee;
+import jakarta.annotation.PreDestroy;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory cache of the full employee roster sitting in front of {@link MockEmployeeClient#getAll()}.
+ * <p>
+ * Every read endpoint that needs the whole roster (list, search, highest salary, top earners) used to
+ * re-download it from the Mock Employee API. This cache keeps the last fetched roster as an immutable
+ * {@link RosterSnapshot} and serves reads from it without any network I/O on the hot path.
+ *
+ * <p>Freshness rules, driven by the age of the last full fetch:
+ * <ul>
+ *   <li>{@code age < ttl} – the snapshot is fresh and returned as-is.</li>
+ *   <li>{@code ttl <= age < ttl + max-stale} – the stale snapshot is returned immediately and a
+ *       background refresh is triggered (stale-while-revalidate).</li>
+ *   <li>otherwise, or when nothing has been loaded yet – the caller waits for a fetch.</li>
+ * </ul>
+ * Fetches are single-flight: concurrent misses share one in-flight download. Setting both durations
+ * to zero turns the cache into a plain read-through. When a fetch fails – typically because the Mock
+ * Employee API rate limited us and calls are paused – the last good snapshot keeps being served however
+ * old it is; only a cold cache surfaces the failure.
+ *
+ * <p>{@link #recordCreated(Employee)} and {@link #recordDeleted(String)} apply successful writes to the
+ * current snapshot (write-through) and are replayed on top of any fetch that was in flight while the
+ * write happened, so a concurrent refresh cannot resurrect a deleted employee or drop a new one. The
+ * replay journal is bounded; if more writes land during a fetch than it holds, the fetched roster cannot
+ * be brought up to date and is discarded, and the roster is fetched again.
+ *
+ * <p>Configuration ({@code application.yml}):
+ * <pre>
+ * employee:
+ *   cache:
+ *     ttl: 30s
+ *     max-stale: 5m
+ *   aggregates:
+ *     top-k: 10        # size of the top earners list maintained per snapshot
+ * </pre>
+ *
+ * @author Alexander Davila
+ * @see RosterSnapshot
+ */
+@Component
+public class EmployeeRosterCache {
+    private static final Logger log = LoggerFactory.getLogger(EmployeeRosterCache.class);
+
+    private static final int MAX_JOURNAL = 1_024;
+    private static final int MAX_FETCH_ATTEMPTS = 3;
+
+    private final MockEmployeeClient client;
+    private final Duration ttl;
+    private final Duration maxStale;
+    private final int topK;
+    private final Clock clock;
+    private final ExecutorService refresher;
+
+    private final AtomicReference<RosterSnapshot> current = new AtomicReference<>();
+    private final AtomicReference<CompletableFuture<RosterSnapshot>> inFlight = new AtomicReference<>();
+    private final AtomicLong versions = new AtomicLong();
+
+    /** Writes applied since the last completed fetch; guarded by {@code this}. */
+    private final Deque<Mutation> journal = new ArrayDeque<>();
+
+    private long mutationSeq;
+
+    /** Sequence number of the latest write dropped from the full journal; guarded by {@code this}. */
+    private long droppedThrough;
+
+    /** Roster returned by the last completed fetch; guarded by {@code this}. */
+    private List<Employee> lastFetched;
+
+    @Autowired
+    public EmployeeRosterCache(
+            MockEmployeeClient client,
+            @Value("${employee.cache.ttl:30s}") Duration ttl,
+            @Value("${employee.cache.max-stale:5m}") Duration maxStale,
+            @Value("${employee.aggregates.top-k:10}") int topK) {
+        this(client, ttl, maxStale, topK, Clock.systemUTC());
+    }
+
+    EmployeeRosterCache(MockEmployeeClient client, Duration ttl, Duration maxStale, int topK, Clock clock) {
+        this.client = client;
+        this.ttl = ttl;
+        this.maxStale = maxStale;
+        this.topK = topK;
+        this.clock = clock;
+        this.refresher = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "roster-refresh");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /** Returns the roster to serve a read from, loading or refreshing it according to the freshness rules. */
+    public RosterSnapshot snapshot() {
+        try {
+            return snapshotAsync().join();
+        } catch (CompletionException ex) {
+            throw ex.getCause() instanceof RuntimeException re ? re : ex;
+        }
+    }
+
+    /**
+     * Non-blocking form of {@link #snapshot()}: completes immediately when the current snapshot can be served,
+     * otherwise when the (shared) fetch completes.
+     */
+    public CompletableFuture<RosterSnapshot> snapshotAsync() {
+        RosterSnapshot snap = current.get();
+        if (snap == null) {
+            log.debug("Roster cache cold; loading");
+            return load();
+        }
+        Duration age = snap.age(clock.instant());
+        if (age.compareTo(ttl) < 0) {
+            return CompletableFuture.completedFuture(snap);
+        }
+        if (age.compareTo(ttl.plus(maxStale)) < 0) {
+            log.debug("Roster {} stale (age={}); serving while revalidating", snap.version(), age);
+            load();
+            return CompletableFuture.completedFuture(snap);
+        }
+        log.debug("Roster {} expired (age={}); reloading", snap.version(), age);
+        return load().exceptionally(ex -> {
+            log.warn("Serving expired roster {} after failed reload: {}", snap.version(), ex.toString());
+            return snap;
+        });
+    }
+
+    /** Current snapshot if it is still within its TTL, without triggering a load. */
+    public Optional<RosterSnapshot> fresh() {
+        return peek().filter(snap -> snap.age(clock.instant()).compareTo(ttl) < 0);
+    }
+
+    /** Forces a fetch of the roster, joining the in-flight one if there is any. */
+    public CompletableFuture<RosterSnapshot> refresh() {
+        return load();
+    }
+
+    /**
+     * Fetches the roster with a fetch that starts after this call: an in-flight fetch, which may have
+     * read the roster before the call, is waited for and followed by a new one.
+     */
+    public CompletableFuture<RosterSnapshot> reload() {
+        CompletableFuture<RosterSnapshot> existing = inFlight.get();
+        if (existing == null) {
+            return load();
+        }
+        return existing.handle((snap, ex) -> null).thenCompose(ignored -> load());
+    }
+
+    /**
+     * Records that the current snapshot, with the changes applied to it so far, is known to match the Mock
+     * Employee API now (see {@link RosterSync}), which restarts its TTL.
+     */
+    public synchronized void markSynced() {
+        RosterSnapshot synced = current.updateAndGet(snap -> snap == null ? null : snap.revalidated(clock.instant()));
+        if (synced != null) {
+            log.trace("Roster {} in sync", synced.version());
+        }
+    }
+
+    /** Current snapshot, if any, without triggering a load. */
+    public Optional<RosterSnapshot> peek() {
+        return Optional.ofNullable(current.get());
+    }
+
+    /** Time since the current snapshot was fetched or last revalidated; empty while the cache is cold. */
+    public Optional<Duration> age() {
+        return peek().map(snap -> snap.age(clock.instant()));
+    }
+
+    public void recordCreated(Employee created) {
+        if (created == null || created.getId() == null) {
+            return;
+        }
+        apply(new Mutation(0, List.of(created), List.of()));
+    }
+
+    public void recordDeleted(String id) {
+        if (id == null) {
+            return;
+        }
+        apply(new Mutation(0, List.of(), List.of(id)));
+    }
+
+    /**
+     * Applies the outcome of a bulk write as a single write-through: the roster is copied and its read
+     * models rebuilt once, rather than once per employee.
+     */
+    public void recordBatch(List<Employee> created, List<String> deletedIds) {
+        List<Employee> adds = created.stream().filter(e -> e != null && e.getId() != null).toList();
+        List<String> removes = deletedIds.stream().filter(Objects::nonNull).toList();
+        if (adds.isEmpty() && removes.isEmpty()) {
+            return;
+        }
+        apply(new Mutation(0, adds, removes));
+    }
+
+    private synchronized void apply(Mutation mutation) {
+        Mutation recorded = new Mutation(++mutationSeq, mutation.created(), mutation.deletedIds());
+        if (journal.size() == MAX_JOURNAL) {
+            droppedThrough = journal.removeFirst().seq();
+        }
+        journal.addLast(recorded);
+        RosterSnapshot next = current.updateAndGet(
+                snap -> snap == null ? null : recorded.applyTo(snap, versions.incrementAndGet()));
+        if (next != null) {
+            log.debug("Roster write-through applied -> {}", next);
+        }
+    }
+
+    private CompletableFuture<RosterSnapshot> load() {
+        while (true) {
+            CompletableFuture<RosterSnapshot> existing = inFlight.get();
+            if (existing != null) {
+                return existing;
+            }
+            CompletableFuture<RosterSnapshot> promise = new CompletableFuture<>();
+            if (inFlight.compareAndSet(null, promise)) {
+                refresher.execute(() -> fetchInto(promise));
+                return promise;
+            }
+        }
+    }
+
+    private void fetchInto(CompletableFuture<RosterSnapshot> promise) {
+        RosterSnapshot snap;
+        try {
+            snap = fetchConsistently();
+        } catch (RuntimeException ex) {
+            log.warn("Roster load failed: {}", ex.toString());
+            inFlight.compareAndSet(promise, null);
+            promise.completeExceptionally(ex);
+            return;
+        }
+        // cleared first, so that a load() which sees the promise completed also sees it is no longer in flight
+        inFlight.compareAndSet(promise, null);
+        promise.complete(snap);
+    }
+
+    /** Fetches the roster until it can be brought up to date with the writes made during the fetch. */
+    private RosterSnapshot fetchConsistently() {
+        for (int attempt = 1; ; attempt++) {
+            RosterSnapshot snap = fetchOnce();
+            if (snap != null) {
+                return snap;
+            }
+            if (attempt == MAX_FETCH_ATTEMPTS) {
+                RosterSnapshot previous = current.get();
+                if (previous == null) {
+                    throw new DownstreamUnavailableException(
+                            "Roster changed too fast to be fetched consistently", null);
+                }
+                log.warn("Roster fetch outpaced by writes {} times; keeping {}", attempt, previous);
+                return previous;
+            }
+            log.debug("Roster fetch {} outpaced by writes; fetching again", attempt);
+        }
+    }
+
+    /**
+     * Fetches the roster and publishes it with the writes made meanwhile replayed on top; {@code null} if
+     * more writes were made meanwhile than the journal holds.
+     */
+    private RosterSnapshot fetchOnce() {
+        long startSeq;
+        synchronized (this) {
+            startSeq = mutationSeq;
+        }
+        List<Employee> employees = client.getAll();
+        Instant loadedAt = clock.instant();
+        RosterSnapshot snap;
+        synchronized (this) {
+            if (droppedThrough > startSeq) {
+                // some of those writes fell out of the journal and cannot be replayed on the roster read;
+                // the current snapshot has them all, so it stays, and the fetched roster is thrown away
+                journal.clear();
+                return null;
+            }
+            RosterSnapshot previous = current.get();
+            if (employees == lastFetched && previous != null && journal.isEmpty()) {
+                // 304 Not Modified and no writes since: keep the snapshot and its derived read models
+                snap = previous.revalidated(loadedAt);
+                current.set(snap);
+                log.debug("Roster revalidated -> {}", snap);
+                return snap;
+            }
+            lastFetched = employees;
+            long version = versions.incrementAndGet();
+            snap = RosterSnapshot.of(version, employees, loadedAt, topK);
+            for (Mutation m : journal) {
+                if (m.seq() > startSeq) {
+                    snap = m.applyTo(snap, version);
+                }
+            }
+            journal.clear();
+            current.set(snap);
+        }
+        log.debug("Roster loaded -> {}", snap);
+        return snap;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    private record Mutation(long seq, List<Employee> created, List<String> deletedIds) {
+        RosterSnapshot applyTo(RosterSnapshot snap, long version) {
+            if (created.size() + deletedIds.size() > 1) {
+                return snap.withChanges(version, created, deletedIds);
+            }
+            return created.isEmpty()
+                    ? snap.withDeleted(version, deletedIds.get(0))
+                    : snap.withCreated(version, created.get(0));
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Case-insensitive substring index over {@link Employee#getName()} for one {@link RosterSnapshot}.
+ * <p>
+ * Names are case-folded ({@link Locale#ROOT}) and split into trigrams when the index is built. Each trigram
+ * maps to the {@linkplain RosterColumns#seq(int) insertion sequence numbers} of the employees whose folded
+ * name contains it, ascending, i.e. in roster order. A search for a fragment of three or more characters
+ * only visits the postings of its rarest trigram and confirms each candidate against the name column of the
+ * snapshot's {@link RosterColumns}, folding ASCII names as it compares them, so no per-employee string is
+ * allocated per query. Shorter fragments fall back to a scan of the name column. Only the matches are built
+ * into {@link Employee}s.
+ *
+ * <p>Results are identical to filtering the roster with
+ * {@code name.toLowerCase(Locale.ROOT).contains(fragment.toLowerCase(Locale.ROOT))}, in roster order.
+ *
+ * <p>Instances are immutable. {@link #withAdded} and {@link #withRemoved} share every posting list they do
+ * not touch with the previous instance.
+ *
+ * @author Alexander Davila
+ * @see RosterSnapshot#names()
+ */
+public final class NameIndex {
+
+    private static final int GRAM = 3;
+
+    private final RosterColumns columns;
+    private final Map<String, int[]> postings;
+
+    private NameIndex(RosterColumns columns, Map<String, int[]> postings) {
+        this.columns = columns;
+        this.postings = postings;
+    }
+
+    static NameIndex of(RosterColumns columns) {
+        Map<String, Posting> building = new HashMap<>();
+        for (int row = 0; row < columns.size(); row++) {
+            String name = columns.name(row);
+            if (name == null) {
+                continue;
+            }
+            for (String gram : grams(fold(name))) {
+                building.computeIfAbsent(gram, ignored -> new Posting()).add(columns.seq(row));
+            }
+        }
+        Map<String, int[]> postings = new HashMap<>(building.size() * 4 / 3 + 1);
+        building.forEach((gram, posting) -> postings.put(gram, posting.toArray()));
+        return new NameIndex(columns, Map.copyOf(postings));
+    }
+
+    /** Employees whose name contains {@code fragment}, ignoring case; all named employees for a null fragment. */
+    public List<Employee> search(String fragment) {
+        String f = fragment == null ? "" : fold(fragment);
+        byte[] utf8 = f.getBytes(StandardCharsets.UTF_8);
+        List<Employee> matches = new ArrayList<>();
+        if (f.length() < GRAM) {
+            for (int row = 0; row < columns.size(); row++) {
+                if (columns.nameContains(row, f, utf8)) {
+                    matches.add(columns.employee(row));
+                }
+            }
+            return matches;
+        }
+        int[] candidates = null;
+        for (String gram : grams(f)) {
+            int[] posting = postings.get(gram);
+            if (posting == null) {
+                return List.of();
+            }
+            if (candidates == null || posting.length < candidates.length) {
+                candidates = posting;
+            }
+        }
+        for (int seq : candidates) {
+            int row = columns.rowOfSeq(seq);
+            if (columns.nameContains(row, f, utf8)) {
+                matches.add(columns.employee(row));
+            }
+        }
+        return matches;
+    }
+
+    /** @param row the row of {@code next} that was appended */
+    NameIndex withAdded(RosterColumns next, int row) {
+        String name = next.name(row);
+        if (name == null) {
+            return new NameIndex(next, postings);
+        }
+        int seq = next.seq(row);
+        Map<String, int[]> nextPostings = new HashMap<>(postings);
+        for (String gram : grams(fold(name))) {
+            int[] current = nextPostings.getOrDefault(gram, new int[0]);
+            int[] grown = Arrays.copyOf(current, current.length + 1);
+            grown[current.length] = seq;
+            nextPostings.put(gram, grown);
+        }
+        return new NameIndex(next, Map.copyOf(nextPostings));
+    }
+
+    /**
+     * @param before the columns {@code row} was removed from
+     * @param after  the columns after the removal
+     */
+    NameIndex withRemoved(RosterColumns before, int row, RosterColumns after) {
+        String name = before.name(row);
+        if (name == null) {
+            return new NameIndex(after, postings);
+        }
+        int seq = before.seq(row);
+        Map<String, int[]> nextPostings = new HashMap<>(postings);
+        for (String gram : grams(fold(name))) {
+            int[] current = nextPostings.getOrDefault(gram, new int[0]);
+            int at = Arrays.binarySearch(current, seq);
+            if (at < 0) {
+                continue;
+            }
+            if (current.length == 1) {
+                nextPostings.remove(gram);
+            } else {
+                int[] shrunk = new int[current.length - 1];
+                System.arraycopy(current, 0, shrunk, 0, at);
+                System.arraycopy(current, at + 1, shrunk, at, shrunk.length - at);
+                nextPostings.put(gram, shrunk);
+            }
+        }
+        return new NameIndex(after, Map.copyOf(nextPostings));
+    }
+
+    private static String fold(String s) {
+        return s.toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<String> grams(String key) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM <= key.length(); i++) {
+            grams.add(key.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    /** A posting list being built, ascending since rows are visited in roster order. */
+    private static final class Posting {
+        private int[] seqs = new int[4];
+        private int size;
+
+        void add(int seq) {
+            if (size == seqs.length) {
+                seqs = Arrays.copyOf(seqs, size * 2);
+            }
+            seqs[size++] = seq;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(seqs, size);
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.reliaquest.api.cache;
+
+import java.util.Arrays;
+
+/**
+ * Mergeable quantile sketch over non-negative {@code int}s with a relative accuracy guarantee, in the
+ * manner of DDSketch: a value {@code v} is counted in the logarithmic bucket
+ * {@code ceil(log(v) / log(gamma))}, with {@code gamma = (1 + accuracy) / (1 - accuracy)}, and a
+ * percentile is answered with the representative value of the bucket holding it, which is within
+ * {@code accuracy} of the exact value relative to it.
+ * <p>
+ * The number of buckets depends on the spread of the values, not on how many there are: all positive
+ * {@code int}s fit in about 1,100 buckets at 1% accuracy, and a salary range of 30,000 to 500,000 in
+ * about 150. Values below 1 share one bucket and are reported as {@code 0}. Counts are exact, so a value
+ * can be removed again, which is what lets the sketch follow deletes.
+ *
+ * <p>Instances are immutable; every mutation returns a new instance.
+ *
+ * @author Alexander Davila
+ * @see SalaryAggregates#percentile(double)
+ */
+public final class QuantileSketch {
+
+    private final double accuracy;
+    private final double logGamma;
+    private final long zeros;
+    private final int offset;
+    private final long[] counts;
+    private final long count;
+
+    private QuantileSketch(double accuracy, double logGamma, long zeros, int offset, long[] counts, long count) {
+        this.accuracy = accuracy;
+        this.logGamma = logGamma;
+        this.zeros = zeros;
+        this.offset = offset;
+        this.counts = counts;
+        this.count = count;
+    }
+
+    /** An empty sketch answering percentiles within {@code accuracy} (e.g. {@code 0.01}) of the exact value. */
+    public static QuantileSketch empty(double accuracy) {
+        if (!(accuracy > 0 && accuracy < 1)) {
+            throw new IllegalArgumentException("accuracy must be in (0, 1): " + accuracy);
+        }
+        return new QuantileSketch(
+                accuracy, Math.log((1 + accuracy) / (1 - accuracy)), 0, 0, new long[0], 0);
+    }
+
+    public double accuracy() {
+        return accuracy;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public QuantileSketch withAdded(int value) {
+        if (value < 1) {
+            return new QuantileSketch(accuracy, logGamma, zeros + 1, offset, counts, count + 1);
+        }
+        int index = index(value);
+        int from = counts.length == 0 ? index : Math.min(offset, index);
+        int to = counts.length == 0 ? index : Math.max(offset + counts.length - 1, index);
+        long[] next = new long[to - from + 1];
+        if (counts.length > 0) {
+            System.arraycopy(counts, 0, next, offset - from, counts.length);
+        }
+        next[index - from]++;
+        return new QuantileSketch(accuracy, logGamma, zeros, from, next, count + 1);
+    }
+
+    /** This sketch without one occurrence of {@code value}; unchanged if the sketch holds no such value. */
+    public QuantileSketch withRemoved(int value) {
+        if (value < 1) {
+            return zeros == 0 ? this : new QuantileSketch(accuracy, logGamma, zeros - 1, offset, counts, count - 1);
+        }
+        int slot = index(value) - offset;
+        if (slot < 0 || slot >= counts.length || counts[slot] == 0) {
+            return this;
+        }
+        long[] next = counts.clone();
+        next[slot]--;
+        return new QuantileSketch(accuracy, logGamma, zeros, offset, next, count - 1);
+    }
+
+    /** A sketch of the values of both this sketch and {@code other}, which must have the same accuracy. */
+    public QuantileSketch merge(QuantileSketch other) {
+        if (other.accuracy != accuracy) {
+            throw new IllegalArgumentException("Cannot merge sketches of accuracy " + accuracy + " and "
+                    + other.accuracy);
+        }
+        if (other.counts.length == 0 || counts.length == 0) {
+            long[] buckets = counts.length == 0 ? other.counts : counts;
+            int from = counts.length == 0 ? other.offset : offset;
+            return new QuantileSketch(accuracy, logGamma, zeros + other.zeros, from, buckets, count + other.count);
+        }
+        int from = Math.min(offset, other.offset);
+        int to = Math.max(offset + counts.length, other.offset + other.counts.length);
+        long[] merged = new long[to - from];
+        for (int i = 0; i < counts.length; i++) {
+            merged[offset - from + i] += counts[i];
+        }
+        for (int i = 0; i < other.counts.length; i++) {
+            merged[other.offset - from + i] += other.counts[i];
+        }
+        return new QuantileSketch(accuracy, logGamma, zeros + other.zeros, from, merged, count + other.count);
+    }
+
+    /**
+     * Approximate nearest-rank {@code p}-th percentile, {@code 0 < p <= 100}: within {@link #accuracy()}
+     * of the smallest value with at least {@code p}% of the values at or below it; {@code 0} when empty.
+     */
+    public int percentile(double p) {
+        if (!(p > 0 && p <= 100)) {
+            throw new IllegalArgumentException("Percentile must be in (0, 100]: " + p);
+        }
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(p * count / 100));
+        long seen = zeros;
+        if (seen >= rank) {
+            return 0;
+        }
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return value(offset + i);
+            }
+        }
+        return value(offset + counts.length - 1);
+    }
+
+    /** Number of buckets held, a measure of the sketch's memory. */
+    int buckets() {
+        return counts.length;
+    }
+
+    private int index(int value) {
+        return (int) Math.ceil(Math.log(value) / logGamma);
+    }
+
+    /** Representative value of bucket {@code index}: equidistant, relatively, from the bucket's bounds. */
+    private int value(int index) {
+        double gamma = Math.exp(logGamma);
+        return (int) Math.min(Integer.MAX_VALUE, Math.round(2 * Math.pow(gamma, index) / (gamma + 1)));
+    }
+
+    @Override
+    public String toString() {
+        return "QuantileSketch[accuracy=" + accuracy + ", count=" + count + ", buckets=" + counts.length + "]";
+    }
+
+    /** Mutable accumulator for building a sketch from many values without a copy per value. */
+    static final class Builder {
+        private final QuantileSketch empty;
+        private long zeros;
+        private int offset;
+        private long[] counts = new long[0];
+        private int used;
+        private long count;
+
+        Builder(double accuracy) {
+            this.empty = QuantileSketch.empty(accuracy);
+        }
+
+        void add(int value) {
+            count++;
+            if (value < 1) {
+                zeros++;
+                return;
+            }
+            int index = empty.index(value);
+            if (used == 0) {
+                counts = new long[16];
+                offset = index;
+                used = 1;
+            } else if (index < offset) {
+                grow(offset - index, used + offset - index);
+                offset = index;
+            } else if (index >= offset + used) {
+                grow(0, index - offset + 1);
+            }
+            counts[index - offset]++;
+        }
+
+        QuantileSketch build() {
+            return new QuantileSketch(
+                    empty.accuracy, empty.logGamma, zeros, offset, Arrays.copyOf(counts, used), count);
+        }
+
+        /** Shifts the buckets {@code shift} slots up and makes room for {@code size} of them. */
+        private void grow(int shift, int size) {
+            if (shift > 0 || size > counts.length) {
+                long[] next = new long[Math.max(size, counts.length * 2)];
+                System.arraycopy(counts, 0, next, shift, used);
+                counts = next;
+            }
+            used = size;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.reliaquest.api.cache;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Gauges on the {@link EmployeeRosterCache}:
+ * <ul>
+ *   <li>{@code employee.cache.roster.size} – employees in the current snapshot</li>
+ *   <li>{@code employee.cache.roster.age} – seconds since it was fetched or last revalidated; an age past
+ *       {@code ttl + max-stale} means the cache keeps serving an expired roster because reloads fail</li>
+ *   <li>{@code employee.cache.roster.version} – its version, bumped by every fetch and write-through</li>
+ * </ul>
+ * All three are {@code NaN} while the cache is cold.
+ *
+ * @author Alexander Davila
+ */
+@Component
+public class RosterCacheMetrics implements MeterBinder {
+
+    private final EmployeeRosterCache cache;
+
+    public RosterCacheMetrics(EmployeeRosterCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("employee.cache.roster.size", cache, c -> c.peek()
+                        .map(snap -> (double) snap.columns().size())
+                        .orElse(Double.NaN))
+                .description("Employees in the cached roster")
+                .register(registry);
+        Gauge.builder("employee.cache.roster.age", cache, c -> c.age()
+                        .map(age -> age.toMillis() / 1000.0)
+                        .orElse(Double.NaN))
+                .baseUnit("seconds")
+                .description("Time since the cached roster was fetched or last revalidated")
+                .register(registry);
+        Gauge.builder("employee.cache.roster.version", cache, c -> c.peek()
+                        .map(snap -> (double) snap.version())
+                        .orElse(Double.NaN))
+                .description("Version of the cached roster")
+                .register(registry);
+    }
+}
@@ -0,0 +1,496 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Set;
+
+/**
+ * Column-oriented store of one roster: the form in which a {@link RosterSnapshot} (and the client's copy of
+ * the last roster fetched) hold it.
+ * <p>
+ * Row {@code i} is the {@code i}-th employee, in roster order. Salaries and ages are held as {@code int[]}
+ * ({@link #MISSING} where the employee has none) instead of boxed {@link Integer}s behind an object
+ * pointer, so a scan is a tight loop over contiguous memory that the JIT can unroll and vectorize. Titles
+ * are dictionary-encoded: each distinct title is stored once and rows carry its {@code int} code. Ids,
+ * names and emails are packed as UTF-8 into one byte array per column ({@link StringColumn}), and ids are
+ * found through an open-addressing table of row numbers. A row carries no object of its own: an
+ * {@link Employee} is built only when one is asked for ({@link #employee(int)}, {@link #employees()}) and is
+ * not kept. {@code ./gradlew benchmarks:footprint} measures the retained heap against the decoded
+ * {@code List<Employee>} with a map by id: for the benchmark roster, about 95 bytes per employee against
+ * about 320.
+ * <p>
+ * Every row also carries its insertion sequence number ({@link #seq(int)}), ascending in roster order and
+ * never reused within a roster, by which the other read models refer to rows across versions.
+ * <p>
+ * Instances are immutable; {@link #with(Employee)}, {@link #without(int)} and {@link #withChanges} copy
+ * the columns, which is O(n) like the list copy they replace, without building a single {@link Employee}.
+ *
+ * @author Alexander Davila
+ * @see RosterSnapshot#columns()
+ */
+public final class RosterColumns {
+
+    /** Value of a salary or age the employee does not have. */
+    public static final int MISSING = Integer.MIN_VALUE;
+
+    /** Title code of an employee without a title. */
+    public static final int NO_TITLE = -1;
+
+    /** A numeric column. */
+    public enum Metric {
+        SALARY,
+        AGE
+    }
+
+    private final int size;
+    private final int[] seqs;
+    private final int nextSeq;
+    private final StringColumn ids;
+    private final StringColumn names;
+    private final StringColumn emails;
+    private final int[] salaries;
+    private final int[] ages;
+    private final int[] titleCodes;
+    private final String[] titles;
+    private final Map<String, Integer> titleIndex;
+    /** Open-addressing table of {@code row + 1} by id hash, {@code 0} for a free slot; first row wins. */
+    private final int[] idSlots;
+    private final boolean salariesComplete;
+    private final boolean agesComplete;
+
+    private RosterColumns(Builder b) {
+        this.size = b.size;
+        this.seqs = Arrays.copyOf(b.seqs, size);
+        this.nextSeq = b.nextSeq;
+        this.ids = b.ids.build();
+        this.names = b.names.build();
+        this.emails = b.emails.build();
+        this.salaries = Arrays.copyOf(b.salaries, size);
+        this.ages = Arrays.copyOf(b.ages, size);
+        this.titleCodes = Arrays.copyOf(b.titleCodes, size);
+        String[] distinct = new String[b.titleIndex.size()];
+        b.titleIndex.forEach((title, code) -> distinct[code] = title);
+        this.titles = distinct;
+        this.titleIndex = Map.copyOf(b.titleIndex);
+        this.idSlots = indexIds(ids, size);
+        this.salariesComplete = complete(salaries);
+        this.agesComplete = complete(ages);
+    }
+
+    /**
+     * Columns of {@code employees}, in list order; when the list is the {@link #employees()} view of some
+     * columns, those very columns.
+     */
+    public static RosterColumns of(List<Employee> employees) {
+        if (employees instanceof Rows rows) {
+            return rows.columns();
+        }
+        Builder b = new Builder(employees.size(), 0);
+        for (Employee e : employees) {
+            b.add(e);
+        }
+        return new RosterColumns(b);
+    }
+
+    /** These columns with {@code created} appended. */
+    RosterColumns with(Employee created) {
+        Builder b = new Builder(size + 1, nextSeq);
+        for (int r = 0; r < size; r++) {
+            b.addFrom(this, r);
+        }
+        b.add(created);
+        return new RosterColumns(b);
+    }
+
+    /** These columns without {@code row}. */
+    RosterColumns without(int row) {
+        Builder b = new Builder(size - 1, nextSeq);
+        for (int r = 0; r < size; r++) {
+            if (r != row) {
+                b.addFrom(this, r);
+            }
+        }
+        return new RosterColumns(b);
+    }
+
+    /**
+     * These columns without the rows of {@code deletedIds}, then with {@code created} appended, skipping
+     * ids already present.
+     */
+    RosterColumns withChanges(List<Employee> created, Collection<String> deletedIds) {
+        Set<String> removed = new HashSet<>(deletedIds);
+        Set<String> seen = new HashSet<>();
+        Builder b = new Builder(size + created.size(), nextSeq);
+        for (int r = 0; r < size; r++) {
+            String id = id(r);
+            if (!removed.contains(id)) {
+                b.addFrom(this, r);
+                seen.add(id);
+            }
+        }
+        for (Employee e : created) {
+            if (seen.add(e.getId())) {
+                b.add(e);
+            }
+        }
+        return new RosterColumns(b);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** Row of the employee with the given id, or {@code -1}. */
+    public int row(String id) {
+        if (id == null) {
+            return -1;
+        }
+        byte[] utf8 = id.getBytes(StandardCharsets.UTF_8);
+        int mask = idSlots.length - 1;
+        for (int slot = spread(StringColumn.hash(utf8)) & mask; ; slot = (slot + 1) & mask) {
+            int row = idSlots[slot] - 1;
+            if (row < 0) {
+                return -1;
+            }
+            if (ids.equalsAt(row, utf8)) {
+                return row;
+            }
+        }
+    }
+
+    /** The employee in {@code row}, built afresh on every call. */
+    public Employee employee(int row) {
+        return new Employee(
+                ids.get(row), names.get(row), boxed(salaries[row]), boxed(ages[row]), title(row), emails.get(row));
+    }
+
+    /**
+     * The roster as a read-only list that builds each {@link Employee} as it is read, so that serializing it
+     * leaves nothing behind; every read of an element returns a new, equal instance.
+     */
+    public List<Employee> employees() {
+        return new Rows(this);
+    }
+
+    /** Insertion sequence number of {@code row}. */
+    public int seq(int row) {
+        return seqs[row];
+    }
+
+    /** Row with insertion sequence number {@code seq}, or {@code -1}. */
+    public int rowOfSeq(int seq) {
+        int row = Arrays.binarySearch(seqs, seq);
+        return row < 0 ? -1 : row;
+    }
+
+    public String id(int row) {
+        return ids.get(row);
+    }
+
+    /** Value of {@code metric} for {@code row}, or {@link #MISSING}. */
+    public int value(Metric metric, int row) {
+        return values(metric)[row];
+    }
+
+    /** The name in {@code row}, decoded afresh on every call. */
+    public String name(int row) {
+        return names.get(row);
+    }
+
+    /** Whether the name in {@code row}, lower-cased with {@link java.util.Locale#ROOT}, contains {@code folded}. */
+    boolean nameContains(int row, String folded, byte[] foldedUtf8) {
+        return names.containsFolded(row, folded, foldedUtf8);
+    }
+
+    public String title(int row) {
+        int code = titleCodes[row];
+        return code == NO_TITLE ? null : titles[code];
+    }
+
+    /** Distinct titles, indexed by their code. */
+    public List<String> titles() {
+        return List.of(titles);
+    }
+
+    /** Code of {@code title}, or {@link #NO_TITLE} if no employee has it (or it is {@code null}). */
+    public int titleCode(String title) {
+        Integer code = title == null ? null : titleIndex.get(title);
+        return code == null ? NO_TITLE : code;
+    }
+
+    public int titleCodeAt(int row) {
+        return titleCodes[row];
+    }
+
+    /**
+     * Rows of the {@code n} employees with the highest ({@code highest}) or lowest value of {@code metric},
+     * best first; ties keep roster order. Employees without a value are skipped, and so are those whose
+     * title is not {@code title}, unless it is {@code null}.
+     */
+    public int[] top(Metric metric, int n, boolean highest, String title) {
+        int[] values = values(metric);
+        int code = title == null ? NO_TITLE : titleCode(title);
+        if (n <= 0 || (title != null && code == NO_TITLE)) {
+            return new int[0];
+        }
+        // rank keys: the larger the key, the better the row; the value (complemented for lowest first)
+        // in the high half, the row, reversed so that earlier rows win ties, in the low half
+        TopKeys keys = new TopKeys(Math.min(n, size));
+        for (int row = 0; row < size; row++) {
+            int v = values[row];
+            if (v == MISSING || (title != null && titleCodes[row] != code)) {
+                continue;
+            }
+            long rank = highest ? v : ~v;
+            keys.offer((rank << 32) | (0xFFFFFFFFL - row));
+        }
+        long[] best = keys.descending();
+        int[] rows = new int[best.length];
+        for (int i = 0; i < best.length; i++) {
+            rows[i] = (int) (0xFFFFFFFFL - (best[i] & 0xFFFFFFFFL));
+        }
+        return rows;
+    }
+
+    /** Names of the {@code n} highest earners, best first; ties keep roster order. */
+    public List<String> topNamesBySalary(int n) {
+        return Arrays.stream(top(Metric.SALARY, n, true, null)).mapToObj(this::name).toList();
+    }
+
+    /** Count, min, max and sum of {@code metric} over the employees that have it. */
+    public Stats stats(Metric metric) {
+        int[] values = values(metric);
+        if (size == 0) {
+            return Stats.EMPTY;
+        }
+        if (metric == Metric.SALARY ? salariesComplete : agesComplete) {
+            // no missing values: a branch-free reduction the JIT can vectorize
+            long sum = 0;
+            int min = Integer.MAX_VALUE;
+            int max = Integer.MIN_VALUE;
+            for (int v : values) {
+                sum += v;
+                min = Math.min(min, v);
+                max = Math.max(max, v);
+            }
+            return new Stats(size, min, max, sum);
+        }
+        int count = 0;
+        long sum = 0;
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        for (int v : values) {
+            if (v != MISSING) {
+                count++;
+                sum += v;
+                min = Math.min(min, v);
+                max = Math.max(max, v);
+            }
+        }
+        return count == 0 ? Stats.EMPTY : new Stats(count, min, max, sum);
+    }
+
+    int[] values(Metric metric) {
+        return metric == Metric.SALARY ? salaries : ages;
+    }
+
+    private static Integer boxed(int value) {
+        return value == MISSING ? null : value;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static int[] indexIds(StringColumn ids, int size) {
+        int[] slots = new int[Integer.highestOneBit(Math.max(1, size) * 2 - 1) << 1];
+        int mask = slots.length - 1;
+        for (int row = 0; row < size; row++) {
+            if (ids.isNull(row)) {
+                continue;
+            }
+            int slot = spread(ids.hashAt(row)) & mask;
+            while (slots[slot] != 0 && !ids.sameAt(row, slots[slot] - 1)) {
+                slot = (slot + 1) & mask;
+            }
+            if (slots[slot] == 0) {
+                slots[slot] = row + 1;
+            }
+        }
+        return slots;
+    }
+
+    private static boolean complete(int[] values) {
+        for (int v : values) {
+            if (v == MISSING) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Count, min, max and sum of a column; min and max are {@code 0} when {@code count} is.
+     */
+    public record Stats(int count, int min, int max, long sum) {
+        static final Stats EMPTY = new Stats(0, 0, 0, 0);
+
+        public double mean() {
+            return count == 0 ? 0d : (double) sum / count;
+        }
+    }
+
+    /** Read-only list view of the rows; see {@link #employees()}. */
+    private static final class Rows extends AbstractList<Employee> implements RandomAccess {
+        private final RosterColumns columns;
+
+        Rows(RosterColumns columns) {
+            this.columns = columns;
+        }
+
+        RosterColumns columns() {
+            return columns;
+        }
+
+        @Override
+        public Employee get(int index) {
+            return columns.employee(index);
+        }
+
+        @Override
+        public int size() {
+            return columns.size;
+        }
+    }
+
+    /** Appends rows; a new employee gets the next insertion sequence number. */
+    private static final class Builder {
+        private final StringColumn.Builder ids;
+        private final StringColumn.Builder names;
+        private final StringColumn.Builder emails;
+        private final Map<String, Integer> titleIndex = new HashMap<>();
+        private int[] seqs;
+        private int[] salaries;
+        private int[] ages;
+        private int[] titleCodes;
+        private int size;
+        private int nextSeq;
+
+        Builder(int expectedRows, int nextSeq) {
+            int capacity = Math.max(1, expectedRows);
+            this.ids = new StringColumn.Builder(capacity);
+            this.names = new StringColumn.Builder(capacity);
+            this.emails = new StringColumn.Builder(capacity);
+            this.seqs = new int[capacity];
+            this.salaries = new int[capacity];
+            this.ages = new int[capacity];
+            this.titleCodes = new int[capacity];
+            this.nextSeq = nextSeq;
+        }
+
+        void add(Employee e) {
+            ids.add(e.getId());
+            names.add(e.getName());
+            emails.add(e.getEmail());
+            add(nextSeq++,
+                    e.getSalary() == null ? MISSING : e.getSalary(),
+                    e.getAge() == null ? MISSING : e.getAge(),
+                    e.getTitle());
+        }
+
+        /**
+         * Appends {@code row} of {@code from}, keeping its sequence number (below that of any row added later,
+         * as the builder starts from {@code from}'s next one); strings are copied as bytes.
+         */
+        void addFrom(RosterColumns from, int row) {
+            ids.addFrom(from.ids, row);
+            names.addFrom(from.names, row);
+            emails.addFrom(from.emails, row);
+            add(from.seqs[row], from.salaries[row], from.ages[row], from.title(row));
+        }
+
+        private void add(int seq, int salary, int age, String title) {
+            if (size == seqs.length) {
+                int grown = size * 2;
+                seqs = Arrays.copyOf(seqs, grown);
+                salaries = Arrays.copyOf(salaries, grown);
+                ages = Arrays.copyOf(ages, grown);
+                titleCodes = Arrays.copyOf(titleCodes, grown);
+            }
+            seqs[size] = seq;
+            salaries[size] = salary;
+            ages[size] = age;
+            titleCodes[size] = title == null ? NO_TITLE : titleIndex.computeIfAbsent(title, t -> titleIndex.size());
+            size++;
+        }
+    }
+
+    /** The {@code capacity} largest {@code long}s offered, kept in a primitive min-heap. */
+    private static final class TopKeys {
+        private final long[] heap;
+        private int size;
+
+        TopKeys(int capacity) {
+            this.heap = new long[capacity];
+        }
+
+        void offer(long key) {
+            if (size < heap.length) {
+                heap[size] = key;
+                siftUp(size++);
+            } else if (heap.length > 0 && key > heap[0]) {
+                heap[0] = key;
+                siftDown(0);
+            }
+        }
+
+        long[] descending() {
+            long[] out = Arrays.copyOf(heap, size);
+            Arrays.sort(out);
+            for (int i = 0, j = out.length - 1; i < j; i++, j--) {
+                long t = out[i];
+                out[i] = out[j];
+                out[j] = t;
+            }
+            return out;
+        }
+
+        private void siftUp(int i) {
+            long key = heap[i];
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (heap[parent] <= key) {
+                    break;
+                }
+                heap[i] = heap[parent];
+                i = parent;
+            }
+            heap[i] = key;
+        }
+
+        private void siftDown(int i) {
+            long key = heap[i];
+            int half = size >>> 1;
+            while (i < half) {
+                int child = 2 * i + 1;
+                if (child + 1 < size && heap[child + 1] < heap[child]) {
+                    child++;
+                }
+                if (key <= heap[child]) {
+                    break;
+                }
+                heap[i] = heap[child];
+                i = child;
+            }
+            heap[i] = key;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.cache.RosterColumns.Metric;
+import com.reliaquest.api.model.GroupStats;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Group-by over the {@link RosterColumns} of a snapshot.
+ * <p>
+ * Each row is mapped to a dense group number (its title code, or its age band), and one pass over the
+ * value column accumulates count, min, max and sum per group into primitive arrays. The values are then
+ * scattered into one array, partitioned by group, and each partition is sorted once for its percentiles.
+ * Employees without the reported value, or without the grouping field, are left out.
+ *
+ * @author Alexander Davila
+ * @see RosterSnapshot#salaryByTitle()
+ * @see RosterSnapshot#salaryByAgeBand(int)
+ */
+final class RosterGroups {
+
+    /** Most age bands a report may have; ages are validated to a few dozen years, so this is never reached. */
+    static final int MAX_BANDS = 1_000;
+
+    private RosterGroups() {}
+
+    /** Statistics of {@code metric} per title, in order of first appearance of the title in the roster. */
+    static List<GroupStats> byTitle(RosterColumns columns, Metric metric) {
+        int[] groupOf = new int[columns.size()];
+        for (int row = 0; row < groupOf.length; row++) {
+            groupOf[row] = columns.titleCodeAt(row);
+        }
+        return groupBy(columns.values(metric), groupOf, columns.titles().toArray(String[]::new));
+    }
+
+    /**
+     * Statistics of {@code metric} per age band of {@code width} years ({@code "20-29"} for a width of 10),
+     * youngest band first; bands nobody falls in are left out.
+     */
+    static List<GroupStats> byAgeBand(RosterColumns columns, Metric metric, int width) {
+        if (width < 1) {
+            throw new IllegalArgumentException("Age band width must be positive: " + width);
+        }
+        RosterColumns.Stats ages = columns.stats(Metric.AGE);
+        if (ages.count() == 0) {
+            return List.of();
+        }
+        int first = Math.floorDiv(ages.min(), width);
+        long bandCount = (long) Math.floorDiv(ages.max(), width) - first + 1;
+        if (bandCount > MAX_BANDS) {
+            throw new IllegalStateException("Ages span more than " + MAX_BANDS + " bands of " + width + " years");
+        }
+        int bands = (int) bandCount;
+        int[] groupOf = new int[columns.size()];
+        int[] ageColumn = columns.values(Metric.AGE);
+        for (int row = 0; row < groupOf.length; row++) {
+            int age = ageColumn[row];
+            groupOf[row] = age == RosterColumns.MISSING ? -1 : Math.floorDiv(age, width) - first;
+        }
+        String[] labels = new String[bands];
+        for (int band = 0; band < bands; band++) {
+            long low = (long) (first + band) * width;
+            labels[band] = low + "-" + (low + width - 1);
+        }
+        return groupBy(columns.values(metric), groupOf, labels);
+    }
+
+    private static List<GroupStats> groupBy(int[] values, int[] groupOf, String[] labels) {
+        int groups = labels.length;
+        int[] counts = new int[groups];
+        int[] mins = new int[groups];
+        int[] maxs = new int[groups];
+        long[] sums = new long[groups];
+        Arrays.fill(mins, Integer.MAX_VALUE);
+        Arrays.fill(maxs, Integer.MIN_VALUE);
+        for (int row = 0; row < values.length; row++) {
+            int g = groupOf[row];
+            int v = values[row];
+            if (g < 0 || v == RosterColumns.MISSING) {
+                groupOf[row] = -1;
+                continue;
+            }
+            counts[g]++;
+            sums[g] += v;
+            mins[g] = Math.min(mins[g], v);
+            maxs[g] = Math.max(maxs[g], v);
+        }
+
+        int[] starts = new int[groups + 1];
+        for (int g = 0; g < groups; g++) {
+            starts[g + 1] = starts[g] + counts[g];
+        }
+        int[] sorted = new int[starts[groups]];
+        int[] next = Arrays.copyOf(starts, groups);
+        for (int row = 0; row < values.length; row++) {
+            int g = groupOf[row];
+            if (g >= 0) {
+                sorted[next[g]++] = values[row];
+            }
+        }
+
+        List<GroupStats> result = new ArrayList<>();
+        for (int g = 0; g < groups; g++) {
+            int from = starts[g];
+            int count = counts[g];
+            if (count == 0) {
+                continue;
+            }
+            Arrays.sort(sorted, from, from + count);
+            result.add(new GroupStats(
+                    labels[g],
+                    count,
+                    mins[g],
+                    maxs[g],
+                    (double) sums[g] / count,
+                    percentile(sorted, from, count, 25),
+                    percentile(sorted, from, count, 50),
+                    percentile(sorted, from, count, 75),
+                    percentile(sorted, from, count, 90),
+                    percentile(sorted, from, count, 99)));
+        }
+        return List.copyOf(result);
+    }
+
+    /** Nearest-rank {@code p}-th percentile of the {@code count} sorted values starting at {@code from}. */
+    private static int percentile(int[] sorted, int from, int count, int p) {
+        int rank = (int) (((long) p * count + 99) / 100);
+        return sorted[from + Math.max(rank, 1) - 1];
+    }
+}
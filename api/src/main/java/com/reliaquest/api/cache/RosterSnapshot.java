@@ -0,0 +1,174 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.cache.RosterColumns.Metric;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.GroupStats;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Immutable, versioned view of the employee roster as last seen from the Mock Employee API.
+ * <p>
+ * A snapshot is produced by every full fetch performed by {@link EmployeeRosterCache} and by every
+ * write-through mutation ({@code create} / {@code delete}) applied on top of the previous snapshot.
+ * Readers always observe a complete, internally consistent roster; a new version is published by
+ * atomically swapping the reference held by the cache.
+ *
+ * <p>{@link #loadedAt()} records when the underlying data was last fetched in full. Write-through
+ * mutations keep the original timestamp so that TTL expiry is still driven by the last real fetch.
+ *
+ * <p>The roster itself is held only as {@link RosterColumns}; {@link #employees()} and {@link #findById}
+ * build {@link Employee}s from them as they are read. The derived read models (see {@link #salaries()} and
+ * {@link #names()}) are built from the columns once per fetched roster and carried forward incrementally by
+ * the write-through mutations. The reports computed from the columns ({@link #salaryByTitle()},
+ * {@link #salaryByAgeBand(int)}) are built on first use, once per snapshot, and kept for as long as the
+ * snapshot is current.
+ *
+ * @author Alexander Davila
+ * @see EmployeeRosterCache
+ */
+public final class RosterSnapshot {
+
+    private final long version;
+    private final RosterColumns columns;
+    private final Instant loadedAt;
+    private final SalaryAggregates salaries;
+    private final NameIndex names;
+    private final Map<String, List<GroupStats>> reports = new ConcurrentHashMap<>();
+
+    private RosterSnapshot(
+            long version, RosterColumns columns, Instant loadedAt, SalaryAggregates salaries, NameIndex names) {
+        this.version = version;
+        this.columns = columns;
+        this.loadedAt = loadedAt;
+        this.salaries = salaries;
+        this.names = names;
+    }
+
+    static RosterSnapshot of(long version, List<Employee> employees, Instant loadedAt, int topK) {
+        RosterColumns columns = RosterColumns.of(employees == null ? List.of() : employees);
+        return new RosterSnapshot(
+                version,
+                columns,
+                Objects.requireNonNull(loadedAt),
+                SalaryAggregates.of(columns, topK),
+                NameIndex.of(columns));
+    }
+
+    public long version() {
+        return version;
+    }
+
+    /** The roster, as a list that builds each {@link Employee} as it is read; see {@link RosterColumns#employees()}. */
+    public List<Employee> employees() {
+        return columns.employees();
+    }
+
+    public Instant loadedAt() {
+        return loadedAt;
+    }
+
+    public SalaryAggregates salaries() {
+        return salaries;
+    }
+
+    public NameIndex names() {
+        return names;
+    }
+
+    public RosterColumns columns() {
+        return columns;
+    }
+
+    /** Salary statistics per title, in order of first appearance of the title in the roster. */
+    public List<GroupStats> salaryByTitle() {
+        return reports.computeIfAbsent("salary-by-title", key -> RosterGroups.byTitle(columns, Metric.SALARY));
+    }
+
+    /** Salary statistics per age band of {@code width} years, youngest first. */
+    public List<GroupStats> salaryByAgeBand(int width) {
+        return reports.computeIfAbsent(
+                "salary-by-age-band-" + width, key -> RosterGroups.byAgeBand(columns, Metric.SALARY, width));
+    }
+
+    /**
+     * Names of the {@code n} highest earners, served from {@link #salaries()} when {@code n} is within the
+     * maintained top-K and ranked over {@link #columns()} otherwise.
+     */
+    public List<String> topNamesBySalary(int n) {
+        if (n <= salaries.topK()) {
+            return salaries.topNames(n);
+        }
+        return columns.topNamesBySalary(n);
+    }
+
+    public Duration age(Instant now) {
+        return Duration.between(loadedAt, now);
+    }
+
+    public boolean contains(String id) {
+        return columns.row(id) >= 0;
+    }
+
+    /** Employee with the given id, built from the columns, or {@code null} if this snapshot does not contain it. */
+    public Employee findById(String id) {
+        int row = columns.row(id);
+        return row < 0 ? null : columns.employee(row);
+    }
+
+    /**
+     * The same roster and derived read models, confirmed unchanged by the Mock Employee API at
+     * {@code revalidatedAt} (a {@code 304 Not Modified}).
+     */
+    RosterSnapshot revalidated(Instant revalidatedAt) {
+        RosterSnapshot revalidated = new RosterSnapshot(version, columns, revalidatedAt, salaries, names);
+        revalidated.reports.putAll(reports);
+        return revalidated;
+    }
+
+    /** New snapshot with {@code created} appended; a no-op copy if the id is already present. */
+    RosterSnapshot withCreated(long newVersion, Employee created) {
+        if (contains(created.getId())) {
+            return new RosterSnapshot(newVersion, columns, loadedAt, salaries, names);
+        }
+        RosterColumns next = columns.with(created);
+        int row = next.size() - 1;
+        return new RosterSnapshot(
+                newVersion, next, loadedAt, salaries.withAdded(next, row), names.withAdded(next, row));
+    }
+
+    /** New snapshot without the employee identified by {@code id}; a no-op copy if it is absent. */
+    RosterSnapshot withDeleted(long newVersion, String id) {
+        int row = columns.row(id);
+        if (row < 0) {
+            return new RosterSnapshot(newVersion, columns, loadedAt, salaries, names);
+        }
+        RosterColumns next = columns.without(row);
+        return new RosterSnapshot(
+                newVersion,
+                next,
+                loadedAt,
+                salaries.withRemoved(columns, row, next),
+                names.withRemoved(columns, row, next));
+    }
+
+    /**
+     * New snapshot with {@code deletedIds} removed and then {@code created} appended (ids already present
+     * are skipped); the read models are rebuilt once for the whole batch.
+     */
+    RosterSnapshot withChanges(long newVersion, List<Employee> created, Collection<String> deletedIds) {
+        RosterColumns next = columns.withChanges(created, deletedIds);
+        return new RosterSnapshot(
+                newVersion, next, loadedAt, SalaryAggregates.of(next, salaries.topK()), NameIndex.of(next));
+    }
+
+    @Override
+    public String toString() {
+        return "RosterSnapshot[version=" + version + ", size=" + columns.size() + ", loadedAt=" + loadedAt + "]";
+    }
+}
@@ -0,0 +1,161 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.client.MockEmployeeClient;
+import com.reliaquest.api.model.EmployeeChange;
+import com.reliaquest.api.model.EmployeeChanges;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the {@link EmployeeRosterCache} in step with the Mock Employee API by following its change feed
+ * ({@code GET /changes?since=}) instead of re-downloading the whole roster when the TTL runs out.
+ * <p>
+ * Every {@code interval} the changes after the last applied sequence number are fetched and applied to
+ * the cached snapshot through the write-through hooks, which ignore creates and deletes the snapshot
+ * already reflects (our own writes come back through the feed). Once the feed is drained the snapshot is
+ * marked in sync, which restarts its TTL. The roster is reloaded in full only to start following the feed,
+ * and when the server says the changes asked for are gone ({@code reset}) or it restarted (new run id). A
+ * feed that reports changes past the cursor but returns none of them is normal for a moment (a write has
+ * its sequence number before it is in the log) and is simply asked again next round; only when that gap
+ * is still there after {@value #GAP_ROUNDS} rounds in a row is the roster reloaded.
+ * <p>
+ * Off by default: the Mock Employee API rate limits every endpoint, and polling spends that budget even
+ * when nobody reads the roster.
+ * <pre>
+ * employee:
+ *   sync:
+ *     enabled: true
+ *     interval: 10s
+ *     batch-size: 1000
+ * </pre>
+ *
+ * @author Alexander Davila
+ */
+@Component
+@ConditionalOnProperty(name = "employee.sync.enabled", havingValue = "true")
+public class RosterSync {
+    private static final Logger log = LoggerFactory.getLogger(RosterSync.class);
+
+    /** Rounds in a row the feed may report changes it does not return before the roster is reloaded. */
+    static final int GAP_ROUNDS = 3;
+
+    private final MockEmployeeClient client;
+    private final EmployeeRosterCache cache;
+    private final Duration interval;
+    private final int batchSize;
+    private final ScheduledExecutorService scheduler;
+
+    // only touched by the scheduler thread
+    private long cursor = -1;
+    private String runId;
+    private int gapRounds;
+
+    public RosterSync(
+            MockEmployeeClient client,
+            EmployeeRosterCache cache,
+            @Value("${employee.sync.interval:10s}") Duration interval,
+            @Value("${employee.sync.batch-size:1000}") int batchSize) {
+        this.client = client;
+        this.cache = cache;
+        this.interval = interval;
+        this.batchSize = batchSize;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "roster-sync");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PostConstruct
+    void start() {
+        scheduler.scheduleWithFixedDelay(this::pollSafely, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+        log.info("Following the roster change feed every {}", interval);
+    }
+
+    private void pollSafely() {
+        try {
+            poll();
+        } catch (RuntimeException ex) {
+            // the cache keeps serving what it has; try again next round
+            log.warn("Roster sync failed at seq {}: {}", cursor, ex.toString());
+        }
+    }
+
+    /** One round: drains the change feed into the cache, or reloads the roster if it cannot be followed. */
+    void poll() {
+        while (true) {
+            EmployeeChanges batch = client.getChangesAsync(cursor, batchSize).block();
+            if (batch == null) {
+                return;
+            }
+            if (cursor < 0 || batch.isReset() || !Objects.equals(runId, batch.getRunId())) {
+                resync(batch);
+                return;
+            }
+            long before = cursor;
+            for (EmployeeChange change : batch.getChanges()) {
+                if (change.getSeq() <= cursor) {
+                    continue;
+                }
+                if (EmployeeChange.CREATED.equals(change.getType())) {
+                    cache.recordCreated(change.getEmployee());
+                } else if (EmployeeChange.DELETED.equals(change.getType()) && change.getEmployee() != null) {
+                    cache.recordDeleted(change.getEmployee().getId());
+                }
+                cursor = change.getSeq();
+            }
+            if (cursor >= batch.getLatest()) {
+                gapRounds = 0;
+                cache.markSynced();
+                log.trace("Roster in sync at seq {}", cursor);
+                return;
+            }
+            if (cursor == before) {
+                // behind latest, yet nothing after the cursor came back: usually a write that has its
+                // sequence number but is not in the log yet, so ask again next round
+                if (++gapRounds < GAP_ROUNDS) {
+                    log.debug("Change feed has nothing after seq {} yet though it is at {}", cursor, batch.getLatest());
+                    return;
+                }
+                log.warn("Change feed returned nothing after seq {} though it is at {}, {} rounds in a row",
+                        cursor, batch.getLatest(), gapRounds);
+                resync(batch);
+                return;
+            }
+            gapRounds = 0;
+        }
+    }
+
+    /**
+     * Reloads the roster and follows the feed from {@code batch.latest}: the reload starts after the
+     * server reported that sequence number, so it reflects at least the changes up to it; changes after it
+     * that the reload already saw are replayed harmlessly.
+     */
+    private void resync(EmployeeChanges batch) {
+        log.info("Reloading roster to follow the change feed (run {}, seq {}, reset {})",
+                batch.getRunId(), batch.getLatest(), batch.isReset());
+        cache.reload().join();
+        runId = batch.getRunId();
+        cursor = batch.getLatest();
+        gapRounds = 0;
+    }
+
+    long cursor() {
+        return cursor;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+}
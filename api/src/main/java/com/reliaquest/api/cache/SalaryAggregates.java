@@ -0,0 +1,191 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.cache.RosterColumns.Metric;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Salary statistics for one {@link RosterSnapshot}: count, sum, min, max, the top-K earners and a
+ * {@link QuantileSketch} of all salaries for percentiles.
+ * <p>
+ * Built from the salary column of the snapshot's {@link RosterColumns} when a roster is fetched and then
+ * maintained incrementally by the write-through path, so {@code highestSalary} is an O(1) read and the top
+ * earners an O(K) read instead of a scan over the whole roster per request.
+ *
+ * <p>The top-K list is ordered by salary descending; ties keep roster order, matching a stable sort. It
+ * holds each earner's salary, name and {@linkplain RosterColumns#seq(int) insertion sequence number}, not
+ * the employee. Employees without a salary are not ranked. Adding an employee is O(K). Removing one is O(K),
+ * to look it up among the top-K, unless it was one of them or the only employee on the minimum salary, in
+ * which case everything is rebuilt from the remaining roster; how many employees share the minimum is kept
+ * so that removing one of several does not. The sketch follows both in O(buckets), a few hundred at most,
+ * whatever the roster size.
+ *
+ * <p>Instances are immutable; every mutation returns a new instance.
+ *
+ * @author Alexander Davila
+ * @see RosterSnapshot#salaries()
+ */
+public final class SalaryAggregates {
+
+    /** Relative accuracy of {@link #percentile(double)}. */
+    static final double PERCENTILE_ACCURACY = 0.01;
+
+    /** Best first: highest salary, then earliest in roster order. */
+    private static final Comparator<Ranked> BEST_FIRST =
+            Comparator.comparingInt(Ranked::salary).reversed().thenComparingInt(Ranked::seq);
+
+    private final int topK;
+    private final int count;
+    private final long sum;
+    private final int min;
+    private final int minCount;
+    private final int max;
+    private final List<Ranked> top;
+    private final QuantileSketch sketch;
+
+    private SalaryAggregates(
+            int topK, int count, long sum, int min, int minCount, int max, List<Ranked> top, QuantileSketch sketch) {
+        this.topK = topK;
+        this.count = count;
+        this.sum = sum;
+        this.min = min;
+        this.minCount = minCount;
+        this.max = max;
+        this.top = top;
+        this.sketch = sketch;
+    }
+
+    static SalaryAggregates of(RosterColumns columns, int topK) {
+        if (topK < 1) {
+            throw new IllegalArgumentException("topK must be positive: " + topK);
+        }
+        RosterColumns.Stats stats = columns.stats(Metric.SALARY);
+        QuantileSketch.Builder sketch = new QuantileSketch.Builder(PERCENTILE_ACCURACY);
+        int minCount = 0;
+        for (int s : columns.values(Metric.SALARY)) {
+            if (s != RosterColumns.MISSING) {
+                sketch.add(s);
+                if (s == stats.min()) {
+                    minCount++;
+                }
+            }
+        }
+        List<Ranked> top = new ArrayList<>(topK);
+        for (int row : columns.top(Metric.SALARY, topK, true, null)) {
+            top.add(ranked(columns, row));
+        }
+        return new SalaryAggregates(
+                topK,
+                stats.count(),
+                stats.sum(),
+                stats.min(),
+                minCount,
+                stats.max(),
+                List.copyOf(top),
+                sketch.build());
+    }
+
+    /** @param row the row of {@code next} that was appended */
+    SalaryAggregates withAdded(RosterColumns next, int row) {
+        int s = next.value(Metric.SALARY, row);
+        if (s == RosterColumns.MISSING) {
+            return this;
+        }
+        Ranked ranked = ranked(next, row);
+        List<Ranked> nextTop = top;
+        if (top.size() < topK || BEST_FIRST.compare(ranked, top.get(top.size() - 1)) < 0) {
+            List<Ranked> merged = new ArrayList<>(top.size() + 1);
+            merged.addAll(top);
+            merged.add(ranked);
+            merged.sort(BEST_FIRST);
+            nextTop = List.copyOf(merged.size() > topK ? merged.subList(0, topK) : merged);
+        }
+        int nextMinCount = count == 0 || s < min ? 1 : s == min ? minCount + 1 : minCount;
+        return new SalaryAggregates(
+                topK,
+                count + 1,
+                sum + s,
+                count == 0 ? s : Math.min(min, s),
+                nextMinCount,
+                count == 0 ? s : Math.max(max, s),
+                nextTop,
+                sketch.withAdded(s));
+    }
+
+    /**
+     * @param before the columns {@code row} was removed from
+     * @param after  the columns after the removal; only read when a rebuild is needed
+     */
+    SalaryAggregates withRemoved(RosterColumns before, int row, RosterColumns after) {
+        int s = before.value(Metric.SALARY, row);
+        if (s == RosterColumns.MISSING) {
+            return this;
+        }
+        int seq = before.seq(row);
+        boolean ranked = top.stream().anyMatch(r -> r.seq() == seq);
+        if (count == 1 || ranked || (s == min && minCount == 1)) {
+            return of(after, topK);
+        }
+        int nextMinCount = s == min ? minCount - 1 : minCount;
+        return new SalaryAggregates(topK, count - 1, sum - s, min, nextMinCount, max, top, sketch.withRemoved(s));
+    }
+
+    public int topK() {
+        return topK;
+    }
+
+    public int count() {
+        return count;
+    }
+
+    public long sum() {
+        return sum;
+    }
+
+    /** Highest salary, or {@code 0} when no employee has a salary. */
+    public int highest() {
+        return count == 0 ? 0 : max;
+    }
+
+    /** Lowest salary, or {@code 0} when no employee has a salary. */
+    public int lowest() {
+        return count == 0 ? 0 : min;
+    }
+
+    public double average() {
+        return count == 0 ? 0d : (double) sum / count;
+    }
+
+    /**
+     * Approximate nearest-rank {@code p}-th salary percentile, {@code 0 < p <= 100}, within 1% of the
+     * exact value and never outside {@link #lowest()}..{@link #highest()}; the 100th is exact. {@code 0}
+     * when no employee has a salary.
+     */
+    public int percentile(double p) {
+        int estimate = sketch.percentile(p);
+        if (count == 0) {
+            return 0;
+        }
+        return p == 100 ? max : Math.max(min, Math.min(max, estimate));
+    }
+
+    /** The sketch behind {@link #percentile(double)}, e.g. to merge with others. */
+    public QuantileSketch sketch() {
+        return sketch;
+    }
+
+    /** Names of the {@code n} highest earners; {@code n} must not exceed {@link #topK()}. */
+    public List<String> topNames(int n) {
+        if (n > topK) {
+            throw new IllegalArgumentException("Requested top " + n + " but only top " + topK + " is maintained");
+        }
+        return top.stream().limit(n).map(Ranked::name).toList();
+    }
+
+    private static Ranked ranked(RosterColumns columns, int row) {
+        return new Ranked(columns.value(Metric.SALARY, row), columns.seq(row), columns.name(row));
+    }
+
+    private record Ranked(int salary, int seq, String name) {}
+}
@@ -0,0 +1,167 @@
+package com.reliaquest.api.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * A column of strings packed back to back as UTF-8 into one {@code byte[]}, for {@link RosterColumns}.
+ * <p>
+ * Row {@code i} occupies the bytes between the end of row {@code i - 1} and {@code ends[i]}; a {@code null}
+ * is an empty range whose end is stored complemented. A row costs its UTF-8 length plus four bytes, where a
+ * {@link String} costs a 24-byte object and a 16-byte array header on top of its characters. Strings are
+ * decoded on demand and not kept.
+ *
+ * @author Alexander Davila
+ */
+final class StringColumn {
+
+    private final byte[] bytes;
+    private final int[] ends;
+
+    private StringColumn(byte[] bytes, int[] ends) {
+        this.bytes = bytes;
+        this.ends = ends;
+    }
+
+    int size() {
+        return ends.length;
+    }
+
+    /** The string in {@code row}, decoded afresh on every call. */
+    String get(int row) {
+        int end = ends[row];
+        if (end < 0) {
+            return null;
+        }
+        int start = start(row);
+        return new String(bytes, start, end - start, StandardCharsets.UTF_8);
+    }
+
+    boolean isNull(int row) {
+        return ends[row] < 0;
+    }
+
+    /** Whether {@code row} holds exactly {@code utf8}, compared without decoding the row. */
+    boolean equalsAt(int row, byte[] utf8) {
+        int end = ends[row];
+        return end >= 0 && Arrays.equals(bytes, start(row), end, utf8, 0, utf8.length);
+    }
+
+    /** Whether rows {@code a} and {@code b} hold the same string, {@code null} included. */
+    boolean sameAt(int a, int b) {
+        return ends[a] < 0
+                ? ends[b] < 0
+                : ends[b] >= 0 && Arrays.equals(bytes, start(a), ends[a], bytes, start(b), ends[b]);
+    }
+
+    /** Hash of the bytes of {@code row}, the same as {@link #hash(byte[])} of its UTF-8 encoding. */
+    int hashAt(int row) {
+        return hash(bytes, start(row), end(row));
+    }
+
+    static int hash(byte[] utf8) {
+        return hash(utf8, 0, utf8.length);
+    }
+
+    /**
+     * Whether {@code row}, lower-cased with {@link Locale#ROOT}, contains {@code folded} (already lower-cased).
+     * ASCII rows are folded byte by byte as they are compared; other rows are decoded and folded.
+     */
+    boolean containsFolded(int row, String folded, byte[] foldedUtf8) {
+        if (ends[row] < 0) {
+            return false;
+        }
+        int start = start(row);
+        int end = ends[row];
+        for (int i = start; i < end; i++) {
+            if (bytes[i] < 0) {
+                return get(row).toLowerCase(Locale.ROOT).contains(folded);
+            }
+        }
+        int last = end - foldedUtf8.length;
+        outer:
+        for (int i = start; i <= last; i++) {
+            for (int j = 0; j < foldedUtf8.length; j++) {
+                if (lower(bytes[i + j]) != foldedUtf8[j]) {
+                    continue outer;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private int start(int row) {
+        return row == 0 ? 0 : end(row - 1);
+    }
+
+    private int end(int row) {
+        int end = ends[row];
+        return end < 0 ? ~end : end;
+    }
+
+    private static byte lower(byte b) {
+        return b >= 'A' && b <= 'Z' ? (byte) (b + ('a' - 'A')) : b;
+    }
+
+    private static int hash(byte[] bytes, int from, int to) {
+        int h = 1;
+        for (int i = from; i < to; i++) {
+            h = 31 * h + bytes[i];
+        }
+        return h;
+    }
+
+    /** Appends rows; {@link #build()} trims the arrays to size. */
+    static final class Builder {
+        private byte[] bytes;
+        private int[] ends;
+        private int length;
+        private int size;
+
+        Builder(int expectedRows) {
+            this.bytes = new byte[Math.max(16, expectedRows * 16)];
+            this.ends = new int[Math.max(1, expectedRows)];
+        }
+
+        void add(String s) {
+            if (s == null) {
+                end(~length);
+                return;
+            }
+            byte[] utf8 = s.getBytes(StandardCharsets.UTF_8);
+            append(utf8, 0, utf8.length);
+        }
+
+        /** Appends row {@code row} of {@code from} without decoding it. */
+        void addFrom(StringColumn from, int row) {
+            if (from.isNull(row)) {
+                end(~length);
+                return;
+            }
+            int start = from.start(row);
+            append(from.bytes, start, from.ends[row] - start);
+        }
+
+        StringColumn build() {
+            return new StringColumn(Arrays.copyOf(bytes, length), Arrays.copyOf(ends, size));
+        }
+
+        private void append(byte[] src, int from, int count) {
+            if (length + count > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(length + count, bytes.length * 2));
+            }
+            System.arraycopy(src, from, bytes, length, count);
+            length += count;
+            end(length);
+        }
+
+        private void end(int end) {
+            if (size == ends.length) {
+                ends = Arrays.copyOf(ends, size * 2);
+            }
+            ends[size++] = end;
+        }
+    }
+}
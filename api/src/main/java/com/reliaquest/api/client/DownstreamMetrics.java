@@ -0,0 +1,109 @@
+package com.reliaquest.api.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Timers and fallback counters for the operations {@link MockEmployeeClient} runs against the Mock Employee
+ * API.
+ * <p>
+ * Each operation is timed end to end, retries and rate limiter waits included, as
+ * {@code employee.client.requests} tagged with the {@code operation} and its {@code outcome}:
+ * <ul>
+ *   <li>{@code success}</li>
+ *   <li>{@code 404} – the server answered Not Found</li>
+ *   <li>{@code 429} – the server rate limited the call, or the client-side rate limiter shed it</li>
+ *   <li>{@code timeout}</li>
+ *   <li>{@code error} – anything else</li>
+ * </ul>
+ * The timers publish percentile histograms, so latency quantiles can be aggregated across instances on
+ * the Prometheus side. Failed calls that are answered with an empty result instead of an error are
+ * counted as {@code employee.client.fallbacks}, tagged with the operation; a {@code 404} is an answer, not
+ * a fallback, and is not counted there.
+ *
+ * @author Alexander Davila
+ */
+final class DownstreamMetrics {
+
+    static final String SUCCESS = "success";
+    static final String NOT_FOUND = "404";
+    static final String RATE_LIMITED = "429";
+    static final String TIMEOUT = "timeout";
+    static final String ERROR = "error";
+
+    private final MeterRegistry registry;
+    private final ConcurrentMap<String, Timer> timers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Counter> fallbacks = new ConcurrentHashMap<>();
+
+    DownstreamMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /** Times every subscription to {@code call}; cancelled calls are not recorded. */
+    <T> Mono<T> timed(String operation, Mono<T> call) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return call.doOnSuccess(value -> record(operation, SUCCESS, start))
+                    .doOnError(ex -> record(operation, outcome(ex), start));
+        });
+    }
+
+    /** Like {@link #timed(String, Mono)} for a streamed call, timed until its last element or its error. */
+    <T> Flux<T> timed(String operation, Flux<T> call) {
+        return Flux.defer(() -> {
+            long start = System.nanoTime();
+            return call.doOnComplete(() -> record(operation, SUCCESS, start))
+                    .doOnError(ex -> record(operation, outcome(ex), start));
+        });
+    }
+
+    /** Counts {@code ex} as a fallback of {@code operation}, unless it is a 404, and returns {@code fallback}. */
+    <T> Mono<T> fallback(String operation, Throwable ex, Mono<T> fallback) {
+        if (!NOT_FOUND.equals(outcome(ex))) {
+            fallbacks
+                    .computeIfAbsent(operation, op -> Counter.builder("employee.client.fallbacks")
+                            .tag("operation", op)
+                            .description("Failed Mock Employee API calls answered with an empty result")
+                            .register(registry))
+                    .increment();
+        }
+        return fallback;
+    }
+
+    static String outcome(Throwable ex) {
+        for (Throwable t = ex; t != null; t = t.getCause()) {
+            if (t instanceof DownstreamUnavailableException unavailable && unavailable.isRateLimited()) {
+                return RATE_LIMITED;
+            }
+            if (t instanceof TimeoutException) {
+                return TIMEOUT;
+            }
+            if (t instanceof WebClientResponseException response) {
+                return switch (response.getStatusCode().value()) {
+                    case 404 -> NOT_FOUND;
+                    case 429 -> RATE_LIMITED;
+                    default -> ERROR;
+                };
+            }
+        }
+        return ERROR;
+    }
+
+    private void record(String operation, String outcome, long start) {
+        timers.computeIfAbsent(operation + ' ' + outcome, key -> Timer.builder("employee.client.requests")
+                        .tag("operation", operation)
+                        .tag("outcome", outcome)
+                        .description("Mock Employee API operations, retries included")
+                        .publishPercentileHistogram()
+                        .register(registry))
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+}
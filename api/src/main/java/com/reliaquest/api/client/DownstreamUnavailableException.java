@@ -0,0 +1,48 @@
+package com.reliaquest.api.client;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Signals that the Mock Employee API could not serve a call: it rate limited us, the call was shed
+ * client-side to stay within its budget, or it failed outright.
+ * <p>
+ * Unlike an empty roster or a missing employee, this is not an answer about the data, so it is surfaced
+ * to callers (as {@code 503 Service Unavailable}) rather than swallowed.
+ *
+ * @author Alexander Davila
+ * @see com.reliaquest.api.client.resilience.AdaptiveRateLimiter
+ */
+public class DownstreamUnavailableException extends RuntimeException {
+
+    private final transient Duration retryAfter;
+    private final boolean rateLimited;
+
+    public DownstreamUnavailableException(String message, Duration retryAfter) {
+        this(message, retryAfter, null);
+    }
+
+    public DownstreamUnavailableException(String message, Duration retryAfter, Throwable cause) {
+        this(message, retryAfter, cause, false);
+    }
+
+    private DownstreamUnavailableException(String message, Duration retryAfter, Throwable cause, boolean rateLimited) {
+        super(message, cause);
+        this.retryAfter = retryAfter;
+        this.rateLimited = rateLimited;
+    }
+
+    /** The Mock Employee API answered {@code 429}, or the client-side rate limiter shed the call. */
+    public static DownstreamUnavailableException rateLimited(String message, Duration retryAfter) {
+        return new DownstreamUnavailableException(message, retryAfter, null, true);
+    }
+
+    /** How long the caller should wait before trying again, when known. */
+    public Optional<Duration> getRetryAfter() {
+        return Optional.ofNullable(retryAfter);
+    }
+
+    public boolean isRateLimited() {
+        return rateLimited;
+    }
+}
@@ -0,0 +1,174 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.cache.EmployeeRosterCache;
+import com.reliaquest.api.model.Employee;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Request-collapsing front for {@link MockEmployeeClient#getByIdAsync(String)}.
+ * <p>
+ * A burst of id lookups used to cost one HTTP round trip (and one blocked thread) per call. Lookups now
+ * go through three stages:
+ * <ol>
+ *   <li>If the roster cache holds a fresh snapshot containing the id, it is answered locally.</li>
+ *   <li>Concurrent lookups for the same id share one in-flight {@link Mono}.</li>
+ *   <li>Distinct ids arriving within {@code employee.lookup.window} are flushed together. A batch of at
+ *       least {@code employee.lookup.batch-threshold} ids is answered from a single roster fetch
+ *       (through {@link EmployeeRosterCache#refresh()}, so it also refreshes the cache); smaller
+ *       batches fall back to one {@code GET /{id}} per id.</li>
+ * </ol>
+ *
+ * <p>Metrics:
+ * <ul>
+ *   <li>{@code employee.lookup.requests} – lookups received</li>
+ *   <li>{@code employee.lookup.collapsed} – lookups that joined an in-flight lookup for the same id</li>
+ *   <li>{@code employee.lookup.cache.hits} – lookups answered from a fresh snapshot</li>
+ *   <li>{@code employee.lookup.downstream} – downstream calls made, tagged {@code mode=by-id|roster}</li>
+ *   <li>{@code employee.lookup.collapse.ratio} – lookups per downstream call; higher is better</li>
+ * </ul>
+ *
+ * @author Alexander Davila
+ * @see MockEmployeeClient
+ */
+@Component
+public class EmployeeLookupCoalescer {
+    private static final Logger log = LoggerFactory.getLogger(EmployeeLookupCoalescer.class);
+
+    private final MockEmployeeClient client;
+    private final EmployeeRosterCache cache;
+    private final Duration window;
+    private final int batchThreshold;
+
+    private final ConcurrentMap<String, Mono<Employee>> inFlight = new ConcurrentHashMap<>();
+    private final Object lock = new Object();
+
+    /** Lookups waiting for the current window to close; guarded by {@link #lock}. */
+    private Map<String, Sinks.One<Employee>> pending = new HashMap<>();
+
+    private final Counter requests;
+    private final Counter collapsed;
+    private final Counter cacheHits;
+    private final Counter byIdCalls;
+    private final Counter rosterCalls;
+
+    public EmployeeLookupCoalescer(
+            MockEmployeeClient client,
+            EmployeeRosterCache cache,
+            @Value("${employee.lookup.window:5ms}") Duration window,
+            @Value("${employee.lookup.batch-threshold:4}") int batchThreshold,
+            MeterRegistry registry) {
+        this.client = client;
+        this.cache = cache;
+        this.window = window;
+        this.batchThreshold = batchThreshold;
+        this.requests = registry.counter("employee.lookup.requests");
+        this.collapsed = registry.counter("employee.lookup.collapsed");
+        this.cacheHits = registry.counter("employee.lookup.cache.hits");
+        this.byIdCalls = registry.counter("employee.lookup.downstream", "mode", "by-id");
+        this.rosterCalls = registry.counter("employee.lookup.downstream", "mode", "roster");
+        Gauge.builder("employee.lookup.collapse.ratio", this, EmployeeLookupCoalescer::collapseRatio)
+                .description("Lookups served per downstream call")
+                .register(registry);
+    }
+
+    /** Blocking form for the servlet stack; {@code null} when the employee does not exist. */
+    public Employee getById(String id) {
+        return lookup(id).block();
+    }
+
+    public Mono<Employee> lookup(String id) {
+        requests.increment();
+        Employee cached = cache.fresh().map(snap -> snap.findById(id)).orElse(null);
+        if (cached != null) {
+            cacheHits.increment();
+            return Mono.just(cached);
+        }
+        boolean[] joined = {true};
+        Mono<Employee> shared = inFlight.computeIfAbsent(id, key -> {
+            joined[0] = false;
+            return enqueue(key);
+        });
+        if (joined[0]) {
+            collapsed.increment();
+        }
+        return shared;
+    }
+
+    private Mono<Employee> enqueue(String id) {
+        Sinks.One<Employee> sink = Sinks.one();
+        boolean opensWindow;
+        synchronized (lock) {
+            opensWindow = pending.isEmpty();
+            pending.put(id, sink);
+        }
+        if (window.isZero()) {
+            Schedulers.parallel().schedule(this::flush);
+        } else if (opensWindow) {
+            Schedulers.parallel().schedule(this::flush, window.toNanos(), TimeUnit.NANOSECONDS);
+        }
+        return sink.asMono();
+    }
+
+    private void flush() {
+        Map<String, Sinks.One<Employee>> batch;
+        synchronized (lock) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            pending = new HashMap<>();
+        }
+        if (batch.size() >= batchThreshold) {
+            log.debug("Resolving {} coalesced id lookups from one roster fetch", batch.size());
+            rosterCalls.increment();
+            Mono.fromFuture(cache::refresh, true)
+                    .subscribe(
+                            snap -> batch.forEach((id, sink) -> complete(id, sink, snap.findById(id))),
+                            ex -> batch.forEach((id, sink) -> fail(id, sink, ex)));
+            return;
+        }
+        batch.forEach((id, sink) -> {
+            byIdCalls.increment();
+            client.getByIdAsync(id)
+                    .map(Optional::of)
+                    .defaultIfEmpty(Optional.empty())
+                    .subscribe(employee -> complete(id, sink, employee.orElse(null)), ex -> fail(id, sink, ex));
+        });
+    }
+
+    private void complete(String id, Sinks.One<Employee> sink, Employee employee) {
+        inFlight.remove(id);
+        if (employee == null) {
+            sink.tryEmitEmpty();
+        } else {
+            sink.tryEmitValue(employee);
+        }
+    }
+
+    private void fail(String id, Sinks.One<Employee> sink, Throwable ex) {
+        inFlight.remove(id);
+        log.warn("Coalesced lookup id={} failed: {}", id, ex.toString());
+        sink.tryEmitError(ex);
+    }
+
+    private double collapseRatio() {
+        double downstream = byIdCalls.count() + rosterCalls.count();
+        return downstream == 0 ? 0d : requests.count() / downstream;
+    }
+}
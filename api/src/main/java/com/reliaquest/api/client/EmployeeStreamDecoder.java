@@ -0,0 +1,134 @@
+package com.reliaquest.api.client;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.reliaquest.api.model.Employee;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Decodes the Mock Employee API roster envelope, {@code {"data":[{...},{...}],"status":"..."}}, into a
+ * stream of {@link Employee}s as the response body arrives.
+ * <p>
+ * The body is fed chunk by chunk to Jackson's non-blocking parser; only the tokens of the employee being
+ * read are buffered, and each one is bound and emitted as soon as its closing brace is seen. Memory use is
+ * bounded by one employee plus one network chunk, however large the roster, and the WebFlux codec's
+ * {@code maxInMemorySize} limit does not apply. Fields of the envelope other than {@code data} are skipped.
+ *
+ * @author Alexander Davila
+ */
+@Component
+public class EmployeeStreamDecoder {
+
+    private final ObjectMapper mapper;
+    private final ObjectReader employeeReader;
+
+    public EmployeeStreamDecoder(ObjectMapper mapper) {
+        this.mapper = mapper;
+        this.employeeReader = mapper.readerFor(Employee.class);
+    }
+
+    public Flux<Employee> decode(Flux<DataBuffer> body) {
+        return Flux.defer(() -> {
+            Parse parse = new Parse();
+            return body.concatMapIterable(parse::feed)
+                    .concatWith(Mono.fromCallable(parse::finish).flatMapIterable(list -> list))
+                    .doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+        });
+    }
+
+    /** Parsing state of one response body. */
+    private final class Parse {
+        private static final int ENVELOPE = 1;
+        private static final int DATA = 2;
+        private static final int ELEMENT = 3;
+
+        private final JsonParser parser;
+        private final ByteArrayFeeder feeder;
+        private int depth;
+        private boolean dataNext;
+        private boolean inData;
+        private TokenBuffer element;
+
+        Parse() {
+            try {
+                this.parser = mapper.getFactory().createNonBlockingByteArrayParser();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+        }
+
+        List<Employee> feed(DataBuffer buffer) {
+            byte[] bytes = new byte[buffer.readableByteCount()];
+            buffer.read(bytes);
+            DataBufferUtils.release(buffer);
+            try {
+                feeder.feedInput(bytes, 0, bytes.length);
+                return drain();
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Malformed employee roster", ex);
+            }
+        }
+
+        List<Employee> finish() throws IOException {
+            feeder.endOfInput();
+            List<Employee> last;
+            try {
+                last = drain();
+            } catch (IOException ex) {
+                throw new IOException("Employee roster ended prematurely", ex);
+            }
+            if (depth != 0) {
+                throw new IOException("Employee roster ended prematurely");
+            }
+            parser.close();
+            return last;
+        }
+
+        private List<Employee> drain() throws IOException {
+            List<Employee> out = new ArrayList<>();
+            JsonToken token;
+            while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+                if (token.isStructStart()) {
+                    depth++;
+                } else if (token.isStructEnd()) {
+                    depth--;
+                }
+
+                if (element != null) {
+                    element.copyCurrentEvent(parser);
+                    if (depth == DATA) {
+                        out.add(employeeReader.readValue(element.asParser(mapper)));
+                        element = null;
+                    }
+                } else if (inData) {
+                    if (token == JsonToken.START_OBJECT && depth == ELEMENT) {
+                        element = new TokenBuffer(parser);
+                        element.copyCurrentEvent(parser);
+                    } else if (token == JsonToken.END_ARRAY && depth == ENVELOPE) {
+                        inData = false;
+                    }
+                } else if (depth == ENVELOPE && token == JsonToken.FIELD_NAME) {
+                    dataNext = "data".equals(parser.currentName());
+                } else if (dataNext) {
+                    // data is null or not an array otherwise: no employees
+                    inData = token == JsonToken.START_ARRAY && depth == DATA;
+                    dataNext = false;
+                }
+            }
+            return out;
+        }
+    }
+}
@@ -1,18 +1,31 @@
 package com.reliaquest.api.client;
 
+import com.reliaquest.api.cache.RosterColumns;
 import com.reliaquest.api.model.ApiResponse;
+import com.reliaquest.api.model.BulkItemResult;
 import com.reliaquest.api.model.CreateEmployeeRequest;
 import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeChanges;
+import com.reliaquest.api.model.EmployeePage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
-import org.springframework.http.HttpStatusCode;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 /**
@@ -59,78 +72,446 @@ public class MockEmployeeClient {
     private static final Logger log = LoggerFactory.getLogger(MockEmployeeClient.class);
 
     private final WebClient webClient;
+    private final EmployeeStreamDecoder rosterDecoder;
+    private final boolean paged;
+    private final int pageSize;
+    private final int partitions;
+    private final Counter fullFetches;
+    private final Counter notModified;
+    private final DownstreamMetrics downstream;
 
+    /** ETag and body of the last complete roster read, revalidated with If-None-Match. */
+    private final AtomicReference<TaggedRoster> lastRoster = new AtomicReference<>();
 
-    public MockEmployeeClient(WebClient employeeWebClient) {
+    /*
+     * Each operation has a reactive form (xxxAsync) used by the non-blocking request path and a blocking
+     * form for the servlet stack that simply blocks on it.
+     */
+    public MockEmployeeClient(
+            WebClient employeeWebClient,
+            EmployeeStreamDecoder rosterDecoder,
+            MeterRegistry registry,
+            @Value("${employee.client.roster.paged:true}") boolean paged,
+            @Value("${employee.client.roster.page-size:1000}") int pageSize,
+            @Value("${employee.client.roster.partitions:1}") int partitions) {
         this.webClient = employeeWebClient;
+        this.rosterDecoder = rosterDecoder;
+        this.paged = paged;
+        this.pageSize = pageSize;
+        this.partitions = partitions;
+        this.fullFetches = Counter.builder("employee.client.roster.fetches")
+                .tag("result", "full")
+                .description("Roster requests answered with the full body")
+                .register(registry);
+        this.notModified = Counter.builder("employee.client.roster.fetches")
+                .tag("result", "not_modified")
+                .description("Roster requests answered 304 Not Modified")
+                .register(registry);
+        this.downstream = new DownstreamMetrics(registry);
     }
 
+    /**
+     * @throws DownstreamUnavailableException if the roster could not be fetched, so that a failure is never
+     *     mistaken for an empty roster
+     */
     public List<Employee> getAll() {
-        List<Employee> out = webClient.get()
-                .retrieve()
-                .bodyToMono(new ParameterizedTypeReference<ApiResponse<List<Employee>>>() {})
-                .map(ApiResponse::getData)
-                .doOnSuccess(list -> log.info("Fetched {} employees", list == null ? 0 : list.size()))
-                .timeout(Duration.ofSeconds(5))
-                .onErrorResume(ex -> {
-                    log.error("Failed to fetch employees: {}", ex.toString(), ex);
-                    return Mono.just(List.of());
-                })
-                .block();
+        List<Employee> out = getAllAsync().block();
         return out == null ? List.of() : out;
     }
 
-    public Employee getById(String id) {
+    /**
+     * Fails with {@link DownstreamUnavailableException} if the roster could not be fetched.
+     * <p>
+     * The roster is read page by page ({@link #getAllPagedAsync}) unless {@code employee.client.roster.paged}
+     * is off, in which case it is fetched in one response. Either way the employees come in the order they
+     * were added to the mock server, and the request carries the ETag of the last complete roster; on
+     * {@code 304 Not Modified} the list returned then is returned again, the very same instance, without
+     * transferring or decoding anything. That list is kept as {@link RosterColumns}, not as employee objects,
+     * and builds each employee as it is read.
+     */
+    public Mono<List<Employee>> getAllAsync() {
+        return downstream
+                .timed("getAll", paged ? getAllPagedAsync(pageSize, partitions) : getAllInOneAsync())
+                .doOnError(ex -> log.error("Failed to fetch employees: {}", ex.toString()))
+                .onErrorMap(
+                        ex -> !(ex instanceof DownstreamUnavailableException),
+                        ex -> new DownstreamUnavailableException("Failed to fetch employees", null, ex));
+    }
+
+    private Mono<List<Employee>> getAllInOneAsync() {
+        return Mono.defer(() -> {
+                    TaggedRoster cached = lastRoster.get();
+                    return webClient.get()
+                            .headers(h -> ifNoneMatch(h, cached))
+                            .exchangeToMono(resp -> {
+                                if (resp.statusCode().value() == 304 && cached != null) {
+                                    return resp.releaseBody().then(Mono.fromSupplier(() -> notModified(cached)));
+                                }
+                                if (resp.statusCode().isError()) {
+                                    return resp.createError();
+                                }
+                                String etag = resp.headers().asHttpHeaders().getETag();
+                                return resp.bodyToFlux(DataBuffer.class)
+                                        .transform(rosterDecoder::decode)
+                                        .collectList()
+                                        .map(list -> fetched(etag, list));
+                            });
+                })
+                .timeout(Duration.ofSeconds(5));
+    }
+
+    /**
+     * Reads the whole roster through the keyset-paged endpoint and returns it in the order it was added to the
+     * mock server, the order the server pages in.
+     * <p>
+     * The first page is requested with If-None-Match; a {@code 304} there means the roster is unchanged and
+     * nothing else is fetched. Otherwise it reports the cursor of the newest employee, and the rest of the
+     * roster is split into {@code partitions} disjoint cursor ranges that are walked concurrently. Each page
+     * reports the roster version it was cut from; if a write lands mid-walk and the pages disagree, the walk
+     * is repeated (twice at most, after which the last, slightly torn, roster is used).
+     */
+    public Mono<List<Employee>> getAllPagedAsync(int pageSize, int partitions) {
+        return walkAll(pageSize, Math.max(1, partitions), 2);
+    }
+
+    /**
+     * Streams the roster page by page, in insertion order, emitting each page's employees as it arrives. Fails
+     * with {@link DownstreamUnavailableException} if a page could not be fetched; pages are not checked for a
+     * common version, so a write during the walk may or may not show.
+     */
+    public Flux<Employee> streamPaged(int pageSize) {
+        Flux<Employee> employees =
+                walkRange(null, null, pageSize).concatMapIterable(page -> page.page().getEmployees());
+        return downstream
+                .timed("streamPaged", employees)
+                .doOnError(ex -> log.error("Failed to stream employees: {}", ex.toString()))
+                .onErrorMap(
+                        ex -> !(ex instanceof DownstreamUnavailableException),
+                        ex -> new DownstreamUnavailableException("Failed to stream employees", null, ex));
+    }
+
+    private Mono<List<Employee>> walkAll(int pageSize, int partitions, int retriesLeft) {
+        return Mono.defer(() -> {
+            TaggedRoster cached = lastRoster.get();
+            return fetchPage(null, null, null, pageSize, cached).flatMap(head -> {
+                if (head.page() == null) {
+                    return Mono.fromSupplier(() -> notModified(cached));
+                }
+                Long next = head.page().getNextCursor();
+                List<Long[]> ranges = next == null
+                        ? List.<Long[]>of(new Long[] {null, null})
+                        : cursorRanges(next, head.page().getLastCursor(), partitions);
+                Flux<List<PageResult>> walks = Flux.mergeSequential(
+                        Flux.fromIterable(ranges).index().map(range -> range.getT1() == 0
+                                ? continueRange(head, range.getT2()[1], pageSize).collectList()
+                                : walkRange(range.getT2()[0], range.getT2()[1], pageSize)
+                                        .collectList()),
+                        ranges.size(),
+                        1);
+                return walks.collectList().flatMap(perRange -> {
+                    List<Employee> employees = new ArrayList<>();
+                    long version = head.page().getVersion();
+                    boolean consistent = true;
+                    for (List<PageResult> pages : perRange) {
+                        for (PageResult page : pages) {
+                            consistent &= page.page().getVersion() == version;
+                            employees.addAll(page.page().getEmployees());
+                        }
+                    }
+                    if (!consistent && retriesLeft > 0) {
+                        log.debug("Roster changed during paged walk; walking again");
+                        return walkAll(pageSize, partitions, retriesLeft - 1);
+                    }
+                    if (!consistent) {
+                        log.warn("Roster kept changing during paged walk; using the last walk as is");
+                    }
+                    return Mono.just(fetched(consistent ? head.etag() : null, employees));
+                });
+            });
+        });
+    }
+
+    private Flux<PageResult> walkRange(Long from, Long to, int pageSize) {
+        return fetchPage(from, null, to, pageSize, null).flatMapMany(head -> continueRange(head, to, pageSize));
+    }
+
+    /** {@code head} followed by the rest of its range. */
+    private Flux<PageResult> continueRange(PageResult head, Long to, int pageSize) {
+        return Flux.just(head).expand(page -> page.page() == null || page.page().getNextCursor() == null
+                ? Mono.empty()
+                : fetchPage(null, page.page().getNextCursor(), to, pageSize, null));
+    }
+
+    /** One page; {@link PageResult#page()} is {@code null} when the server answered 304 Not Modified. */
+    private Mono<PageResult> fetchPage(Long from, Long after, Long to, int limit, TaggedRoster cached) {
         return webClient.get()
-                .uri("/{id}", id)
+                .uri(uri -> uri.path("/page")
+                        .queryParamIfPresent("from", Optional.ofNullable(from))
+                        .queryParamIfPresent("after", Optional.ofNullable(after))
+                        .queryParamIfPresent("to", Optional.ofNullable(to))
+                        .queryParam("limit", limit)
+                        .build())
+                .headers(h -> ifNoneMatch(h, cached))
+                .exchangeToMono(resp -> {
+                    if (resp.statusCode().value() == 304 && cached != null) {
+                        return resp.releaseBody().thenReturn(new PageResult(null, cached.etag()));
+                    }
+                    if (resp.statusCode().isError()) {
+                        return resp.createError();
+                    }
+                    String etag = resp.headers().asHttpHeaders().getETag();
+                    return resp.bodyToMono(new ParameterizedTypeReference<ApiResponse<EmployeePage>>() {})
+                            .map(body -> new PageResult(body.getData(), etag));
+                })
+                .timeout(Duration.ofSeconds(5));
+    }
+
+    /**
+     * Splits the cursors past {@code after}, up to and including {@code last}, into at most {@code partitions}
+     * contiguous ranges {@code [from, to)} of about equal width; the last range is open-ended ({@code to} is
+     * null). Cursors are sequence numbers, so deletions only make some ranges a little shorter.
+     */
+    static List<Long[]> cursorRanges(long after, long last, int partitions) {
+        long span = Math.max(1, last - after);
+        int count = (int) Math.min(partitions, span);
+        List<Long[]> ranges = new ArrayList<>(count);
+        Long lower = after + 1;
+        for (int i = 1; i <= count; i++) {
+            Long upper = i == count ? null : after + 1 + span * i / count;
+            ranges.add(new Long[] {lower, upper});
+            lower = upper;
+        }
+        return ranges;
+    }
+
+    private static void ifNoneMatch(HttpHeaders headers, TaggedRoster cached) {
+        if (cached != null) {
+            headers.setIfNoneMatch(cached.etag());
+        }
+    }
+
+    private List<Employee> notModified(TaggedRoster cached) {
+        notModified.increment();
+        log.info("Employees not modified ({})", cached.etag());
+        return cached.employees();
+    }
+
+    /** Keeps and returns the roster read as {@link RosterColumns}, which the roster cache then shares. */
+    private List<Employee> fetched(String etag, List<Employee> list) {
+        List<Employee> employees = RosterColumns.of(list).employees();
+        fullFetches.increment();
+        lastRoster.set(etag == null ? null : new TaggedRoster(etag, employees));
+        log.info("Fetched {} employees", employees.size());
+        return employees;
+    }
+
+    /**
+     * Streams the roster in one response, emitting each employee as soon as it has been read off the wire
+     * instead of buffering and decoding the whole response first (see {@link EmployeeStreamDecoder}).
+     * <p>
+     * Unlike {@link #getAllAsync} nothing is kept, so the request is never revalidated with an ETag. The
+     * stream fails with {@link DownstreamUnavailableException} if the roster could not be fetched or no
+     * employee arrived for 5 seconds, and is timed as the {@code streamAll} operation until its last employee.
+     */
+    public Flux<Employee> streamAll() {
+        Flux<Employee> employees = webClient.get()
                 .retrieve()
-                .bodyToMono(new ParameterizedTypeReference<ApiResponse<Employee>>() {})
-                .map(ApiResponse::getData)
+                .bodyToFlux(DataBuffer.class)
+                .transform(rosterDecoder::decode)
+                .timeout(Duration.ofSeconds(5));
+        return downstream
+                .timed("streamAll", employees)
+                .doOnError(ex -> log.error("Failed to stream employees: {}", ex.toString()))
+                .onErrorMap(
+                        ex -> !(ex instanceof DownstreamUnavailableException),
+                        ex -> new DownstreamUnavailableException("Failed to stream employees", null, ex));
+    }
+
+    /**
+     * Up to {@code limit} changes after sequence number {@code since} from the change feed; a negative
+     * {@code since} just asks for the latest sequence number (as a reset).
+     */
+    public Mono<EmployeeChanges> getChangesAsync(long since, int limit) {
+        return downstream
+                .timed(
+                        "getChanges",
+                        webClient.get()
+                                .uri("/changes?since={since}&limit={limit}", since, limit)
+                                .retrieve()
+                                .bodyToMono(new ParameterizedTypeReference<ApiResponse<EmployeeChanges>>() {})
+                                .map(ApiResponse::getData)
+                                .timeout(Duration.ofSeconds(5)))
+                .doOnError(ex -> log.warn("Failed to fetch changes since={}: {}", since, ex.toString()))
+                .onErrorMap(
+                        ex -> !(ex instanceof DownstreamUnavailableException),
+                        ex -> new DownstreamUnavailableException("Failed to fetch changes", null, ex));
+    }
+
+    public Employee getById(String id) {
+        return getByIdAsync(id).block();
+    }
+
+    /**
+     * Completes empty when the employee does not exist or the lookup fails, except that a rate-limited or
+     * shed call fails with {@link DownstreamUnavailableException}.
+     */
+    public Mono<Employee> getByIdAsync(String id) {
+        return downstream
+                .timed(
+                        "getById",
+                        webClient.get()
+                                .uri("/{id}", id)
+                                .retrieve()
+                                .bodyToMono(new ParameterizedTypeReference<ApiResponse<Employee>>() {})
+                                .map(ApiResponse::getData)
+                                .timeout(Duration.ofSeconds(5)))
                 .doOnSuccess(emp -> log.info("Fetched employee id={} found={}", id, emp != null))
-                .timeout(Duration.ofSeconds(5))
                 .doOnError(ex -> log.warn("Failed to fetch employee id={}: {}", id, ex.toString()))
-                .onErrorResume(ex -> Mono.empty())
-                .block();
+                .onErrorResume(
+                        ex -> !(ex instanceof DownstreamUnavailableException),
+                        ex -> downstream.fallback("getById", ex, Mono.empty()));
     }
 
     public Employee create(CreateEmployeeRequest req) {
-        return webClient.post()
-                .bodyValue(Map.of(
-                        "name", req.getName(),
-                        "salary", req.getSalary(),
-                        "age", req.getAge(),
-                        "title", req.getTitle()))
-                .retrieve()
-                .bodyToMono(new ParameterizedTypeReference<ApiResponse<Employee>>() {})
-                .map(ApiResponse::getData)
+        return createAsync(req).block();
+    }
+
+    public Mono<Employee> createAsync(CreateEmployeeRequest req) {
+        return downstream
+                .timed(
+                        "create",
+                        webClient.post()
+                                .bodyValue(Map.of(
+                                        "name", req.getName(),
+                                        "salary", req.getSalary(),
+                                        "age", req.getAge(),
+                                        "title", req.getTitle()))
+                                .retrieve()
+                                .bodyToMono(new ParameterizedTypeReference<ApiResponse<Employee>>() {})
+                                .map(ApiResponse::getData)
+                                .timeout(Duration.ofSeconds(5)))
                 .doOnSuccess(emp -> log.info("Created employee name={} success={}", req.getName(), emp != null))
-                .timeout(Duration.ofSeconds(5))
                 .doOnError(ex -> log.error("Create employee failed name={}: {}", req.getName(), ex.toString()))
-                .onErrorResume(ex -> Mono.empty())
-                .block();
+                .onErrorResume(
+                        ex -> !(ex instanceof DownstreamUnavailableException),
+                        ex -> downstream.fallback("create", ex, Mono.empty()));
     }
 
     /**
-     * NOTE: The mock server expects DELETE /employee/{name} with BODY { "name": "..." } and returns { "data": true }.
+     * Creates all of {@code reqs} with one {@code POST /batch}; one result per request, in order. Fails with
+     * {@link DownstreamUnavailableException} when the batch could not be applied.
+     */
+    public Mono<List<BulkItemResult>> createBatchAsync(List<CreateEmployeeRequest> reqs) {
+        return downstream
+                .timed(
+                        "createBatch",
+                        webClient.post()
+                                .uri("/batch")
+                                .bodyValue(reqs.stream()
+                                        .map(req -> Map.of(
+                                                "name", req.getName(),
+                                                "salary", req.getSalary(),
+                                                "age", req.getAge(),
+                                                "title", req.getTitle()))
+                                        .toList())
+                                .retrieve()
+                                .bodyToMono(new ParameterizedTypeReference<ApiResponse<List<BulkItemResult>>>() {})
+                                .map(ApiResponse::getData)
+                                .timeout(Duration.ofSeconds(30)))
+                .doOnSuccess(results -> log.info("Batch created {} employees", reqs.size()))
+                .doOnError(ex -> log.error("Batch create of {} failed: {}", reqs.size(), ex.toString()))
+                .onErrorMap(
+                        ex -> !(ex instanceof DownstreamUnavailableException),
+                        ex -> new DownstreamUnavailableException("Batch create failed", null, ex));
+    }
+
+    /**
+     * Deletes the employees with the given ids with one {@code DELETE /batch}; one result per id, in order.
+     * Fails with {@link DownstreamUnavailableException} when the batch could not be applied.
+     */
+    public Mono<List<BulkItemResult>> deleteBatchAsync(List<String> ids) {
+        return downstream
+                .timed(
+                        "deleteBatch",
+                        webClient.method(HttpMethod.DELETE)
+                                .uri("/batch")
+                                .bodyValue(Map.of("ids", ids))
+                                .retrieve()
+                                .bodyToMono(new ParameterizedTypeReference<ApiResponse<List<BulkItemResult>>>() {})
+                                .map(ApiResponse::getData)
+                                .timeout(Duration.ofSeconds(30)))
+                .doOnSuccess(results -> log.info("Batch deleted {} ids", ids.size()))
+                .doOnError(ex -> log.error("Batch delete of {} failed: {}", ids.size(), ex.toString()))
+                .onErrorMap(
+                        ex -> !(ex instanceof DownstreamUnavailableException),
+                        ex -> new DownstreamUnavailableException("Batch delete failed", null, ex));
+    }
+
+    public Employee deleteById(String id) {
+        return deleteByIdAsync(id).block();
+    }
+
+    /**
+     * Deletes the employee with the given id in one call ({@code DELETE /{id}}) and returns the deleted
+     * record; completes empty when there is no such employee. Fails with {@link DownstreamUnavailableException} when rate-limited
+     * or shed, and with {@link IllegalStateException} when the delete failed otherwise.
+     */
+    public Mono<Employee> deleteByIdAsync(String id) {
+        return downstream
+                .timed(
+                        "deleteById",
+                        webClient.method(HttpMethod.DELETE)
+                                .uri("/{id}", id)
+                                .retrieve()
+                                .bodyToMono(new ParameterizedTypeReference<ApiResponse<Employee>>() {})
+                                .mapNotNull(ApiResponse::getData)
+                                .timeout(Duration.ofSeconds(5)))
+                .onErrorResume(WebClientResponseException.class, ex -> {
+                    int status = ex.getStatusCode().value();
+                    if (status != 404 && status != 400) {
+                        return Mono.error(ex);
+                    }
+                    // 400: not a UUID, so no such employee either
+                    log.info("Delete id={} -> {} (not found)", id, status);
+                    return Mono.empty();
+                })
+                .doOnSuccess(emp -> log.info("Delete id={} deleted={}", id, emp != null))
+                .doOnError(ex -> log.warn("Delete id={} failed: {}", id, ex.toString()))
+                .onErrorMap(
+                        ex -> !(ex instanceof DownstreamUnavailableException),
+                        ex -> new IllegalStateException("Failed to delete employee id=" + id, ex));
+    }
+
+    /**
+     * NOTE: The mock server expects DELETE /employee with BODY { "name": "..." } and returns { "data": true }.
      */
     public boolean deleteByName(String name) {
-        Boolean ok = webClient.method(HttpMethod.DELETE)
-                .uri("/{name}", name)
-                .bodyValue(Map.of("name", name))
-                .retrieve()
-                .onStatus(s -> s.value() == 404, resp -> {
+        return Boolean.TRUE.equals(deleteByNameAsync(name).block());
+    }
+
+    public Mono<Boolean> deleteByNameAsync(String name) {
+        return downstream
+                .timed(
+                        "deleteByName",
+                        webClient.method(HttpMethod.DELETE)
+                                .bodyValue(Map.of("name", name))
+                                .retrieve()
+                                .bodyToMono(new ParameterizedTypeReference<ApiResponse<Boolean>>() {})
+                                .map(r -> Boolean.TRUE.equals(r.getData()))
+                                .defaultIfEmpty(false)
+                                .timeout(Duration.ofSeconds(5)))
+                .onErrorResume(WebClientResponseException.NotFound.class, ex -> {
                     log.info("Delete name={} -> 404 (treat as not deleted)", name);
-                    return Mono.empty();
+                    return Mono.just(false);
                 })
-                .onStatus(HttpStatusCode::isError, resp -> resp.createException().flatMap(Mono::error))
-                .bodyToMono(new ParameterizedTypeReference<ApiResponse<Boolean>>() {})
-                .map(r -> Boolean.TRUE.equals(r.getData()))
-                .defaultIfEmpty(false)
-                .timeout(Duration.ofSeconds(5))
                 .doOnSuccess(result -> log.info("Delete name={} result={}", name, result))
                 .doOnError(ex -> log.warn("Delete name={} failed: {}", name, ex.toString()))
-                .onErrorReturn(false)
-                .block();
-        return Boolean.TRUE.equals(ok);
+                .onErrorResume(
+                        ex -> !(ex instanceof DownstreamUnavailableException),
+                        ex -> downstream.fallback("deleteByName", ex, Mono.just(false)));
     }
+
+    private record TaggedRoster(String etag, List<Employee> employees) {}
+
+    private record PageResult(EmployeePage page, String etag) {}
 }
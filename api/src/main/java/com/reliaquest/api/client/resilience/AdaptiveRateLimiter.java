@@ -0,0 +1,248 @@
+package com.reliaquest.api.client.resilience;
+
+import com.reliaquest.api.client.DownstreamUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.function.LongSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+/**
+ * Client-side rate limiter for calls to the Mock Employee API that learns the server's budget from the
+ * {@code 429 Too Many Requests} responses it observes.
+ * <p>
+ * Calls draw from a token bucket. A call that finds the bucket empty is delayed until its token is due,
+ * as long as that is within {@code queue-timeout}; otherwise it is shed with a
+ * {@link DownstreamUnavailableException} without reaching the network. The bucket adapts AIMD-style:
+ * <ul>
+ *   <li>every successful call raises the refill rate and burst additively, up to the configured maximum;</li>
+ *   <li>a 429 blocks all calls for the {@code Retry-After} the server sent or, as the mock server sends
+ *       none, for a learned backoff, then shrinks the burst to the number of calls that got through since
+ *       the previous 429 (the observed budget) and the rate to that budget spread over the backoff;</li>
+ *   <li>a 429 straight after a backoff, before any call succeeded, doubles the learned backoff.</li>
+ * </ul>
+ * While blocked, callers with a cached roster keep serving it (see
+ * {@link com.reliaquest.api.cache.EmployeeRosterCache}); everyone else gets a {@code 503} with a
+ * {@code Retry-After} header.
+ *
+ * @author Alexander Davila
+ */
+@Component
+public class AdaptiveRateLimiter implements ExchangeFilterFunction {
+
+    private static final Logger log = LoggerFactory.getLogger(AdaptiveRateLimiter.class);
+
+    private static final double MIN_RATE = 0.01;
+
+    private final boolean enabled;
+    private final double maxRate;
+    private final double maxBurst;
+    private final double additiveIncrease;
+    private final long queueTimeoutNanos;
+    private final Duration maxBackoff;
+    private final LongSupplier nanoClock;
+
+    private final Counter throttled;
+    private final Counter shed;
+    private final Counter delayed;
+
+    // guarded by this
+    private double rate;
+    private double burst;
+    private double tokens;
+    private long lastRefill;
+    private long blockedUntil;
+    private Duration backoff;
+    private int successesSinceThrottle;
+    private boolean throttledBefore;
+
+    public AdaptiveRateLimiter(
+            @Value("${employee.client.rate-limit.enabled:true}") boolean enabled,
+            @Value("${employee.client.rate-limit.max-rate:20}") double maxRate,
+            @Value("${employee.client.rate-limit.max-burst:20}") double maxBurst,
+            @Value("${employee.client.rate-limit.additive-increase:0.5}") double additiveIncrease,
+            @Value("${employee.client.rate-limit.queue-timeout:500ms}") Duration queueTimeout,
+            @Value("${employee.client.rate-limit.initial-backoff:30s}") Duration initialBackoff,
+            @Value("${employee.client.rate-limit.max-backoff:2m}") Duration maxBackoff,
+            MeterRegistry registry) {
+        this(enabled, maxRate, maxBurst, additiveIncrease, queueTimeout, initialBackoff, maxBackoff, System::nanoTime,
+                registry);
+    }
+
+    AdaptiveRateLimiter(
+            boolean enabled,
+            double maxRate,
+            double maxBurst,
+            double additiveIncrease,
+            Duration queueTimeout,
+            Duration initialBackoff,
+            Duration maxBackoff,
+            LongSupplier nanoClock,
+            MeterRegistry registry) {
+        if (maxRate <= 0 || maxBurst < 1) {
+            throw new IllegalArgumentException("rate-limit max-rate must be > 0 and max-burst >= 1");
+        }
+        this.enabled = enabled;
+        this.maxRate = maxRate;
+        this.maxBurst = maxBurst;
+        this.additiveIncrease = additiveIncrease;
+        this.queueTimeoutNanos = queueTimeout.toNanos();
+        this.maxBackoff = maxBackoff;
+        this.nanoClock = nanoClock;
+        this.rate = maxRate;
+        this.burst = maxBurst;
+        this.tokens = maxBurst;
+        this.backoff = initialBackoff;
+        this.lastRefill = nanoClock.getAsLong();
+        this.blockedUntil = lastRefill;
+
+        this.throttled = registry.counter("employee.client.ratelimit.throttled");
+        this.shed = registry.counter("employee.client.ratelimit.shed");
+        this.delayed = registry.counter("employee.client.ratelimit.delayed");
+        Gauge.builder("employee.client.ratelimit.rate", this, AdaptiveRateLimiter::currentRate)
+                .description("Current permitted calls per second to the Mock Employee API")
+                .register(registry);
+        Gauge.builder("employee.client.ratelimit.burst", this, AdaptiveRateLimiter::currentBurst)
+                .register(registry);
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        if (!enabled) {
+            return next.exchange(request);
+        }
+        return Mono.defer(() -> {
+            long waitNanos = reserve();
+            if (waitNanos < 0) {
+                shed.increment();
+                return Mono.error(DownstreamUnavailableException.rateLimited(
+                        "Mock Employee API call shed by the client-side rate limiter", Duration.ofNanos(-waitNanos)));
+            }
+            Mono<ClientResponse> call = next.exchange(request).flatMap(this::observe);
+            if (waitNanos == 0) {
+                return call;
+            }
+            delayed.increment();
+            return Mono.delay(Duration.ofNanos(waitNanos)).then(call);
+        });
+    }
+
+    private Mono<ClientResponse> observe(ClientResponse response) {
+        if (response.statusCode().value() != 429) {
+            onSuccess();
+            return Mono.just(response);
+        }
+        Duration retryAfter = parseRetryAfter(response.headers().asHttpHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        Duration penalty = onThrottled(retryAfter);
+        return response.releaseBody()
+                .then(Mono.error(
+                        DownstreamUnavailableException.rateLimited("Mock Employee API rate limit reached", penalty)));
+    }
+
+    /**
+     * Takes a token, queueing behind earlier reservations if need be.
+     *
+     * @return {@code 0} to call now, a positive delay in nanos to call later, or the negated nanos until
+     *     calls are worth trying again when the call must be shed
+     */
+    synchronized long reserve() {
+        long now = nanoClock.getAsLong();
+        if (now < blockedUntil) {
+            return -(blockedUntil - now);
+        }
+        refill(now);
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        long waitNanos = (long) Math.ceil((1 - tokens) / rate * 1e9);
+        if (waitNanos > queueTimeoutNanos) {
+            return -waitNanos;
+        }
+        tokens -= 1;
+        return waitNanos;
+    }
+
+    synchronized void onSuccess() {
+        successesSinceThrottle++;
+        rate = Math.min(maxRate, rate + additiveIncrease);
+        burst = Math.min(maxBurst, burst + additiveIncrease);
+    }
+
+    /** Records a 429 and returns how long calls are now blocked for. */
+    synchronized Duration onThrottled(Duration retryAfter) {
+        throttled.increment();
+        if (retryAfter == null && throttledBefore && successesSinceThrottle == 0) {
+            backoff = min(maxBackoff, backoff.multipliedBy(2));
+        }
+        Duration penalty = retryAfter != null ? retryAfter : backoff;
+        if (successesSinceThrottle > 0) {
+            burst = Math.max(1, Math.min(maxBurst, successesSinceThrottle));
+        }
+        double penaltySeconds = Math.max(penalty.toNanos() / 1e9, 1e-3);
+        rate = Math.max(MIN_RATE, Math.min(maxRate, burst / penaltySeconds));
+
+        long now = nanoClock.getAsLong();
+        blockedUntil = Math.max(blockedUntil, now + penalty.toNanos());
+        // the budget is back in full once the server's window has passed
+        tokens = burst;
+        lastRefill = blockedUntil;
+        successesSinceThrottle = 0;
+        throttledBefore = true;
+        log.warn("Mock Employee API rate limit reached; pausing calls for {} (burst={}, rate={}/s)",
+                penalty, burst, String.format("%.2f", rate));
+        return penalty;
+    }
+
+    synchronized double currentRate() {
+        return rate;
+    }
+
+    synchronized double currentBurst() {
+        return burst;
+    }
+
+    private void refill(long now) {
+        if (now > lastRefill) {
+            tokens = Math.min(burst, tokens + (now - lastRefill) / 1e9 * rate);
+            lastRefill = now;
+        }
+    }
+
+    /** Parses a {@code Retry-After} header given either as delta-seconds or as an HTTP-date. */
+    static Duration parseRetryAfter(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String v = value.trim();
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(v)));
+        } catch (NumberFormatException notSeconds) {
+            try {
+                Duration until = Duration.between(
+                        ZonedDateTime.now(), ZonedDateTime.parse(v, DateTimeFormatter.RFC_1123_DATE_TIME));
+                return until.isNegative() ? Duration.ZERO : until;
+            } catch (DateTimeParseException notDate) {
+                log.debug("Ignoring unparseable Retry-After: {}", v);
+                return null;
+            }
+        }
+    }
+
+    private static Duration min(Duration a, Duration b) {
+        return a.compareTo(b) <= 0 ? a : b;
+    }
+}
@@ -0,0 +1,110 @@
+package com.reliaquest.api.client.resilience;
+
+import com.reliaquest.api.client.DownstreamUnavailableException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+/**
+ * Caps the number of concurrent calls per Mock Employee API endpoint, so that a slow endpoint (say, a
+ * roster download) cannot tie up every connection and starve the others. A call over the limit is
+ * rejected straight away with {@link DownstreamUnavailableException}.
+ * <p>
+ * An endpoint is the HTTP method plus the request path without its query, e.g.
+ * {@code GET /api/v1/employee/page}, so calls built with a {@code UriBuilder} function are told apart as
+ * well as those built from a template. Path segments that were template variables are kept as the
+ * variable, e.g. {@code GET /api/v1/employee/{id}}, so there is one bulkhead per endpoint, not per employee.
+ * A call holds its slot until the response headers are in.
+ *
+ * @author Alexander Davila
+ */
+@Component
+public class BulkheadFilter implements ExchangeFilterFunction {
+
+    private static final String URI_TEMPLATE_ATTRIBUTE = WebClient.class.getName() + ".uriTemplate";
+
+    private final boolean enabled;
+    private final int maxConcurrent;
+    private final MeterRegistry registry;
+    private final ConcurrentMap<String, AtomicInteger> active = new ConcurrentHashMap<>();
+
+    public BulkheadFilter(
+            @Value("${employee.client.bulkhead.enabled:true}") boolean enabled,
+            @Value("${employee.client.bulkhead.max-concurrent-per-endpoint:16}") int maxConcurrent,
+            MeterRegistry registry) {
+        this.enabled = enabled;
+        this.maxConcurrent = maxConcurrent;
+        this.registry = registry;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        if (!enabled) {
+            return next.exchange(request);
+        }
+        String endpoint = endpoint(request);
+        AtomicInteger inUse = active.computeIfAbsent(endpoint, this::register);
+        return Mono.defer(() -> {
+            if (inUse.incrementAndGet() > maxConcurrent) {
+                inUse.decrementAndGet();
+                registry.counter("employee.client.bulkhead.rejected", "endpoint", endpoint)
+                        .increment();
+                return Mono.error(new DownstreamUnavailableException(
+                        "Too many concurrent Mock Employee API calls to " + endpoint, null));
+            }
+            return next.exchange(request).doFinally(signal -> inUse.decrementAndGet());
+        });
+    }
+
+    int active(String endpoint) {
+        AtomicInteger inUse = active.get(endpoint);
+        return inUse == null ? 0 : inUse.get();
+    }
+
+    private AtomicInteger register(String endpoint) {
+        AtomicInteger inUse = new AtomicInteger();
+        Gauge.builder("employee.client.bulkhead.active", inUse, AtomicInteger::get)
+                .tag("endpoint", endpoint)
+                .register(registry);
+        return inUse;
+    }
+
+    static String endpoint(ClientRequest request) {
+        String path = request.url().getRawPath();
+        if (path == null || path.isEmpty()) {
+            path = "/";
+        }
+        if (request.attribute(URI_TEMPLATE_ATTRIBUTE).orElse(null) instanceof String template
+                && template.contains("{")) {
+            path = withVariables(path, template);
+        }
+        return request.method().name() + " " + path;
+    }
+
+    /** {@code path} with the segments that {@code template} ends in a variable for put back as the variable. */
+    private static String withVariables(String path, String template) {
+        int query = template.indexOf('?');
+        String[] variables = (query < 0 ? template : template.substring(0, query)).split("/", -1);
+        String[] segments = path.split("/", -1);
+        int offset = segments.length - variables.length;
+        if (offset < 0) {
+            return path;
+        }
+        for (int i = 0; i < variables.length; i++) {
+            if (variables[i].contains("{")) {
+                segments[offset + i] = variables[i];
+            }
+        }
+        return String.join("/", segments);
+    }
+}
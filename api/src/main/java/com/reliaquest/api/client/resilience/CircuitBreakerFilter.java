@@ -0,0 +1,225 @@
+package com.reliaquest.api.client.resilience;
+
+import com.reliaquest.api.client.DownstreamUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+/**
+ * Circuit breaker in front of the Mock Employee API.
+ * <p>
+ * While {@code CLOSED} the outcome of the last {@code window-size} calls is tracked; once at least
+ * {@code minimum-calls} of them are in and the share of failures (transport errors and {@code 5xx}
+ * responses) reaches {@code failure-rate-threshold}, the breaker opens and calls fail fast with
+ * {@link DownstreamUnavailableException} for {@code open-duration}. It then goes {@code HALF_OPEN} and lets
+ * {@code half-open-probes} calls through: if they all succeed it closes again, a single failure re-opens it.
+ * <p>
+ * Calls rejected further down the chain (rate limiter, bulkhead), {@code 429}s and cancelled calls say
+ * nothing about the health of the server and are not counted.
+ *
+ * @author Alexander Davila
+ */
+@Component
+public class CircuitBreakerFilter implements ExchangeFilterFunction {
+
+    private static final Logger log = LoggerFactory.getLogger(CircuitBreakerFilter.class);
+
+    enum State {
+        CLOSED,
+        HALF_OPEN,
+        OPEN
+    }
+
+    private enum Outcome {
+        SUCCESS,
+        FAILURE,
+        IGNORED
+    }
+
+    private final boolean enabled;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openNanos;
+    private final int halfOpenProbes;
+    private final LongSupplier nanoClock;
+    private final MeterRegistry registry;
+    private final Counter rejected;
+
+    // guarded by this
+    private State state = State.CLOSED;
+    private final boolean[] window;
+    private int windowCalls;
+    private int windowFailures;
+    private int windowPos;
+    private long openedAt;
+    private int probesInFlight;
+    private int probeSuccesses;
+
+    public CircuitBreakerFilter(
+            @Value("${employee.client.circuit-breaker.enabled:true}") boolean enabled,
+            @Value("${employee.client.circuit-breaker.window-size:20}") int windowSize,
+            @Value("${employee.client.circuit-breaker.minimum-calls:10}") int minimumCalls,
+            @Value("${employee.client.circuit-breaker.failure-rate-threshold:0.5}") double failureRateThreshold,
+            @Value("${employee.client.circuit-breaker.open-duration:10s}") Duration openDuration,
+            @Value("${employee.client.circuit-breaker.half-open-probes:2}") int halfOpenProbes,
+            MeterRegistry registry) {
+        this(enabled, windowSize, minimumCalls, failureRateThreshold, openDuration, halfOpenProbes, System::nanoTime,
+                registry);
+    }
+
+    CircuitBreakerFilter(
+            boolean enabled,
+            int windowSize,
+            int minimumCalls,
+            double failureRateThreshold,
+            Duration openDuration,
+            int halfOpenProbes,
+            LongSupplier nanoClock,
+            MeterRegistry registry) {
+        if (windowSize < 1 || halfOpenProbes < 1) {
+            throw new IllegalArgumentException("circuit-breaker window-size and half-open-probes must be >= 1");
+        }
+        this.enabled = enabled;
+        this.window = new boolean[windowSize];
+        this.minimumCalls = Math.min(Math.max(1, minimumCalls), windowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.openNanos = openDuration.toNanos();
+        this.halfOpenProbes = halfOpenProbes;
+        this.nanoClock = nanoClock;
+        this.registry = registry;
+        this.rejected = registry.counter("employee.client.circuit.rejected");
+        Gauge.builder("employee.client.circuit.state", this, b -> b.state().ordinal())
+                .description("0 = closed, 1 = half-open, 2 = open")
+                .register(registry);
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        if (!enabled) {
+            return next.exchange(request);
+        }
+        return Mono.defer(() -> {
+            Permit permit = tryAcquire();
+            if (permit == null) {
+                rejected.increment();
+                return Mono.error(new DownstreamUnavailableException(
+                        "Mock Employee API circuit breaker is open", retryAfter()));
+            }
+            return next.exchange(request)
+                    .doOnNext(resp -> permit.complete(
+                            resp.statusCode().is5xxServerError() ? Outcome.FAILURE : Outcome.SUCCESS))
+                    .doOnError(ex -> permit.complete(
+                            ex instanceof DownstreamUnavailableException ? Outcome.IGNORED : Outcome.FAILURE))
+                    .doFinally(signal -> permit.complete(Outcome.IGNORED));
+        });
+    }
+
+    synchronized State state() {
+        return state;
+    }
+
+    /** Returns a permit for one call, or {@code null} if the call must be rejected. */
+    synchronized Permit tryAcquire() {
+        if (state == State.OPEN) {
+            if (nanoClock.getAsLong() - openedAt < openNanos) {
+                return null;
+            }
+            transitionTo(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesInFlight >= halfOpenProbes) {
+                return null;
+            }
+            probesInFlight++;
+            return new Permit(true);
+        }
+        return new Permit(false);
+    }
+
+    private synchronized Duration retryAfter() {
+        if (state != State.OPEN) {
+            return null;
+        }
+        long remaining = openNanos - (nanoClock.getAsLong() - openedAt);
+        return Duration.ofNanos(Math.max(0, remaining));
+    }
+
+    private synchronized void record(boolean probe, Outcome outcome) {
+        if (probe) {
+            probesInFlight--;
+            if (state != State.HALF_OPEN || outcome == Outcome.IGNORED) {
+                return;
+            }
+            if (outcome == Outcome.FAILURE) {
+                transitionTo(State.OPEN);
+            } else if (++probeSuccesses >= halfOpenProbes) {
+                transitionTo(State.CLOSED);
+            }
+            return;
+        }
+        if (state != State.CLOSED || outcome == Outcome.IGNORED) {
+            return;
+        }
+        boolean failed = outcome == Outcome.FAILURE;
+        if (windowCalls == window.length) {
+            if (window[windowPos]) {
+                windowFailures--;
+            }
+        } else {
+            windowCalls++;
+        }
+        window[windowPos] = failed;
+        if (failed) {
+            windowFailures++;
+        }
+        windowPos = (windowPos + 1) % window.length;
+        if (windowCalls >= minimumCalls && windowFailures >= failureRateThreshold * windowCalls) {
+            transitionTo(State.OPEN);
+        }
+    }
+
+    private void transitionTo(State next) {
+        log.warn("Mock Employee API circuit breaker {} -> {} (failures {}/{})",
+                state, next, windowFailures, windowCalls);
+        state = next;
+        registry.counter("employee.client.circuit.transitions", "to", next.name().toLowerCase())
+                .increment();
+        switch (next) {
+            case OPEN -> openedAt = nanoClock.getAsLong();
+            case HALF_OPEN -> probeSuccesses = 0;
+            case CLOSED -> {
+                windowCalls = 0;
+                windowFailures = 0;
+                windowPos = 0;
+            }
+        }
+    }
+
+    /** Admission of a single call; the first outcome reported for it wins. */
+    final class Permit {
+        private final boolean probe;
+        private final AtomicBoolean done = new AtomicBoolean();
+
+        private Permit(boolean probe) {
+            this.probe = probe;
+        }
+
+        private void complete(Outcome outcome) {
+            if (done.compareAndSet(false, true)) {
+                record(probe, outcome);
+            }
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.reliaquest.api.client.resilience;
+
+import com.reliaquest.api.client.DownstreamUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.TimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+/**
+ * Retries idempotent calls to the Mock Employee API with jittered exponential backoff.
+ * <p>
+ * Only transport failures (connection errors, response timeouts) and the configured gateway statuses are
+ * retried. A call rejected by the rate limiter, the circuit breaker or a bulkhead fails with
+ * {@link DownstreamUnavailableException} and is never retried, nor is a {@code 429}: retrying those would
+ * only add to the load that caused them. Writes are not retried because the mock server's delete and create
+ * are not safe to repeat ({@code DELETE /{name}} answers {@code 404} the second time round).
+ * <p>
+ * When the retries run out the call fails with {@link DownstreamUnavailableException}.
+ *
+ * @author Alexander Davila
+ */
+@Component
+public class RetryFilter implements ExchangeFilterFunction {
+
+    private static final Logger log = LoggerFactory.getLogger(RetryFilter.class);
+
+    private final boolean enabled;
+    private final int maxRetries;
+    private final Duration minBackoff;
+    private final Duration maxBackoff;
+    private final double jitter;
+    private final Set<HttpMethod> methods;
+    private final Set<Integer> statuses;
+    private final MeterRegistry registry;
+
+    public RetryFilter(
+            @Value("${employee.client.retry.enabled:true}") boolean enabled,
+            @Value("${employee.client.retry.max-retries:2}") int maxRetries,
+            @Value("${employee.client.retry.min-backoff:100ms}") Duration minBackoff,
+            @Value("${employee.client.retry.max-backoff:1s}") Duration maxBackoff,
+            @Value("${employee.client.retry.jitter:0.5}") double jitter,
+            @Value("${employee.client.retry.methods:GET,HEAD,OPTIONS}") Set<HttpMethod> methods,
+            @Value("${employee.client.retry.statuses:502,503,504}") Set<Integer> statuses,
+            MeterRegistry registry) {
+        this.enabled = enabled;
+        this.maxRetries = maxRetries;
+        this.minBackoff = minBackoff;
+        this.maxBackoff = maxBackoff;
+        this.jitter = jitter;
+        this.methods = Set.copyOf(methods);
+        this.statuses = Set.copyOf(statuses);
+        this.registry = registry;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        if (!enabled || maxRetries <= 0 || !methods.contains(request.method())) {
+            return next.exchange(request);
+        }
+        String method = request.method().name();
+        return Mono.defer(() -> next.exchange(request))
+                .flatMap(this::failOnRetryableStatus)
+                .retryWhen(Retry.backoff(maxRetries, minBackoff)
+                        .maxBackoff(maxBackoff)
+                        .jitter(jitter)
+                        .filter(RetryFilter::isRetryable)
+                        .doBeforeRetry(signal -> {
+                            registry.counter("employee.client.retry.attempts", "method", method).increment();
+                            log.debug("Retrying {} {} (retry {}) after {}", method, request.url(),
+                                    signal.totalRetries() + 1, signal.failure().toString());
+                        })
+                        .onRetryExhaustedThrow((spec, signal) -> {
+                            registry.counter("employee.client.retry.exhausted", "method", method).increment();
+                            return new DownstreamUnavailableException(
+                                    "Mock Employee API call failed after " + (signal.totalRetries() + 1) + " attempts",
+                                    null,
+                                    signal.failure());
+                        }));
+    }
+
+    private Mono<ClientResponse> failOnRetryableStatus(ClientResponse response) {
+        HttpStatusCode status = response.statusCode();
+        if (!statuses.contains(status.value())) {
+            return Mono.just(response);
+        }
+        return response.releaseBody().then(Mono.error(new RetryableStatusException(status)));
+    }
+
+    private static boolean isRetryable(Throwable ex) {
+        return ex instanceof RetryableStatusException
+                || ex instanceof WebClientRequestException
+                || ex instanceof TimeoutException;
+    }
+
+    /** A response whose status is worth retrying, raised so that it goes through the retry operator. */
+    static final class RetryableStatusException extends RuntimeException {
+        RetryableStatusException(HttpStatusCode status) {
+            super("Mock Employee API answered " + status, null, false, false);
+        }
+    }
+}
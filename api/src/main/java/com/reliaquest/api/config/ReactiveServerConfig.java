@@ -0,0 +1,24 @@
+package com.reliaquest.api.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Reactive runtime mode ({@code --spring.profiles.active=reactive}).
+ * <p>
+ * Both the servlet and the WebFlux starters are on the classpath, so Spring Boot would otherwise serve a
+ * reactive application from Tomcat. Declaring the Netty factory pins the reactive stack to Reactor Netty,
+ * whose small fixed event-loop pool (sized with {@code -Dreactor.netty.ioWorkerCount}) serves every
+ * in-flight request.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveServerConfig {
+
+    @Bean
+    NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
@@ -1,8 +1,13 @@
 package com.reliaquest.api.config;
 
+import com.reliaquest.api.client.resilience.AdaptiveRateLimiter;
+import com.reliaquest.api.client.resilience.BulkheadFilter;
+import com.reliaquest.api.client.resilience.CircuitBreakerFilter;
+import com.reliaquest.api.client.resilience.RetryFilter;
 import io.netty.channel.ChannelOption;
 import java.time.Duration;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -12,7 +17,9 @@ import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
+import reactor.netty.http.HttpProtocol;
 import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
 @Configuration
 public class WebClientConfig {
@@ -20,19 +27,65 @@ public class WebClientConfig {
     private static final Logger log = LoggerFactory.getLogger(WebClientConfig.class);
 
 
+    /**
+     * Dedicated connection pool for the Mock Employee API. Its metrics are published through Micrometer's
+     * global registry (which Spring Boot backs with the application registry) as
+     * {@code reactor.netty.connection.provider.*}, tagged {@code name=employee-api}: total, active, idle and
+     * pending connections, plus the pending acquire time.
+     */
+    @Bean(destroyMethod = "dispose")
+    ConnectionProvider employeeConnectionProvider(
+            @Value("${employee.client.pool.name:employee-api}") String name,
+            @Value("${employee.client.pool.max-connections:50}") int maxConnections,
+            @Value("${employee.client.pool.pending-acquire-max-count:500}") int pendingAcquireMaxCount,
+            @Value("${employee.client.pool.pending-acquire-timeout:2s}") Duration pendingAcquireTimeout,
+            @Value("${employee.client.pool.max-idle-time:30s}") Duration maxIdleTime,
+            @Value("${employee.client.pool.max-life-time:5m}") Duration maxLifeTime,
+            @Value("${employee.client.pool.evict-in-background:30s}") Duration evictInBackground) {
+        return ConnectionProvider.builder(name)
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(maxIdleTime)
+                .maxLifeTime(maxLifeTime)
+                .evictInBackground(evictInBackground)
+                .metrics(true)
+                .build();
+    }
+
     @Bean
     WebClient employeeWebClient(
-            @Value("${employee.mock.base-url:http://localhost:8112/api/v1/employee}") String baseUrl) {
+            @Value("${employee.mock.base-url:http://localhost:8112/api/v1/employee}") String baseUrl,
+            @Value("${employee.client.http.h2c:false}") boolean h2c,
+            @Value("${employee.client.http.compression:true}") boolean compression,
+            ConnectionProvider employeeConnectionProvider,
+            RetryFilter retry,
+            CircuitBreakerFilter circuitBreaker,
+            BulkheadFilter bulkhead,
+            AdaptiveRateLimiter rateLimiter) {
 
-        HttpClient http = HttpClient.create()
+        HttpClient http = HttpClient.create(employeeConnectionProvider)
                 .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 2_000)
-                .responseTimeout(Duration.ofSeconds(3));
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .keepAlive(true)
+                .responseTimeout(Duration.ofSeconds(3))
+                // sends Accept-Encoding: gzip and inflates, matching the server's server.compression.enabled
+                .compress(compression)
+                // h2c: tries an HTTP/2 upgrade and falls back to HTTP/1.1 if the server does not take it
+                .protocol(h2c ? new HttpProtocol[] {HttpProtocol.H2C, HttpProtocol.HTTP11}
+                        : new HttpProtocol[] {HttpProtocol.HTTP11});
 
         return WebClient.builder()
                 .baseUrl(baseUrl)
                 .clientConnector(new ReactorClientHttpConnector(http))
                 .filter(logRequest())
                 .filter(logResponse())
+                // outermost first: each retry attempt goes through the breaker, bulkhead and limiter again,
+                // and every call that reaches the network holds a rate limiter permit
+                .filter(retry)
+                .filter(circuitBreaker)
+                .filter(bulkhead)
+                .filter(rateLimiter)
                 .build();
     }
 
@@ -45,8 +98,17 @@ public class WebClientConfig {
     }
 
     private static ExchangeFilterFunction logResponse() {
-        return (req, next) -> next.exchange(req)
-                .doOnSuccess(resp -> log.debug("← {} {} -> {}", req.method(), req.url(), resp.statusCode()))
-                .doOnError(ex -> log.warn("✖ {} {} failed: {}", req.method(), req.url(), ex.toString()));
+        return (req, next) -> Mono.defer(() -> {
+            long start = System.nanoTime();
+            return next.exchange(req)
+                    .doOnSuccess(resp -> log.debug("← {} {} -> {} in {} ms",
+                            req.method(), req.url(), resp.statusCode(), millisSince(start)))
+                    .doOnError(ex -> log.warn("✖ {} {} failed after {} ms: {}",
+                            req.method(), req.url(), millisSince(start), ex.toString()));
+        });
+    }
+
+    private static long millisSince(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
     }
 }
@@ -1,11 +1,14 @@
 package com.reliaquest.api.controller;
 
+import com.reliaquest.api.client.DownstreamUnavailableException;
 import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.bind.support.WebExchangeBindException;
 
 @RestControllerAdvice
 public class ApiExceptionHandler {
@@ -27,6 +30,21 @@ public class ApiExceptionHandler {
         ));
     }
 
+    /** Reactive-stack equivalent of {@link MethodArgumentNotValidException}. */
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<Map<String, Object>> handleValidation(WebExchangeBindException ex) {
+        var fieldErrors = ex.getFieldErrors().stream()
+                .map(err -> Map.of(
+                        "field", err.getField(),
+                        "message", err.getDefaultMessage()))
+                .toList();
+        log.warn("400: validation failed {} error(s): {}", fieldErrors.size(), fieldErrors);
+        return ResponseEntity.badRequest().body(Map.of(
+                "error", "Validation failed",
+                "details", fieldErrors
+        ));
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<Map<String, String>> notFound(IllegalArgumentException ex) {
         return ResponseEntity.status(404).body(Map.of("error", ex.getMessage()));
@@ -37,6 +55,16 @@ public class ApiExceptionHandler {
         return ResponseEntity.status(409).body(Map.of("error", ex.getMessage()));
     }
 
+    @ExceptionHandler(DownstreamUnavailableException.class)
+    public ResponseEntity<Map<String, String>> unavailable(DownstreamUnavailableException ex) {
+        log.warn("503: {}", ex.getMessage());
+        var response = ResponseEntity.status(503);
+        ex.getRetryAfter()
+                .map(d -> Long.toString(Math.max(1, (d.toMillis() + 999) / 1000)))
+                .ifPresent(seconds -> response.header(HttpHeaders.RETRY_AFTER, seconds));
+        return response.body(Map.of("error", "Employee service temporarily unavailable"));
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, String>> uncaught(Exception ex) {
         log.error("500: Uncaught exception", ex);
@@ -0,0 +1,63 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.model.BulkItemResult;
+import com.reliaquest.api.model.CreateEmployeeRequest;
+import com.reliaquest.api.service.BulkEmployeeService;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+/**
+ * Bulk create and delete of employees.
+ * <ul>
+ *   <li>{@code POST /employees/bulk} – body: an array of {@link CreateEmployeeRequest}</li>
+ *   <li>{@code DELETE /employees/bulk} – body: an array of employee ids</li>
+ * </ul>
+ * Both answer {@code 200} with one {@link BulkItemResult} per item, in request order, whatever the
+ * outcome of the individual items; {@code 413} when the request holds more than {@code max-items} items.
+ * Returning {@link Mono} lets the same controller serve both the servlet and the reactive stack.
+ *
+ * @author Alexander Davila
+ * @see BulkEmployeeService
+ */
+@RestController
+@RequestMapping("/employees/bulk")
+public class BulkEmployeeController {
+    private static final Logger log = LoggerFactory.getLogger(BulkEmployeeController.class);
+    private final BulkEmployeeService service;
+    private final int maxItems;
+
+    public BulkEmployeeController(
+            BulkEmployeeService service, @Value("${employee.bulk.max-items:10000}") int maxItems) {
+        this.service = service;
+        this.maxItems = maxItems;
+    }
+
+    @PostMapping()
+    public Mono<ResponseEntity<List<BulkItemResult>>> createEmployees(@RequestBody List<CreateEmployeeRequest> inputs) {
+        log.info("Controller: POST /employees/bulk items={}", inputs.size());
+        if (inputs.size() > maxItems) {
+            return Mono.just(tooLarge());
+        }
+        return service.createAll(inputs).map(ResponseEntity::ok);
+    }
+
+    @DeleteMapping()
+    public Mono<ResponseEntity<List<BulkItemResult>>> deleteEmployeesById(@RequestBody List<String> ids) {
+        log.info("Controller: DELETE /employees/bulk items={}", ids.size());
+        if (ids.size() > maxItems) {
+            return Mono.just(tooLarge());
+        }
+        return service.deleteAllById(ids).map(ResponseEntity::ok);
+    }
+
+    private ResponseEntity<List<BulkItemResult>> tooLarge() {
+        log.warn("413: bulk request over {} items", maxItems);
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+    }
+}
@@ -0,0 +1,96 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.cache.RosterColumns.Metric;
+import com.reliaquest.api.constants.EmployeeConstraints;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.GroupStats;
+import com.reliaquest.api.service.EmployeeReportService;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reports over the roster.
+ * <ul>
+ *   <li>{@code GET /employees/reports/salary/by-title} – one {@link GroupStats} per title</li>
+ *   <li>{@code GET /employees/reports/salary/by-age-band?width=10} – one {@link GroupStats} per band of
+ *   {@code width} years, from 1 to {@value EmployeeConstraints#MAX_AGE}</li>
+ *   <li>{@code GET /employees/reports/salary/percentiles?p=50,90,99} – approximate salary percentiles, each
+ *   {@code p} in {@code (0, 100]}</li>
+ *   <li>{@code GET /employees/reports/top?by=salary&order=highest&limit=10&title=} – the {@code limit}
+ *   employees (at most {@code max-limit}) with the highest or lowest {@code salary} or {@code age},
+ *   optionally of one title</li>
+ * </ul>
+ * Parameters out of range answer {@code 400}. Returning {@link Mono} lets the same controller serve both
+ * the servlet and the reactive stack.
+ *
+ * @author Alexander Davila
+ * @see EmployeeReportService
+ */
+@RestController
+@RequestMapping("/employees/reports")
+public class EmployeeReportController {
+    private static final Logger log = LoggerFactory.getLogger(EmployeeReportController.class);
+    private final EmployeeReportService service;
+    private final int maxLimit;
+
+    public EmployeeReportController(
+            EmployeeReportService service, @Value("${employee.reports.max-limit:1000}") int maxLimit) {
+        this.service = service;
+        this.maxLimit = maxLimit;
+    }
+
+    @GetMapping("/salary/by-title")
+    public Mono<ResponseEntity<List<GroupStats>>> getSalaryByTitle() {
+        log.info("Controller: GET /employees/reports/salary/by-title");
+        return service.salaryByTitle().map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/salary/by-age-band")
+    public Mono<ResponseEntity<List<GroupStats>>> getSalaryByAgeBand(
+            @RequestParam(defaultValue = "10") int width) {
+        log.info("Controller: GET /employees/reports/salary/by-age-band width={}", width);
+        if (width < 1 || width > EmployeeConstraints.MAX_AGE) {
+            log.warn("400: age band width {} out of range", width);
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        return service.salaryByAgeBand(width).map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/salary/percentiles")
+    public Mono<ResponseEntity<Map<String, Integer>>> getSalaryPercentiles(
+            @RequestParam(name = "p", defaultValue = "50,90,99") List<Double> percentiles) {
+        log.info("Controller: GET /employees/reports/salary/percentiles p={}", percentiles);
+        if (percentiles.isEmpty() || percentiles.stream().anyMatch(p -> p == null || !(p > 0 && p <= 100))) {
+            log.warn("400: percentiles {} out of range", percentiles);
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        return service.salaryPercentiles(percentiles).map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/top")
+    public Mono<ResponseEntity<List<Employee>>> getTopEmployees(
+            @RequestParam(defaultValue = "salary") String by,
+            @RequestParam(defaultValue = "highest") String order,
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(required = false) String title) {
+        log.info("Controller: GET /employees/reports/top by={} order={} limit={} title={}", by, order, limit, title);
+        Metric metric = switch (by.toLowerCase(Locale.ROOT)) {
+            case "salary" -> Metric.SALARY;
+            case "age" -> Metric.AGE;
+            default -> null;
+        };
+        boolean highest = "highest".equalsIgnoreCase(order);
+        if (metric == null || !(highest || "lowest".equalsIgnoreCase(order)) || limit < 1 || limit > maxLimit) {
+            log.warn("400: top by={} order={} limit={} out of range", by, order, limit);
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        return service.ranked(metric, limit, highest, title).map(ResponseEntity::ok);
+    }
+}
@@ -0,0 +1,79 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.model.CreateEmployeeRequest;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.ReactiveEmployeeService;
+import jakarta.validation.Valid;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking twin of {@link EmployeeController}, active only on the reactive stack.
+ * <p>
+ * {@link IEmployeeController} returns plain {@link ResponseEntity} values, which cannot be produced without
+ * blocking, so this controller does not implement it. It exposes exactly the same routes and payload
+ * shapes, wrapped in {@link Mono}.
+ *
+ * @author Alexander Davila
+ * @see ReactiveEmployeeService
+ */
+@RestController
+@RequestMapping("/employees")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveEmployeeController {
+    private static final Logger log = LoggerFactory.getLogger(ReactiveEmployeeController.class);
+    private final ReactiveEmployeeService service;
+
+    public ReactiveEmployeeController(ReactiveEmployeeService service) {
+        this.service = service;
+    }
+
+    @GetMapping()
+    public Mono<ResponseEntity<List<Employee>>> getAllEmployees() {
+        log.info("Controller: GET /employees");
+        return service.getAll().map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/search/{searchString}")
+    public Mono<ResponseEntity<List<Employee>>> getEmployeesByNameSearch(@PathVariable String searchString) {
+        log.info("Controller: GET /employees/search/{}", searchString);
+        return service.searchByName(searchString).map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Employee>> getEmployeeById(@PathVariable String id) {
+        log.info("Controller: GET /employees/{}", id);
+        return service.getById(id).map(ResponseEntity::ok).defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/highestSalary")
+    public Mono<ResponseEntity<Integer>> getHighestSalaryOfEmployees() {
+        log.info("Controller: GET /employees/highestSalary");
+        return service.highestSalary().map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/topTenHighestEarningEmployeeNames")
+    public Mono<ResponseEntity<List<String>>> getTopTenHighestEarningEmployeeNames() {
+        log.info("Controller: GET /employees/topTenHighestEarningEmployeeNames");
+        return service.top10NamesBySalary().map(ResponseEntity::ok);
+    }
+
+    @PostMapping()
+    public Mono<ResponseEntity<Employee>> createEmployee(@Valid @RequestBody CreateEmployeeRequest employeeInput) {
+        log.info("Controller: POST /employees name={}", employeeInput.getName());
+        return service.create(employeeInput)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.ok().build());
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<String>> deleteEmployeeById(@PathVariable String id) {
+        log.info("Controller: DELETE /employees/{}", id);
+        return service.deleteByIdReturnName(id).map(ResponseEntity::ok);
+    }
+}
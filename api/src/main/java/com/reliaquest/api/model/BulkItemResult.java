@@ -0,0 +1,31 @@
+package com.reliaquest.api.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+/**
+ * Outcome of one item of a bulk create or delete; {@code index} is the item's position in the request.
+ * <p>
+ * {@code status} is one of {@code created}, {@code deleted}, {@code not_found}, {@code invalid} (the
+ * item was rejected, see {@code error}) or {@code failed} (the Mock Employee API could not be reached for
+ * the chunk holding the item; it may be retried). For {@code deleted}, {@code employee} is the employee
+ * removed.
+ *
+ * @author Alexander Davila
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkItemResult {
+    public static final String CREATED = "created";
+    public static final String DELETED = "deleted";
+    public static final String NOT_FOUND = "not_found";
+    public static final String INVALID = "invalid";
+    public static final String FAILED = "failed";
+
+    private int index;
+    private String status;
+    private Employee employee;
+    private String error;
+}
@@ -0,0 +1,23 @@
+package com.reliaquest.api.model;
+
+import lombok.*;
+
+/**
+ * One roster mutation from the Mock Employee API change feed ({@code GET /changes}).
+ * <p>
+ * {@code seq} is the roster version the mutation produced. {@code type} is {@code "created"} or
+ * {@code "deleted"}; for a delete, {@code employee} is the employee removed.
+ *
+ * @author Alexander Davila
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeChange {
+    public static final String CREATED = "created";
+    public static final String DELETED = "deleted";
+
+    private long seq;
+    private String type;
+    private Employee employee;
+}
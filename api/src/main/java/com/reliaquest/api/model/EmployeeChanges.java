@@ -0,0 +1,26 @@
+package com.reliaquest.api.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+import lombok.*;
+
+/**
+ * A batch of the Mock Employee API change feed: the changes after the requested sequence number, in
+ * order, up to {@code latest}.
+ * <p>
+ * When {@code reset} is set, or {@code runId} differs from the one seen before (the server restarted), the
+ * requested changes are gone: the roster must be reloaded in full and the feed followed from {@code latest}.
+ *
+ * @author Alexander Davila
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeChanges {
+    @JsonProperty("run_id")
+    private String runId;
+
+    private long latest;
+    private boolean reset;
+    private List<EmployeeChange> changes;
+}
@@ -0,0 +1,30 @@
+package com.reliaquest.api.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+import lombok.*;
+
+/**
+ * One keyset page of the Mock Employee API roster ({@code GET /page}), in the order employees were added.
+ * <p>
+ * Cursors are the mock server's insertion sequence numbers. {@code nextCursor} is passed back as
+ * {@code after} to read the next page and is {@code null} on the last page of the walk; {@code lastCursor}
+ * is the cursor of the newest employee, the end of the walk. {@code version} is the roster version the page was cut from: pages with equal versions
+ * belong to the same consistent roster.
+ *
+ * @author Alexander Davila
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeePage {
+    private List<Employee> employees;
+
+    @JsonProperty("next_cursor")
+    private Long nextCursor;
+
+    @JsonProperty("last_cursor")
+    private long lastCursor;
+
+    private long version;
+}
@@ -0,0 +1,26 @@
+package com.reliaquest.api.model;
+
+import lombok.*;
+
+/**
+ * Statistics of one group of employees in a report: how many there are, and the minimum, maximum, mean and
+ * percentiles of the reported value over them. Percentiles are nearest-rank: {@code p90} is a value some
+ * employee of the group actually has, with at least 90% of the group at or below it.
+ *
+ * @author Alexander Davila
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GroupStats {
+    private String group;
+    private int count;
+    private int min;
+    private int max;
+    private double mean;
+    private int p25;
+    private int p50;
+    private int p75;
+    private int p90;
+    private int p99;
+}
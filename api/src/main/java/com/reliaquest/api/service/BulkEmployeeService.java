@@ -0,0 +1,156 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.cache.EmployeeRosterCache;
+import com.reliaquest.api.client.MockEmployeeClient;
+import com.reliaquest.api.model.BulkItemResult;
+import com.reliaquest.api.model.CreateEmployeeRequest;
+import com.reliaquest.api.model.Employee;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Bulk create and delete against the Mock Employee API's batch endpoints.
+ * <p>
+ * Items are validated locally, and the valid ones are sent in chunks of {@code chunk-size}, one
+ * downstream call per chunk and one chunk at a time, so an import of {@code n} employees costs
+ * {@code n / chunk-size} rate-limited calls instead of {@code n} (or {@code 2n} for deletes, which no
+ * longer need a lookup by id first). Every item gets a result at its position in the request. A chunk
+ * the Mock Employee API could not apply marks its items {@code failed} without stopping the others.
+ * The successful writes of each chunk are applied to the roster cache in one write-through.
+ *
+ * @author Alexander Davila
+ * @see com.reliaquest.api.controller.BulkEmployeeController
+ */
+@Service
+public class BulkEmployeeService {
+    private static final Logger log = LoggerFactory.getLogger(BulkEmployeeService.class);
+    private final MockEmployeeClient client;
+    private final EmployeeRosterCache cache;
+    private final Validator validator;
+    private final int chunkSize;
+
+    public BulkEmployeeService(
+            MockEmployeeClient client,
+            EmployeeRosterCache cache,
+            Validator validator,
+            @Value("${employee.bulk.chunk-size:1000}") int chunkSize) {
+        this.client = client;
+        this.cache = cache;
+        this.validator = validator;
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    public Mono<List<BulkItemResult>> createAll(List<CreateEmployeeRequest> inputs) {
+        log.info("Service: bulk create of {} employees", inputs.size());
+        BulkItemResult[] results = new BulkItemResult[inputs.size()];
+        List<Integer> positions = new ArrayList<>(inputs.size());
+        for (int i = 0; i < inputs.size(); i++) {
+            CreateEmployeeRequest input = inputs.get(i);
+            Set<ConstraintViolation<CreateEmployeeRequest>> violations =
+                    input == null ? Set.of() : validator.validate(input);
+            if (input == null || !violations.isEmpty()) {
+                results[i] = new BulkItemResult(i, BulkItemResult.INVALID, null, describe(violations));
+            } else {
+                positions.add(i);
+            }
+        }
+        return run(positions, results, chunk -> client.createBatchAsync(chunk.stream().map(inputs::get).toList()))
+                .doOnSuccess(list -> log.info("Bulk create done: {}", summarize(list)));
+    }
+
+    public Mono<List<BulkItemResult>> deleteAllById(List<String> ids) {
+        log.info("Service: bulk delete of {} ids", ids.size());
+        BulkItemResult[] results = new BulkItemResult[ids.size()];
+        List<Integer> positions = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            if (ids.get(i) == null || ids.get(i).isBlank()) {
+                results[i] = new BulkItemResult(i, BulkItemResult.INVALID, null, "id: must not be blank");
+            } else {
+                positions.add(i);
+            }
+        }
+        return run(positions, results, chunk -> client.deleteBatchAsync(chunk.stream().map(ids::get).toList()))
+                .doOnSuccess(list -> log.info("Bulk delete done: {}", summarize(list)));
+    }
+
+    /**
+     * Sends the items at {@code positions}, chunk by chunk, and fills in their results; each downstream
+     * result's index is its position within the chunk.
+     */
+    private Mono<List<BulkItemResult>> run(
+            List<Integer> positions,
+            BulkItemResult[] results,
+            Function<List<Integer>, Mono<List<BulkItemResult>>> send) {
+        int chunks = (positions.size() + chunkSize - 1) / chunkSize;
+        return Flux.range(0, chunks)
+                .concatMap(c -> {
+                    List<Integer> chunk =
+                            positions.subList(c * chunkSize, Math.min(positions.size(), (c + 1) * chunkSize));
+                    return send.apply(chunk)
+                            .doOnNext(downstream -> record(chunk, downstream, results))
+                            .onErrorResume(ex -> {
+                                log.warn("Bulk chunk {}/{} of {} items failed: {}", c + 1, chunks, chunk.size(),
+                                        ex.toString());
+                                return Mono.empty();
+                            })
+                            .then(Mono.fromRunnable(() -> fail(chunk, results)));
+                })
+                .then(Mono.fromCallable(() -> Arrays.asList(results)));
+    }
+
+    private void record(List<Integer> chunk, List<BulkItemResult> downstream, BulkItemResult[] results) {
+        List<Employee> created = new ArrayList<>();
+        List<String> deleted = new ArrayList<>();
+        for (BulkItemResult r : downstream) {
+            if (r.getIndex() < 0 || r.getIndex() >= chunk.size()) {
+                continue;
+            }
+            int position = chunk.get(r.getIndex());
+            results[position] = new BulkItemResult(position, r.getStatus(), r.getEmployee(), r.getError());
+            if (BulkItemResult.CREATED.equals(r.getStatus()) && r.getEmployee() != null) {
+                created.add(r.getEmployee());
+            } else if (BulkItemResult.DELETED.equals(r.getStatus()) && r.getEmployee() != null) {
+                deleted.add(r.getEmployee().getId());
+            }
+        }
+        cache.recordBatch(created, deleted);
+    }
+
+    /** Marks the items of {@code chunk} without a result as failed. */
+    private static void fail(List<Integer> chunk, BulkItemResult[] results) {
+        for (int position : chunk) {
+            if (results[position] == null) {
+                results[position] = new BulkItemResult(
+                        position, BulkItemResult.FAILED, null, "Employee service temporarily unavailable");
+            }
+        }
+    }
+
+    private static String describe(Set<? extends ConstraintViolation<?>> violations) {
+        if (violations.isEmpty()) {
+            return "must not be null";
+        }
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private static String summarize(List<BulkItemResult> results) {
+        return results.stream()
+                .collect(Collectors.groupingBy(BulkItemResult::getStatus, Collectors.counting()))
+                .toString();
+    }
+}
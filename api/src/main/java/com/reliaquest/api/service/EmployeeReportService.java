@@ -0,0 +1,81 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.cache.EmployeeRosterCache;
+import com.reliaquest.api.cache.RosterColumns;
+import com.reliaquest.api.cache.RosterColumns.Metric;
+import com.reliaquest.api.cache.RosterSnapshot;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.GroupStats;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * Aggregate reports over the cached roster, so that reporting clients need not download the whole roster
+ * and aggregate it themselves.
+ * <p>
+ * Reports are computed by a group-by over the snapshot's columnar view and kept with the snapshot: the
+ * first request after the roster changes pays one scan, later ones are served from memory until the next
+ * version. Rankings scan the columns with a heap of {@code limit} entries, and salary percentiles come from
+ * the quantile sketch the snapshot's salary aggregates keep up to date across creates and deletes, so
+ * neither sorts the roster nor needs memory that grows with it. Never blocks; the roster is read as in
+ * {@link ReactiveEmployeeService}.
+ *
+ * @author Alexander Davila
+ * @see com.reliaquest.api.controller.EmployeeReportController
+ */
+@Service
+public class EmployeeReportService {
+    private static final Logger log = LoggerFactory.getLogger(EmployeeReportService.class);
+    private final EmployeeRosterCache cache;
+
+    public EmployeeReportService(EmployeeRosterCache cache) {
+        this.cache = cache;
+    }
+
+    public Mono<List<GroupStats>> salaryByTitle() {
+        log.info("Service: salaryByTitle()");
+        return snapshot().map(RosterSnapshot::salaryByTitle);
+    }
+
+    public Mono<List<GroupStats>> salaryByAgeBand(int width) {
+        log.info("Service: salaryByAgeBand(width={})", width);
+        return snapshot().map(snap -> snap.salaryByAgeBand(width));
+    }
+
+    /**
+     * The {@code limit} employees with the highest ({@code highest}) or lowest {@code metric}, best first,
+     * optionally only those with the given {@code title}; ties keep roster order.
+     */
+    public Mono<List<Employee>> ranked(Metric metric, int limit, boolean highest, String title) {
+        log.info("Service: ranked(metric={}, limit={}, highest={}, title={})", metric, limit, highest, title);
+        return snapshot().map(snap -> {
+            RosterColumns columns = snap.columns();
+            return Arrays.stream(columns.top(metric, limit, highest, title))
+                    .mapToObj(columns::employee)
+                    .toList();
+        });
+    }
+
+    /** Approximate salary percentiles, keyed {@code p50}, {@code p99.9}, ... in the order requested. */
+    public Mono<Map<String, Integer>> salaryPercentiles(List<Double> percentiles) {
+        log.info("Service: salaryPercentiles({})", percentiles);
+        return snapshot().map(snap -> {
+            Map<String, Integer> result = new LinkedHashMap<>();
+            for (double p : percentiles) {
+                String key = p == Math.rint(p) ? Long.toString((long) p) : Double.toString(p);
+                result.put("p" + key, snap.salaries().percentile(p));
+            }
+            return result;
+        });
+    }
+
+    private Mono<RosterSnapshot> snapshot() {
+        return Mono.fromFuture(cache::snapshotAsync, true); // never cancel the shared fetch
+    }
+}
@@ -1,63 +1,62 @@
 package com.reliaquest.api.service;
 
+import com.reliaquest.api.cache.EmployeeRosterCache;
+import com.reliaquest.api.client.EmployeeLookupCoalescer;
 import com.reliaquest.api.client.MockEmployeeClient;
 import com.reliaquest.api.model.CreateEmployeeRequest;
 import com.reliaquest.api.model.Employee;
-import java.util.Comparator;
 import java.util.List;
-import java.util.Locale;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 @Service
 public class EmployeeService {
     private static final Logger log = LoggerFactory.getLogger(EmployeeService.class);
     private final MockEmployeeClient client;
+    private final EmployeeRosterCache cache;
+    private final EmployeeLookupCoalescer lookups;
+    private final boolean deleteById;
 
-    public EmployeeService(MockEmployeeClient client) {
+    public EmployeeService(
+            MockEmployeeClient client,
+            EmployeeRosterCache cache,
+            EmployeeLookupCoalescer lookups,
+            @Value("${employee.client.delete-by-id.enabled:true}") boolean deleteById) {
         this.client = client;
+        this.cache = cache;
+        this.lookups = lookups;
+        this.deleteById = deleteById;
     }
 
     public List<Employee> getAll() {
         log.info("Service: getAllEmployees()");
-        return client.getAll();
+        return roster();
     }
 
     public List<Employee> searchByName(String fragment) {
         log.info("Service: search employees by name contains='{}'", fragment);
-        String f = fragment == null ? "" : fragment.toLowerCase(Locale.ROOT);
-        List<Employee> filtered = client.getAll().stream()
-                .filter(e -> e.getName() != null && e.getName().toLowerCase(Locale.ROOT).contains(f))
-                .toList();
+        List<Employee> filtered = cache.snapshot().names().search(fragment);
         log.debug("Search fragment='{}' -> {} matches", fragment, filtered.size());
         return filtered;
     }
 
     public Employee getById(String id) {
         log.info("Service: getEmployeeById id={}", id);
-        return client.getById(id);
+        return lookups.getById(id);
     }
 
     public Integer highestSalary() {
         log.info("Service: highestSalary()");
-        Integer max = client.getAll().stream()
-                .map(Employee::getSalary)
-                .filter(s -> s != null)
-                .max(Integer::compareTo)
-                .orElse(0);
+        int max = cache.snapshot().salaries().highest();
         log.debug("Highest salary computed={}", max);
         return max;
     }
 
     public List<String> top10NamesBySalary() {
         log.info("Service: top10NamesBySalary()");
-        List<String> names = client.getAll().stream()
-                .sorted(Comparator.comparing(Employee::getSalary,
-                        Comparator.nullsLast(Comparator.naturalOrder())).reversed())
-                .limit(10)
-                .map(Employee::getName)
-                .toList();
+        List<String> names = cache.snapshot().topNamesBySalary(10);
         log.debug("Top10 names computed size={} top={}", names.size(),
                 names.isEmpty() ? "(none)" : names.get(0));
         return names;
@@ -65,13 +64,29 @@ public class EmployeeService {
 
     public Employee create(CreateEmployeeRequest input) {
         log.info("Service: createEmployee name={}", input.getName());
-        return client.create(input);
+        Employee created = client.create(input);
+        cache.recordCreated(created);
+        return created;
     }
 
-    /** Delete by id → resolve name → delete by name (mock quirk). */
+    /**
+     * Deletes the employee with the given id and returns its name: one {@code DELETE /{id}} call, or, with
+     * {@code employee.client.delete-by-id.enabled=false}, delete by name (mock quirk) after resolving the name
+     * from the cached roster, falling back to a lookup only when the roster does not know the id.
+     */
     public String deleteByIdReturnName(String id) {
         log.info("Service: deleteEmployeeById id={}", id);
-        Employee e = client.getById(id);
+        if (deleteById) {
+            Employee deleted = client.deleteById(id);
+            if (deleted == null) {
+                log.warn("Delete aborted: id={} not found", id);
+                throw new IllegalArgumentException("Employee not found for id=" + id);
+            }
+            cache.recordDeleted(id);
+            log.info("Deleted id={} name={}", id, deleted.getName());
+            return deleted.getName();
+        }
+        Employee e = resolve(id);
         if (e == null || e.getName() == null) {
             log.warn("Delete aborted: id={} not found", id);
             throw new IllegalArgumentException("Employee not found for id=" + id);
@@ -81,7 +96,18 @@ public class EmployeeService {
             log.warn("Delete failed: id={} name={}", id, e.getName());
             throw new IllegalStateException("Failed to delete employee name=" + e.getName());
         }
+        cache.recordDeleted(id);
         log.info("Deleted id={} name={}", id, e.getName());
         return e.getName();
     }
+
+    /** The employee with the given id from any cached roster, however old (names do not change), else looked up. */
+    private Employee resolve(String id) {
+        Employee cached = cache.peek().map(snap -> snap.findById(id)).orElse(null);
+        return cached != null ? cached : lookups.getById(id);
+    }
+
+    private List<Employee> roster() {
+        return cache.snapshot().employees();
+    }
 }
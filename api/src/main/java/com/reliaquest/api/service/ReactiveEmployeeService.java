@@ -0,0 +1,119 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.cache.EmployeeRosterCache;
+import com.reliaquest.api.cache.RosterSnapshot;
+import com.reliaquest.api.client.EmployeeLookupCoalescer;
+import com.reliaquest.api.client.MockEmployeeClient;
+import com.reliaquest.api.model.CreateEmployeeRequest;
+import com.reliaquest.api.model.Employee;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link EmployeeService}, used when the api runs on the reactive stack
+ * ({@code spring.main.web-application-type=reactive}).
+ * <p>
+ * Same behaviour, same cache and lookup coalescing, but every operation returns a {@link Mono} and
+ * never blocks the calling thread: roster reads complete immediately from the current snapshot (or
+ * when the shared fetch completes) and downstream writes go through the reactive forms of
+ * {@link MockEmployeeClient}.
+ *
+ * @author Alexander Davila
+ * @see com.reliaquest.api.controller.ReactiveEmployeeController
+ */
+@Service
+public class ReactiveEmployeeService {
+    private static final Logger log = LoggerFactory.getLogger(ReactiveEmployeeService.class);
+    private final MockEmployeeClient client;
+    private final EmployeeRosterCache cache;
+    private final EmployeeLookupCoalescer lookups;
+    private final boolean deleteById;
+
+    public ReactiveEmployeeService(
+            MockEmployeeClient client,
+            EmployeeRosterCache cache,
+            EmployeeLookupCoalescer lookups,
+            @Value("${employee.client.delete-by-id.enabled:true}") boolean deleteById) {
+        this.client = client;
+        this.cache = cache;
+        this.lookups = lookups;
+        this.deleteById = deleteById;
+    }
+
+    public Mono<List<Employee>> getAll() {
+        log.info("Service: getAllEmployees()");
+        return snapshot().map(RosterSnapshot::employees);
+    }
+
+    public Mono<List<Employee>> searchByName(String fragment) {
+        log.info("Service: search employees by name contains='{}'", fragment);
+        return snapshot()
+                .map(snap -> snap.names().search(fragment))
+                .doOnNext(filtered -> log.debug("Search fragment='{}' -> {} matches", fragment, filtered.size()));
+    }
+
+    public Mono<Employee> getById(String id) {
+        log.info("Service: getEmployeeById id={}", id);
+        return lookups.lookup(id);
+    }
+
+    public Mono<Integer> highestSalary() {
+        log.info("Service: highestSalary()");
+        return snapshot().map(snap -> snap.salaries().highest());
+    }
+
+    public Mono<List<String>> top10NamesBySalary() {
+        log.info("Service: top10NamesBySalary()");
+        return snapshot().map(snap -> snap.topNamesBySalary(10));
+    }
+
+    public Mono<Employee> create(CreateEmployeeRequest input) {
+        log.info("Service: createEmployee name={}", input.getName());
+        return client.createAsync(input).doOnNext(cache::recordCreated);
+    }
+
+    /** See {@link EmployeeService#deleteByIdReturnName(String)}. */
+    public Mono<String> deleteByIdReturnName(String id) {
+        log.info("Service: deleteEmployeeById id={}", id);
+        if (deleteById) {
+            return client.deleteByIdAsync(id)
+                    .switchIfEmpty(Mono.defer(() -> {
+                        log.warn("Delete aborted: id={} not found", id);
+                        return Mono.error(new IllegalArgumentException("Employee not found for id=" + id));
+                    }))
+                    .map(deleted -> {
+                        cache.recordDeleted(id);
+                        log.info("Deleted id={} name={}", id, deleted.getName());
+                        return deleted.getName();
+                    });
+        }
+        return resolve(id)
+                .filter(e -> e.getName() != null)
+                .switchIfEmpty(Mono.defer(() -> {
+                    log.warn("Delete aborted: id={} not found", id);
+                    return Mono.error(new IllegalArgumentException("Employee not found for id=" + id));
+                }))
+                .flatMap(e -> client.deleteByNameAsync(e.getName()).flatMap(ok -> {
+                    if (!ok) {
+                        log.warn("Delete failed: id={} name={}", id, e.getName());
+                        return Mono.error(new IllegalStateException("Failed to delete employee name=" + e.getName()));
+                    }
+                    cache.recordDeleted(id);
+                    log.info("Deleted id={} name={}", id, e.getName());
+                    return Mono.just(e.getName());
+                }));
+    }
+
+    private Mono<Employee> resolve(String id) {
+        Employee cached = cache.peek().map(snap -> snap.findById(id)).orElse(null);
+        return cached != null ? Mono.just(cached) : lookups.lookup(id);
+    }
+
+    private Mono<RosterSnapshot> snapshot() {
+        return Mono.fromFuture(cache::snapshotAsync, true); // never cancel the shared fetch
+    }
+}
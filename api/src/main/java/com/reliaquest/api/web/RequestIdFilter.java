@@ -8,6 +8,7 @@ import java.io.IOException;
 import java.util.Optional;
 import java.util.UUID;
 import org.slf4j.MDC;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
@@ -43,11 +44,13 @@ import org.springframework.web.filter.OncePerRequestFilter;
  *
  * @author Alexander Davila
  * @see org.slf4j.MDC
+ * @see RequestIdWebFilter
  */    
  @Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class RequestIdFilter extends OncePerRequestFilter {
-    private static final String HDR = "X-Request-Id";
-    private static final String MDC_KEY = "requestId";
+    static final String HDR = "X-Request-Id";
+    static final String MDC_KEY = "requestId";
 
     @Override
     protected void doFilterInternal(HttpServletRequest req, HttpServletResponse res, FilterChain chain)
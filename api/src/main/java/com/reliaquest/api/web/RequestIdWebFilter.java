@@ -0,0 +1,57 @@
+package com.reliaquest.api.web;
+
+import io.micrometer.context.ContextRegistry;
+import java.util.Optional;
+import java.util.UUID;
+import org.slf4j.MDC;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Hooks;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive-stack counterpart of {@link RequestIdFilter}.
+ * <p>
+ * Accepts or generates the {@code X-Request-Id}, echoes it on the response and stores it both as an
+ * exchange attribute and in the Reactor {@link reactor.util.context.Context} under {@code requestId}.
+ * <p>
+ * A request is not bound to one thread on the event loop, so the id cannot simply be put in the MDC for the
+ * length of the request. Instead Reactor's automatic context propagation is turned on and the MDC entry is
+ * registered as a thread local mirroring the context key: around every operator callback of the request,
+ * on whichever thread runs it, Reactor puts the id in the MDC and then restores what was there before, so
+ * log lines written while handling the request carry it.
+ *
+ * @author Alexander Davila
+ * @see RequestIdFilter
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class RequestIdWebFilter implements WebFilter {
+
+    public RequestIdWebFilter() {
+        propagateToMdc();
+    }
+
+    /** Mirrors the {@code requestId} context entry into the MDC; idempotent. */
+    static void propagateToMdc() {
+        ContextRegistry.getInstance()
+                .registerThreadLocalAccessor(
+                        RequestIdFilter.MDC_KEY,
+                        () -> MDC.get(RequestIdFilter.MDC_KEY),
+                        id -> MDC.put(RequestIdFilter.MDC_KEY, id),
+                        () -> MDC.remove(RequestIdFilter.MDC_KEY));
+        Hooks.enableAutomaticContextPropagation();
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String id = Optional.ofNullable(exchange.getRequest().getHeaders().getFirst(RequestIdFilter.HDR))
+                .orElse(UUID.randomUUID().toString());
+        exchange.getAttributes().put(RequestIdFilter.MDC_KEY, id);
+        exchange.getResponse().getHeaders().set(RequestIdFilter.HDR, id);
+        return chain.filter(exchange).contextWrite(ctx -> ctx.put(RequestIdFilter.MDC_KEY, id));
+    }
+}
@@ -12,6 +12,7 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.http.*;
+import reactor.core.publisher.Mono;
 
 import java.util.List;
 import java.util.Map;
@@ -19,7 +20,9 @@ import java.util.Map;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.*;
 
-@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"employee.cache.ttl=0s", "employee.cache.max-stale=0s"}) // every test stubs its own roster
 class ApiApplicationTest {
 
 
@@ -70,10 +73,10 @@ class ApiApplicationTest {
 
     @Test
     void getEmployeeById_found_and_notFound() {
-        Mockito.when(client.getById("abc")).thenReturn(
+        Mockito.when(client.getByIdAsync("abc")).thenReturn(Mono.just(
                 new Employee("abc", "Alex", 100000, 30, "Dev", "alex@x.com")
-        );
-        Mockito.when(client.getById("zzz")).thenReturn(null);
+        ));
+        Mockito.when(client.getByIdAsync("zzz")).thenReturn(Mono.empty());
 
         // found
         ResponseEntity<Employee> ok =
@@ -149,10 +152,9 @@ class ApiApplicationTest {
     }
 
     @Test
-    void deleteEmployeeById_happyPath_resolvesNameThenDeletes() {
+    void deleteEmployeeById_happyPath_deletesInOneCall() {
         Employee e = new Employee("id-123", "Bill Bob", 89750, 24, "Documentation Engineer", "bill@x.com");
-        Mockito.when(client.getById("id-123")).thenReturn(e);
-        Mockito.when(client.deleteByName("Bill Bob")).thenReturn(true);
+        Mockito.when(client.deleteById("id-123")).thenReturn(e);
 
         ResponseEntity<String> resp =
                 http.exchange(url("/employees/id-123"), HttpMethod.DELETE, null, String.class);
@@ -160,13 +162,13 @@ class ApiApplicationTest {
         assertThat(resp.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(resp.getBody()).isEqualTo("Bill Bob");
 
-        Mockito.verify(client).getById("id-123");
-        Mockito.verify(client).deleteByName("Bill Bob");
+        Mockito.verify(client).deleteById("id-123");
+        Mockito.verify(client, Mockito.never()).getById(anyString());
     }
 
     @Test
     void deleteEmployeeById_notFound_returns404() {
-        Mockito.when(client.getById("nope")).thenReturn(null);
+        Mockito.when(client.deleteById("nope")).thenReturn(null);
 
         ResponseEntity<String> resp =
                 http.exchange(url("/employees/nope"), HttpMethod.DELETE, null, String.class);
@@ -176,9 +178,7 @@ class ApiApplicationTest {
 
     @Test
     void deleteEmployeeById_deleteFails_returns409() {
-        Employee e = new Employee("x", "Cant Delete", 1, 20, "", "");
-        Mockito.when(client.getById("x")).thenReturn(e);
-        Mockito.when(client.deleteByName("Cant Delete")).thenReturn(false);
+        Mockito.when(client.deleteById("x")).thenThrow(new IllegalStateException("Failed to delete employee id=x"));
 
         ResponseEntity<String> resp =
                 http.exchange(url("/employees/x"), HttpMethod.DELETE, null, String.class);
@@ -0,0 +1,197 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.client.MockEmployeeClient;
+import com.reliaquest.api.model.Employee;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class EmployeeRosterCacheTest {
+
+    private static final Employee A = new Employee("1", "A", 100, 30, "T", "a@x.com");
+    private static final Employee B = new Employee("2", "B", 200, 40, "T", "b@x.com");
+
+    @Test
+    void freshSnapshot_isServedWithoutRefetching() {
+        var client = mock(MockEmployeeClient.class);
+        when(client.getAll()).thenReturn(List.of(A, B));
+        var cache = new EmployeeRosterCache(client, Duration.ofMinutes(1), Duration.ZERO, 10, new MutableClock());
+
+        var first = cache.snapshot();
+        var second = cache.snapshot();
+
+        assertThat(second).isSameAs(first);
+        assertThat(second.employees()).containsExactly(A, B);
+        verify(client, times(1)).getAll();
+    }
+
+    @Test
+    void staleSnapshot_isServedWhileRevalidating() throws Exception {
+        var client = mock(MockEmployeeClient.class);
+        when(client.getAll()).thenReturn(List.of(A)).thenReturn(List.of(A, B));
+        var clock = new MutableClock();
+        var cache = new EmployeeRosterCache(client, Duration.ofSeconds(10), Duration.ofMinutes(5), 10, clock);
+
+        var first = cache.snapshot();
+        clock.advance(Duration.ofSeconds(11));
+
+        assertThat(cache.snapshot()).isSameAs(first);
+        verify(client, timeout(1_000).times(2)).getAll();
+        await(() -> cache.peek().orElseThrow().version() > first.version());
+        assertThat(cache.snapshot().employees()).containsExactly(A, B);
+    }
+
+    @Test
+    void notModifiedRoster_keepsVersionAndDerivedModels_butResetsAge() {
+        var client = mock(MockEmployeeClient.class);
+        var roster = List.of(A, B);
+        when(client.getAll()).thenReturn(roster);
+        var clock = new MutableClock();
+        var cache = new EmployeeRosterCache(client, Duration.ofSeconds(10), Duration.ZERO, 10, clock);
+
+        var first = cache.snapshot();
+        clock.advance(Duration.ofSeconds(30));
+        var second = cache.snapshot();
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.version()).isEqualTo(first.version());
+        assertThat(second.salaries()).isSameAs(first.salaries());
+        assertThat(second.loadedAt()).isEqualTo(first.loadedAt().plusSeconds(30));
+    }
+
+    @Test
+    void expiredSnapshot_isReloadedSynchronously() {
+        var client = mock(MockEmployeeClient.class);
+        when(client.getAll()).thenReturn(List.of(A)).thenReturn(List.of(B));
+        var clock = new MutableClock();
+        var cache = new EmployeeRosterCache(client, Duration.ofSeconds(10), Duration.ofSeconds(10), 10, clock);
+
+        cache.snapshot();
+        clock.advance(Duration.ofSeconds(30));
+
+        assertThat(cache.snapshot().employees()).containsExactly(B);
+    }
+
+    @Test
+    void concurrentMisses_shareOneFetch() throws Exception {
+        var client = mock(MockEmployeeClient.class);
+        var release = new CountDownLatch(1);
+        when(client.getAll()).thenAnswer(inv -> {
+            release.await(5, TimeUnit.SECONDS);
+            return List.of(A);
+        });
+        var cache = new EmployeeRosterCache(client, Duration.ofMinutes(1), Duration.ZERO, 10, new MutableClock());
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<RosterSnapshot>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(pool.submit(cache::snapshot));
+            }
+            verify(client, timeout(1_000)).getAll();
+            release.countDown();
+            for (Future<RosterSnapshot> f : results) {
+                assertThat(f.get(5, TimeUnit.SECONDS).employees()).containsExactly(A);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        verify(client, times(1)).getAll();
+    }
+
+    @Test
+    void writeThrough_updatesSnapshotWithNewVersion() {
+        var client = mock(MockEmployeeClient.class);
+        when(client.getAll()).thenReturn(List.of(A));
+        var cache = new EmployeeRosterCache(client, Duration.ofMinutes(1), Duration.ZERO, 10, new MutableClock());
+
+        var loaded = cache.snapshot();
+        cache.recordCreated(B);
+        var afterCreate = cache.snapshot();
+        cache.recordDeleted("1");
+        var afterDelete = cache.snapshot();
+
+        assertThat(afterCreate.version()).isGreaterThan(loaded.version());
+        assertThat(afterCreate.employees()).containsExactly(A, B);
+        assertThat(afterDelete.employees()).containsExactly(B);
+        assertThat(loaded.employees()).containsExactly(A);
+        verify(client, times(1)).getAll();
+    }
+
+    @Test
+    void writesOverflowingTheJournalDuringAFetch_discardItAndFetchAgain() throws Exception {
+        var client = mock(MockEmployeeClient.class);
+        var fetching = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        List<Employee> created = IntStream.range(0, 1_100)
+                .mapToObj(i -> new Employee("c" + i, "C" + i, 10, 30, "T", "c@x.com"))
+                .toList();
+        List<Employee> afterWrites = new ArrayList<>(List.of(A));
+        afterWrites.addAll(created);
+        when(client.getAll())
+                .thenReturn(List.of(A))
+                .thenAnswer(inv -> {
+                    fetching.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                    return List.of(A);
+                })
+                .thenReturn(afterWrites);
+        var cache = new EmployeeRosterCache(client, Duration.ofMinutes(1), Duration.ZERO, 10, new MutableClock());
+        cache.snapshot();
+
+        var refresh = cache.refresh();
+        assertThat(fetching.await(5, TimeUnit.SECONDS)).isTrue();
+        created.forEach(cache::recordCreated);
+        release.countDown();
+
+        assertThat(refresh.get(5, TimeUnit.SECONDS).employees()).isEqualTo(afterWrites);
+        verify(client, times(3)).getAll();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+
+    static final class MutableClock extends Clock {
+        private volatile Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration d) {
+            now = now.plus(d);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+class NameIndexTest {
+
+    private static final List<String> NAMES = List.of(
+            "Tiger Nixon", "Garrett Winters", "Ashton Cox", "Cedric Kelly", "Airi Satou",
+            "Brielle Williamson", "Herrod Chandler", "Rhona Davidson", "Colleen Hurst", "Sonya Frost");
+
+    @Test
+    void search_isCaseInsensitiveAndKeepsRosterOrder() {
+        var index = NameIndex.of(RosterColumns.of(List.of(
+                new Employee("1", "Tiger Nixon", 1, 20, "", ""),
+                new Employee("2", "Garrett Winters", 1, 20, "", ""),
+                new Employee("3", null, 1, 20, "", ""),
+                new Employee("4", "Sonya TIGERS", 1, 20, "", ""))));
+
+        assertThat(index.search("TIGER")).extracting(Employee::getId).containsExactly("1", "4");
+        assertThat(index.search("er")).extracting(Employee::getId).containsExactly("1", "2", "4");
+        assertThat(index.search("xyz")).isEmpty();
+        assertThat(index.search(null)).hasSize(3);
+    }
+
+    @Test
+    void search_foldsNonAsciiNamesLikeToLowerCase() {
+        var index = NameIndex.of(RosterColumns.of(List.of(
+                new Employee("1", "ÉMILE Zola", 1, 20, "", ""),
+                new Employee("2", "Emile Gallé", 1, 20, "", ""))));
+
+        assertThat(index.search("émile")).extracting(Employee::getId).containsExactly("1");
+        assertThat(index.search("LLÉ")).extracting(Employee::getId).containsExactly("2");
+        assertThat(index.search("ile")).extracting(Employee::getId).containsExactly("1", "2");
+    }
+
+    @Test
+    void incrementalUpdates_matchLinearScan() {
+        var rnd = new Random(7);
+        List<Employee> roster = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            roster.add(employee(i, rnd));
+        }
+        var columns = RosterColumns.of(roster);
+        var index = NameIndex.of(columns);
+        for (int step = 0; step < 200; step++) {
+            if (rnd.nextBoolean() && !roster.isEmpty()) {
+                int row = rnd.nextInt(roster.size());
+                roster.remove(row);
+                var next = columns.without(row);
+                index = index.withRemoved(columns, row, next);
+                columns = next;
+            } else {
+                var added = employee(100 + step, rnd);
+                roster.add(added);
+                columns = columns.with(added);
+                index = index.withAdded(columns, columns.size() - 1);
+            }
+            for (String q : List.of("a", "er", "son", "ILL", "n cox", "frost", "zzz")) {
+                assertThat(index.search(q)).isEqualTo(linearScan(roster, q));
+            }
+        }
+    }
+
+    private static Employee employee(int id, Random rnd) {
+        return new Employee(String.valueOf(id), NAMES.get(rnd.nextInt(NAMES.size())), 1, 20, "", "");
+    }
+
+    private static List<Employee> linearScan(List<Employee> roster, String fragment) {
+        String f = fragment.toLowerCase(Locale.ROOT);
+        return roster.stream()
+                .filter(e -> e.getName() != null && e.getName().toLowerCase(Locale.ROOT).contains(f))
+                .toList();
+    }
+}
@@ -0,0 +1,78 @@
+package com.reliaquest.api.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+class QuantileSketchTest {
+
+    private static final double ACCURACY = 0.01;
+
+    @Test
+    void percentiles_areWithinRelativeAccuracyOfExactNearestRank() {
+        var rnd = new Random(42);
+        int[] values = rnd.ints(100_000, 30_000, 500_000).toArray();
+        var builder = new QuantileSketch.Builder(ACCURACY);
+        Arrays.stream(values).forEach(builder::add);
+        var sketch = builder.build();
+        Arrays.sort(values);
+
+        for (double p : new double[] {1, 25, 50, 90, 99, 99.9, 100}) {
+            int exact = values[(int) Math.ceil(p * values.length / 100) - 1];
+            assertThat(sketch.percentile(p)).as("p%s", p).isCloseTo(exact, withinPercentage(ACCURACY * 100));
+        }
+        assertThat(sketch.count()).isEqualTo(100_000);
+        assertThat(sketch.buckets()).isLessThan(150);
+    }
+
+    @Test
+    void builder_andIncrementalAdds_agree() {
+        var builder = new QuantileSketch.Builder(ACCURACY);
+        var sketch = QuantileSketch.empty(ACCURACY);
+        for (int v : new int[] {500, 7, 0, 123_456, 7, 1, 90_000}) {
+            builder.add(v);
+            sketch = sketch.withAdded(v);
+        }
+        var built = builder.build();
+
+        for (double p = 5; p <= 100; p += 5) {
+            assertThat(built.percentile(p)).isEqualTo(sketch.percentile(p));
+        }
+        assertThat(built.percentile(10)).isZero();
+    }
+
+    @Test
+    void withRemoved_undoesWithAdded() {
+        var base = QuantileSketch.empty(ACCURACY).withAdded(100).withAdded(200).withAdded(300);
+        var changed = base.withAdded(1_000_000).withRemoved(1_000_000).withRemoved(42);
+
+        assertThat(changed.count()).isEqualTo(3);
+        assertThat(changed.percentile(100)).isEqualTo(base.percentile(100));
+        assertThat(QuantileSketch.empty(ACCURACY).withRemoved(5).count()).isZero();
+    }
+
+    @Test
+    void merge_countsBothSides() {
+        var low = QuantileSketch.empty(ACCURACY).withAdded(10).withAdded(20);
+        var high = QuantileSketch.empty(ACCURACY).withAdded(1_000).withAdded(2_000);
+        var merged = low.merge(high);
+
+        assertThat(merged.count()).isEqualTo(4);
+        assertThat(merged.percentile(50)).isCloseTo(20, withinPercentage(1));
+        assertThat(merged.percentile(100)).isCloseTo(2_000, withinPercentage(1));
+        assertThat(QuantileSketch.empty(ACCURACY).merge(high).percentile(50)).isEqualTo(high.percentile(50));
+        assertThatThrownBy(() -> low.merge(QuantileSketch.empty(0.05))).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void percentile_ofEmptySketchIsZero_andOutOfRangeIsRejected() {
+        var empty = QuantileSketch.empty(ACCURACY);
+
+        assertThat(empty.percentile(50)).isZero();
+        assertThatThrownBy(() -> empty.percentile(0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> empty.percentile(101)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
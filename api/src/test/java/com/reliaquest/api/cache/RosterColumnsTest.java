@@ -0,0 +1,123 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.cache.RosterColumns.Metric;
+import com.reliaquest.api.model.Employee;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class RosterColumnsTest {
+
+    private static final List<Employee> ROSTER = List.of(
+            new Employee("1", "A", 10, 40, "Dev", ""),
+            new Employee("2", "B", 30, 25, "Ops", ""),
+            new Employee("3", "C", 20, null, "Dev", ""),
+            new Employee("4", "D", 30, 60, null, ""),
+            new Employee("5", "E", null, 33, "Dev", ""));
+
+    @Test
+    void columns_encodeValuesAndTitles() {
+        var columns = RosterColumns.of(ROSTER);
+
+        assertThat(columns.size()).isEqualTo(5);
+        assertThat(columns.value(Metric.SALARY, 4)).isEqualTo(RosterColumns.MISSING);
+        assertThat(columns.value(Metric.AGE, 3)).isEqualTo(60);
+        assertThat(columns.titles()).containsExactly("Dev", "Ops");
+        assertThat(columns.titleCodeAt(2)).isEqualTo(columns.titleCode("Dev"));
+        assertThat(columns.title(3)).isNull();
+        assertThat(columns.titleCode("Nope")).isEqualTo(RosterColumns.NO_TITLE);
+    }
+
+    @Test
+    void employees_areBuiltFromTheColumnsAndFoundById() {
+        var columns = RosterColumns.of(ROSTER);
+
+        assertThat(columns.employees()).isEqualTo(ROSTER);
+        assertThat(RosterColumns.of(columns.employees())).isSameAs(columns);
+        assertThat(columns.row("3")).isEqualTo(2);
+        assertThat(columns.employee(columns.row("4"))).isEqualTo(ROSTER.get(3));
+        assertThat(columns.row("6")).isEqualTo(-1);
+        assertThat(columns.row(null)).isEqualTo(-1);
+    }
+
+    @Test
+    void stringsRoundTrip_includingNullAndNonAscii() {
+        List<Employee> roster = List.of(
+                new Employee("a", null, 1, 2, "T", null),
+                new Employee("ü-1", "José Ñúñez", 3, 4, "Señor", "jose@x.com"),
+                new Employee(null, "", 5, 6, "", ""));
+        var columns = RosterColumns.of(roster);
+
+        assertThat(columns.employees()).isEqualTo(roster);
+        assertThat(columns.row("ü-1")).isEqualTo(1);
+    }
+
+    @Test
+    void mutations_keepSequenceNumbersAndMatchAFreshBuild() {
+        var columns = RosterColumns.of(ROSTER);
+        var created = new Employee("6", "F", 70, 50, "QA", "f@x.com");
+
+        var withF = columns.with(created);
+        var withoutB = withF.without(withF.row("2"));
+        var changed = columns.withChanges(List.of(created, ROSTER.get(0)), List.of("2"));
+
+        List<Employee> expected = new ArrayList<>(ROSTER);
+        expected.remove(1);
+        expected.add(created);
+        assertThat(withoutB.employees()).isEqualTo(expected);
+        assertThat(changed.employees()).isEqualTo(expected);
+        assertThat(withoutB.seq(withoutB.row("6"))).isEqualTo(5);
+        assertThat(withoutB.rowOfSeq(1)).isEqualTo(-1);
+        assertThat(withoutB.rowOfSeq(2)).isEqualTo(1);
+        assertThat(withoutB.titles()).containsExactly("Dev", "QA");
+        assertThat(withoutB.stats(Metric.SALARY)).isEqualTo(RosterColumns.of(expected).stats(Metric.SALARY));
+    }
+
+    @Test
+    void stats_skipMissingValues() {
+        var columns = RosterColumns.of(ROSTER);
+
+        assertThat(columns.stats(Metric.SALARY)).isEqualTo(new RosterColumns.Stats(4, 10, 30, 90));
+        assertThat(columns.stats(Metric.AGE).mean()).isEqualTo(39.5);
+        assertThat(RosterColumns.of(List.of()).stats(Metric.AGE).count()).isZero();
+    }
+
+    @Test
+    void top_ranksStablyInBothDirections_withTitleFilter() {
+        var columns = RosterColumns.of(ROSTER);
+
+        assertThat(names(columns, columns.top(Metric.SALARY, 3, true, null))).containsExactly("B", "D", "C");
+        assertThat(names(columns, columns.top(Metric.AGE, 2, false, null))).containsExactly("B", "E");
+        assertThat(names(columns, columns.top(Metric.AGE, 10, true, "Dev"))).containsExactly("A", "E");
+        assertThat(columns.top(Metric.SALARY, 3, true, "Nope")).isEmpty();
+    }
+
+    @Test
+    void topNamesBySalary_matchesStableSortOfTheRoster() {
+        var rnd = new Random(7);
+        List<Employee> roster = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            Integer salary = rnd.nextInt(20) == 0 ? null : rnd.nextInt(-50, 200);
+            roster.add(new Employee("id" + i, "n" + i, salary, 30, "T", ""));
+        }
+        List<String> expected = roster.stream()
+                .filter(e -> e.getSalary() != null)
+                .sorted(Comparator.comparing(Employee::getSalary).reversed())
+                .limit(100)
+                .map(Employee::getName)
+                .toList();
+
+        assertThat(RosterColumns.of(roster).topNamesBySalary(100)).isEqualTo(expected);
+    }
+
+    private static List<String> names(RosterColumns columns, int[] rows) {
+        return IntStream.of(rows).mapToObj(columns::name).filter(Objects::nonNull).toList();
+    }
+}
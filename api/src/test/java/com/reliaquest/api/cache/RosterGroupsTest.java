@@ -0,0 +1,66 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.cache.RosterColumns.Metric;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.GroupStats;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class RosterGroupsTest {
+
+    private static final List<Employee> ROSTER = List.of(
+            new Employee("1", "A", 100, 24, "Dev", ""),
+            new Employee("2", "B", 300, 31, "Ops", ""),
+            new Employee("3", "C", 200, 29, "Dev", ""),
+            new Employee("4", "D", 400, 35, null, ""),
+            new Employee("5", "E", null, 22, "Dev", ""),
+            new Employee("6", "F", 500, null, "Dev", ""));
+
+    @Test
+    void byTitle_groupsInOrderOfFirstAppearance_skippingMissingValues() {
+        var groups = RosterGroups.byTitle(RosterColumns.of(ROSTER), Metric.SALARY);
+
+        assertThat(groups).extracting(GroupStats::getGroup).containsExactly("Dev", "Ops");
+        assertThat(groups.get(0)).isEqualTo(new GroupStats("Dev", 3, 100, 500, 800 / 3d, 100, 200, 500, 500, 500));
+        assertThat(groups.get(1).getCount()).isEqualTo(1);
+    }
+
+    @Test
+    void byAgeBand_leavesOutEmptyBandsAndMissingAges() {
+        var groups = RosterGroups.byAgeBand(RosterColumns.of(ROSTER), Metric.SALARY, 10);
+
+        assertThat(groups).extracting(GroupStats::getGroup).containsExactly("20-29", "30-39");
+        assertThat(groups).extracting(GroupStats::getCount).containsExactly(2, 2);
+        assertThat(groups.get(1).getMean()).isEqualTo(350d);
+        assertThat(RosterGroups.byAgeBand(RosterColumns.of(List.of()), Metric.SALARY, 5)).isEmpty();
+    }
+
+    @Test
+    void percentiles_areNearestRank() {
+        List<Employee> roster = new ArrayList<>();
+        IntStream.rangeClosed(1, 200).forEach(i -> roster.add(new Employee("id" + i, "n" + i, 201 - i, 40, "T", "")));
+
+        var group = RosterGroups.byTitle(RosterColumns.of(roster), Metric.SALARY).get(0);
+
+        assertThat(List.of(group.getP25(), group.getP50(), group.getP75(), group.getP90(), group.getP99()))
+                .containsExactly(50, 100, 150, 180, 198);
+    }
+
+    @Test
+    void reports_areKeptPerSnapshot() {
+        var snap = RosterSnapshot.of(1, ROSTER, Instant.EPOCH, 10);
+
+        assertThat(snap.salaryByTitle()).isSameAs(snap.salaryByTitle());
+        assertThat(snap.salaryByAgeBand(5)).isSameAs(snap.salaryByAgeBand(5)).isNotSameAs(snap.salaryByAgeBand(10));
+        assertThat(snap.revalidated(Instant.EPOCH).salaryByTitle()).isSameAs(snap.salaryByTitle());
+        assertThat(snap.withCreated(2, new Employee("7", "G", 50, 40, "QA", "")).salaryByTitle())
+                .extracting(GroupStats::getGroup)
+                .containsExactly("Dev", "Ops", "QA");
+    }
+}
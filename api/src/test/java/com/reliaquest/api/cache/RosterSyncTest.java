@@ -0,0 +1,134 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.client.MockEmployeeClient;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeChange;
+import com.reliaquest.api.model.EmployeeChanges;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class RosterSyncTest {
+
+    private static final Employee A = new Employee("1", "A", 100, 30, "T", "a@x.com");
+    private static final Employee B = new Employee("2", "B", 200, 40, "T", "b@x.com");
+    private static final Employee C = new Employee("3", "C", 300, 50, "T", "c@x.com");
+
+    private final MockEmployeeClient client = mock(MockEmployeeClient.class);
+    private final EmployeeRosterCacheTest.MutableClock clock = new EmployeeRosterCacheTest.MutableClock();
+    private final EmployeeRosterCache cache =
+            new EmployeeRosterCache(client, Duration.ofSeconds(10), Duration.ZERO, 10, clock);
+    private final RosterSync sync = new RosterSync(client, cache, Duration.ofSeconds(1), 2);
+
+    @Test
+    void firstPoll_reloadsRosterAndFollowsFeedFromLatest() {
+        when(client.getAll()).thenReturn(List.of(A, B));
+        when(client.getChangesAsync(eq(-1L), anyInt())).thenReturn(changes("run", 5, true));
+
+        sync.poll();
+
+        assertThat(sync.cursor()).isEqualTo(5);
+        assertThat(cache.peek().orElseThrow().employees()).containsExactly(A, B);
+        verify(client, times(1)).getAll();
+    }
+
+    @Test
+    void changes_areAppliedWithoutRefetching_acrossBatches() {
+        when(client.getAll()).thenReturn(List.of(A, B));
+        when(client.getChangesAsync(eq(-1L), anyInt())).thenReturn(changes("run", 5, true));
+        when(client.getChangesAsync(eq(5L), anyInt())).thenReturn(changes("run", 8, false,
+                new EmployeeChange(6, EmployeeChange.CREATED, C),
+                new EmployeeChange(7, EmployeeChange.DELETED, A)));
+        when(client.getChangesAsync(eq(7L), anyInt())).thenReturn(changes("run", 8, false,
+                new EmployeeChange(8, EmployeeChange.CREATED, C)));
+        sync.poll();
+        clock.advance(Duration.ofSeconds(30));
+
+        sync.poll();
+
+        assertThat(sync.cursor()).isEqualTo(8);
+        assertThat(cache.peek().orElseThrow().employees()).containsExactly(B, C);
+        assertThat(cache.fresh()).as("caught up, so the TTL restarts").isPresent();
+        verify(client, times(1)).getAll();
+    }
+
+    @Test
+    void resetOrRestartedServer_reloadsRoster() {
+        when(client.getAll()).thenReturn(List.of(A)).thenReturn(List.of(A, B)).thenReturn(List.of(C));
+        when(client.getChangesAsync(eq(-1L), anyInt())).thenReturn(changes("run", 5, true));
+        when(client.getChangesAsync(eq(5L), anyInt())).thenReturn(changes("run", 40, true));
+        when(client.getChangesAsync(eq(40L), anyInt())).thenReturn(changes("other-run", 1, false));
+        sync.poll();
+
+        sync.poll();
+        assertThat(sync.cursor()).isEqualTo(40);
+        assertThat(cache.peek().orElseThrow().employees()).containsExactly(A, B);
+
+        sync.poll();
+        assertThat(sync.cursor()).isEqualTo(1);
+        assertThat(cache.peek().orElseThrow().employees()).containsExactly(C);
+        verify(client, times(3)).getAll();
+    }
+
+    @Test
+    void feedBehindLatestWithoutChanges_isAskedAgain_andTheChangeAppliedOnceItShowsUp() {
+        when(client.getAll()).thenReturn(List.of(A));
+        when(client.getChangesAsync(eq(-1L), anyInt())).thenReturn(changes("run", 5, true));
+        when(client.getChangesAsync(eq(5L), anyInt()))
+                .thenReturn(changes("run", 6, false))
+                .thenReturn(changes("run", 6, false, new EmployeeChange(6, EmployeeChange.CREATED, B)));
+        sync.poll();
+
+        sync.poll();
+        assertThat(sync.cursor()).isEqualTo(5);
+        sync.poll();
+
+        assertThat(sync.cursor()).isEqualTo(6);
+        assertThat(cache.peek().orElseThrow().employees()).containsExactly(A, B);
+        verify(client, times(1)).getAll();
+    }
+
+    @Test
+    void feedBehindLatestWithoutChanges_reloadsOnlyOnceTheGapPersists() {
+        when(client.getAll()).thenReturn(List.of(A)).thenReturn(List.of(A, B));
+        when(client.getChangesAsync(eq(-1L), anyInt())).thenReturn(changes("run", 5, true));
+        when(client.getChangesAsync(eq(5L), anyInt())).thenReturn(changes("run", 9, false));
+        sync.poll();
+
+        for (int round = 1; round < RosterSync.GAP_ROUNDS; round++) {
+            sync.poll();
+        }
+        verify(client, times(1)).getAll();
+        sync.poll();
+
+        assertThat(sync.cursor()).isEqualTo(9);
+        assertThat(cache.peek().orElseThrow().employees()).containsExactly(A, B);
+        verify(client, times(2)).getAll();
+    }
+
+    @Test
+    void drainedFeed_marksTheRosterInSync() {
+        when(client.getAll()).thenReturn(List.of(A));
+        when(client.getChangesAsync(eq(-1L), anyInt())).thenReturn(changes("run", 5, true));
+        when(client.getChangesAsync(eq(5L), anyInt())).thenReturn(changes("run", 5, false));
+        sync.poll();
+        clock.advance(Duration.ofSeconds(30));
+        assertThat(cache.fresh()).isEmpty();
+
+        sync.poll();
+
+        assertThat(cache.fresh()).isPresent();
+        verify(client, times(1)).getAll();
+    }
+
+    private static Mono<EmployeeChanges> changes(String runId, long latest, boolean reset, EmployeeChange... changes) {
+        return Mono.just(new EmployeeChanges(runId, latest, reset, List.of(changes)));
+    }
+}
@@ -0,0 +1,117 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+class SalaryAggregatesTest {
+
+    @Test
+    void build_computesStatsAndStableTopK() {
+        var agg = SalaryAggregates.of(RosterColumns.of(List.of(
+                new Employee("1", "X", 10, 20, "", ""),
+                new Employee("2", "Y", 30, 20, "", ""),
+                new Employee("3", "Z", 20, 20, "", ""),
+                new Employee("4", "Y2", 30, 20, "", ""),
+                new Employee("5", "N", null, 20, "", "")
+        )), 3);
+
+        assertThat(agg.count()).isEqualTo(4);
+        assertThat(agg.sum()).isEqualTo(90);
+        assertThat(agg.highest()).isEqualTo(30);
+        assertThat(agg.lowest()).isEqualTo(10);
+        assertThat(agg.topNames(3)).containsExactly("Y", "Y2", "Z");
+    }
+
+    @Test
+    void empty_roster_reportsZero() {
+        var agg = SalaryAggregates.of(RosterColumns.of(List.of()), 10);
+        assertThat(agg.highest()).isZero();
+        assertThat(agg.topNames(10)).isEmpty();
+    }
+
+    @Test
+    void removingOneOfSeveralOnTheMinimum_doesNotRebuild() {
+        var columns = RosterColumns.of(List.of(
+                new Employee("1", "A", 10, 20, "", ""),
+                new Employee("2", "B", 50, 20, "", ""),
+                new Employee("3", "C", 10, 20, "", ""),
+                new Employee("4", "D", 40, 20, "", "")));
+        var agg = SalaryAggregates.of(columns, 1);
+
+        // Handing over the columns from before the removal shows whether they were rebuilt from: they still
+        // count four salaries.
+        var removed = agg.withRemoved(columns, 0, columns);
+        assertThat(removed.count()).isEqualTo(3);
+        assertThat(removed.lowest()).isEqualTo(10);
+
+        var next = columns.without(0);
+        var lastOnTheMinimum = agg.withRemoved(columns, 0, next).withRemoved(next, 1, next.without(1));
+        assertThat(lastOnTheMinimum.count()).isEqualTo(2);
+        assertThat(lastOnTheMinimum.lowest()).isEqualTo(40);
+    }
+
+    @Test
+    void incrementalUpdates_matchFullRebuild() {
+        var rnd = new Random(42);
+        List<Employee> roster = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            roster.add(new Employee("id" + i, "n" + i, rnd.nextInt(50), 30, "", ""));
+        }
+        var columns = RosterColumns.of(roster);
+        var agg = SalaryAggregates.of(columns, 10);
+        int nextId = 200;
+        for (int step = 0; step < 500; step++) {
+            if (rnd.nextBoolean() && !roster.isEmpty()) {
+                int row = rnd.nextInt(roster.size());
+                roster.remove(row);
+                var next = columns.without(row);
+                agg = agg.withRemoved(columns, row, next);
+                columns = next;
+            } else {
+                Employee added = new Employee("id" + nextId, "n" + nextId, rnd.nextInt(50), 30, "", "");
+                nextId++;
+                roster.add(added);
+                columns = columns.with(added);
+                agg = agg.withAdded(columns, columns.size() - 1);
+            }
+            var expected = SalaryAggregates.of(RosterColumns.of(roster), 10);
+            assertThat(agg.count()).isEqualTo(expected.count());
+            assertThat(agg.sum()).isEqualTo(expected.sum());
+            assertThat(agg.highest()).isEqualTo(expected.highest());
+            assertThat(agg.lowest()).isEqualTo(expected.lowest());
+            assertThat(agg.topNames(10)).isEqualTo(bruteForceTop(roster, 10));
+            for (double p : new double[] {50, 90, 99}) {
+                assertThat(agg.percentile(p)).isEqualTo(expected.percentile(p));
+            }
+        }
+    }
+
+    @Test
+    void percentile_isApproximateButWithinObservedRange() {
+        List<Employee> roster = new ArrayList<>();
+        for (int i = 1; i <= 1_000; i++) {
+            roster.add(new Employee("id" + i, "n" + i, 1_000 * i, 30, "", ""));
+        }
+        var agg = SalaryAggregates.of(RosterColumns.of(roster), 10);
+
+        assertThat(agg.percentile(50)).isCloseTo(500_000, withinPercentage(1));
+        assertThat(agg.percentile(99)).isCloseTo(990_000, withinPercentage(1));
+        assertThat(agg.percentile(100)).isEqualTo(1_000_000);
+        assertThat(SalaryAggregates.of(RosterColumns.of(List.of()), 10).percentile(50)).isZero();
+    }
+
+    private static List<String> bruteForceTop(List<Employee> roster, int n) {
+        return roster.stream()
+                .sorted(Comparator.comparing(Employee::getSalary).reversed())
+                .limit(n)
+                .map(Employee::getName)
+                .toList();
+    }
+}
@@ -0,0 +1,82 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.cache.EmployeeRosterCache;
+import com.reliaquest.api.model.Employee;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class EmployeeLookupCoalescerTest {
+
+    private static final Employee A = new Employee("a", "A", 100, 30, "T", "a@x.com");
+    private static final Employee B = new Employee("b", "B", 200, 40, "T", "b@x.com");
+
+    @Test
+    void concurrentLookupsForSameId_shareOneCall() {
+        var client = mock(MockEmployeeClient.class);
+        when(client.getByIdAsync("a")).thenReturn(Mono.just(A));
+        var registry = new SimpleMeterRegistry();
+        var lookups = coalescer(client, Duration.ofMinutes(1), Duration.ofMillis(50), 4, registry);
+
+        List<Employee> results = Flux.range(0, 10)
+                .flatMap(i -> lookups.lookup("a"))
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        assertThat(results).hasSize(10).containsOnly(A);
+        verify(client, times(1)).getByIdAsync("a");
+        assertThat(registry.get("employee.lookup.collapsed").counter().count()).isEqualTo(9);
+        assertThat(registry.get("employee.lookup.collapse.ratio").gauge().value()).isEqualTo(10);
+    }
+
+    @Test
+    void batchAboveThreshold_isResolvedFromOneRosterFetch() {
+        var client = mock(MockEmployeeClient.class);
+        when(client.getAll()).thenReturn(List.of(A, B));
+        var lookups = coalescer(client, Duration.ofMinutes(1), Duration.ofMillis(50), 3, new SimpleMeterRegistry());
+
+        List<Employee> results = Flux.just("a", "b", "missing")
+                .flatMap(id -> lookups.lookup(id).defaultIfEmpty(new Employee()))
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        assertThat(results).extracting(Employee::getId).containsExactlyInAnyOrder("a", "b", null);
+        verify(client, times(1)).getAll();
+        verify(client, never()).getByIdAsync(anyString());
+    }
+
+    @Test
+    void freshSnapshot_answersWithoutDownstreamCall() {
+        var client = mock(MockEmployeeClient.class);
+        when(client.getAll()).thenReturn(List.of(A, B));
+        var cache = new EmployeeRosterCache(client, Duration.ofMinutes(1), Duration.ZERO, 10);
+        cache.snapshot();
+        var lookups = new EmployeeLookupCoalescer(client, cache, Duration.ZERO, 4, new SimpleMeterRegistry());
+
+        assertThat(lookups.getById("b")).isEqualTo(B);
+        verify(client, never()).getByIdAsync(anyString());
+    }
+
+    @Test
+    void unknownId_completesEmpty() {
+        var client = mock(MockEmployeeClient.class);
+        when(client.getByIdAsync("zzz")).thenReturn(Mono.empty());
+        var lookups = coalescer(client, Duration.ZERO, Duration.ZERO, 4, new SimpleMeterRegistry());
+
+        assertThat(lookups.getById("zzz")).isNull();
+        assertThat(lookups.lookup("zzz").hasElement().block()).isFalse();
+    }
+
+    private static EmployeeLookupCoalescer coalescer(
+            MockEmployeeClient client, Duration ttl, Duration window, int threshold, SimpleMeterRegistry registry) {
+        var cache = new EmployeeRosterCache(client, ttl, Duration.ZERO, 10);
+        return new EmployeeLookupCoalescer(client, cache, window, threshold, registry);
+    }
+}
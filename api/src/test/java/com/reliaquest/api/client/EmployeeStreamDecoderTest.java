@@ -0,0 +1,75 @@
+package com.reliaquest.api.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.model.Employee;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class EmployeeStreamDecoderTest {
+
+    private static final String ROSTER = """
+            {"status":"Successfully processed request.",
+             "meta":{"data":[{"id":"ignored"}]},
+             "data":[
+               {"id":"1","employee_name":"Ann","employee_salary":100,"employee_age":30,
+                "employee_title":"Dev","employee_email":"ann@x.com","extra":{"nested":[1,2]}},
+               null,
+               {"id":"2","employee_name":"Bob","employee_salary":200,"employee_age":40,
+                "employee_title":"Ops","employee_email":"bob@x.com"}
+             ]}""";
+
+    private final EmployeeStreamDecoder decoder = new EmployeeStreamDecoder(new ObjectMapper());
+
+    private static Flux<DataBuffer> chunks(String json, int size) {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        List<DataBuffer> out = new ArrayList<>();
+        for (int i = 0; i < bytes.length; i += size) {
+            byte[] chunk = new byte[Math.min(size, bytes.length - i)];
+            System.arraycopy(bytes, i, chunk, 0, chunk.length);
+            out.add(DefaultDataBufferFactory.sharedInstance.wrap(chunk));
+        }
+        return Flux.fromIterable(out);
+    }
+
+    @Test
+    void decodesEmployeesRegardlessOfChunking() {
+        for (int size : new int[] {1, 7, 64, ROSTER.length()}) {
+            List<Employee> employees = decoder.decode(chunks(ROSTER, size)).collectList().block();
+
+            assertThat(employees).as("chunk size %d", size)
+                    .extracting(Employee::getId, Employee::getName, Employee::getSalary)
+                    .containsExactly(tuple("1", "Ann", 100), tuple("2", "Bob", 200));
+        }
+    }
+
+    @Test
+    void emitsEachEmployeeBeforeTheBodyEnds() {
+        String head = ROSTER.substring(0, ROSTER.indexOf("null"));
+
+        List<Employee> employees = decoder.decode(chunks(head, 16)).take(1).collectList().block();
+
+        assertThat(employees).extracting(Employee::getId).containsExactly("1");
+    }
+
+    @Test
+    void nullOrMissingData_isEmpty() {
+        assertThat(decoder.decode(chunks("{\"data\":null,\"status\":\"ok\"}", 5)).collectList().block()).isEmpty();
+        assertThat(decoder.decode(chunks("{\"status\":\"ok\"}", 5)).collectList().block()).isEmpty();
+    }
+
+    @Test
+    void truncatedBody_fails() {
+        String truncated = ROSTER.substring(0, ROSTER.length() / 2);
+
+        assertThatThrownBy(() -> decoder.decode(chunks(truncated, 32)).collectList().block())
+                .hasMessageContaining("ended prematurely");
+    }
+}
@@ -0,0 +1,256 @@
+package com.reliaquest.api.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.model.Employee;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class MockEmployeeClientTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicInteger pageRequests = new AtomicInteger();
+    private final List<String> queries = new CopyOnWriteArrayList<>();
+    private final List<Employee> roster = IntStream.range(0, 25)
+            .mapToObj(i -> new Employee(UUID.randomUUID().toString(), "E" + i, 1000 + i, 30, "T", i + "@x.com"))
+            .toList();
+    private volatile long version = 7;
+
+    private MockEmployeeClient client(int pageSize, int partitions) {
+        WebClient web = WebClient.builder()
+                .baseUrl("http://mock/api/v1/employee")
+                .exchangeFunction(this::serve)
+                .build();
+        return new MockEmployeeClient(web, new EmployeeStreamDecoder(mapper), registry, true, pageSize, partitions);
+    }
+
+    /** Cursor of {@code roster.get(i)}: odd sequence numbers, as if every other employee had been deleted. */
+    private static long cursor(int i) {
+        return 2L * i + 1;
+    }
+
+    /** Stand-in for the mock server's GET /page. */
+    private Mono<ClientResponse> serve(ClientRequest request) {
+        pageRequests.incrementAndGet();
+        queries.add(request.url().getRawQuery());
+        String etag = "\"run-" + version + "\"";
+        if (request.headers().getIfNoneMatch().contains(etag)) {
+            return Mono.just(ClientResponse.create(HttpStatus.NOT_MODIFIED).build());
+        }
+        var params = UriComponentsBuilder.fromUri(request.url()).build().getQueryParams();
+        long from = params.containsKey("from") ? Long.parseLong(params.getFirst("from")) : Long.MIN_VALUE;
+        long after = params.containsKey("after") ? Long.parseLong(params.getFirst("after")) : Long.MIN_VALUE;
+        long to = params.containsKey("to") ? Long.parseLong(params.getFirst("to")) : Long.MAX_VALUE;
+        int limit = Integer.parseInt(params.getFirst("limit"));
+        List<Employee> page = new ArrayList<>();
+        Long next = null;
+        for (int i = 0; i < roster.size(); i++) {
+            long cursor = cursor(i);
+            if (cursor < from || cursor <= after || cursor >= to) {
+                continue;
+            }
+            if (page.size() == limit) {
+                next = cursor(i - 1);
+                break;
+            }
+            page.add(roster.get(i));
+        }
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("employees", page);
+        data.put("next_cursor", next);
+        data.put("last_cursor", cursor(roster.size() - 1));
+        data.put("version", version);
+        try {
+            return Mono.just(ClientResponse.create(HttpStatus.OK)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .header(HttpHeaders.ETAG, etag)
+                    .body(mapper.writeValueAsString(Map.of("data", data, "status", "ok")))
+                    .build());
+        } catch (Exception ex) {
+            return Mono.error(ex);
+        }
+    }
+
+    @Test
+    void pagedWalk_returnsWholeRosterInInsertionOrder() {
+        List<Employee> all = client(4, 1).getAll();
+
+        assertThat(all).extracting(Employee::getId).containsExactlyElementsOf(
+                roster.stream().map(Employee::getId).toList());
+        assertThat(pageRequests.get()).isEqualTo(7);
+    }
+
+    @Test
+    void pageRequests_leaveUnsetBoundsOutOfTheQuery() {
+        client(10, 1).getAll();
+
+        assertThat(queries).containsExactly(
+                "limit=10",
+                "after=" + cursor(9) + "&limit=10",
+                "after=" + cursor(19) + "&limit=10");
+    }
+
+    @Test
+    void concurrentPartitions_coverEveryEmployeeOnce() {
+        List<Employee> all = client(3, 4).getAll();
+
+        assertThat(all).extracting(Employee::getId).containsExactlyElementsOf(
+                roster.stream().map(Employee::getId).toList());
+    }
+
+    @Test
+    void unchangedRoster_isRevalidatedWithOneRequest() {
+        var client = client(4, 2);
+        List<Employee> first = client.getAll();
+        pageRequests.set(0);
+
+        List<Employee> second = client.getAll();
+
+        assertThat(second).isSameAs(first);
+        assertThat(pageRequests.get()).isEqualTo(1);
+        assertThat(registry.get("employee.client.roster.fetches").tag("result", "full").counter().count())
+                .isEqualTo(1);
+        assertThat(registry.get("employee.client.roster.fetches").tag("result", "not_modified").counter().count())
+                .isEqualTo(1);
+
+        version++;
+        assertThat(client.getAll()).isNotSameAs(first).hasSize(roster.size());
+    }
+
+    @Test
+    void downstreamCalls_areTimedWithPercentileHistograms() {
+        client(4, 1).getAll();
+
+        var timer = registry.get("employee.client.requests")
+                .tags("operation", "getAll", "outcome", "success")
+                .timer();
+        assertThat(timer.count()).isEqualTo(1);
+        assertThat(timer.takeSnapshot().histogramCounts()).isNotEmpty();
+    }
+
+    @Test
+    void streamPaged_emitsTheRosterInInsertionOrder_andIsTimed() {
+        List<Employee> streamed = client(4, 1).streamPaged(4).collectList().block();
+
+        assertThat(streamed).extracting(Employee::getId).containsExactlyElementsOf(
+                roster.stream().map(Employee::getId).toList());
+        assertThat(registry.get("employee.client.requests")
+                        .tags("operation", "streamPaged", "outcome", "success")
+                        .timer()
+                        .count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void streamPaged_failsAsDownstreamUnavailable() {
+        WebClient web = WebClient.builder()
+                .baseUrl("http://mock/api/v1/employee")
+                .exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).build()))
+                .build();
+        var client = new MockEmployeeClient(web, new EmployeeStreamDecoder(mapper), registry, true, 4, 1);
+
+        assertThatThrownBy(() -> client.streamPaged(4).blockLast())
+                .isInstanceOf(DownstreamUnavailableException.class);
+        assertThat(registry.get("employee.client.requests")
+                        .tags("operation", "streamPaged", "outcome", "error")
+                        .timer()
+                        .count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void streamAll_emitsTheRosterAsDecoded_andIsTimed() throws Exception {
+        String body = mapper.writeValueAsString(Map.of("data", roster, "status", "ok"));
+        WebClient web = WebClient.builder()
+                .baseUrl("http://mock/api/v1/employee")
+                .exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.OK)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .body(body)
+                        .build()))
+                .build();
+        var client = new MockEmployeeClient(web, new EmployeeStreamDecoder(mapper), registry, true, 4, 1);
+
+        assertThat(client.streamAll().collectList().block()).containsExactlyElementsOf(roster);
+        assertThat(registry.get("employee.client.requests")
+                        .tags("operation", "streamAll", "outcome", "success")
+                        .timer()
+                        .count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void streamAll_failsAsDownstreamUnavailable() {
+        WebClient web = WebClient.builder()
+                .baseUrl("http://mock/api/v1/employee")
+                .exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).build()))
+                .build();
+        var client = new MockEmployeeClient(web, new EmployeeStreamDecoder(mapper), registry, true, 4, 1);
+
+        assertThatThrownBy(() -> client.streamAll().blockLast()).isInstanceOf(DownstreamUnavailableException.class);
+        assertThat(registry.get("employee.client.requests")
+                        .tags("operation", "streamAll", "outcome", "error")
+                        .timer()
+                        .count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void failedLookups_areTaggedByOutcome_andSwallowedFailuresCountedAsFallbacks() {
+        WebClient web = WebClient.builder()
+                .baseUrl("http://mock/api/v1/employee")
+                .exchangeFunction(request -> switch (request.url().getPath()) {
+                    case "/api/v1/employee/missing" -> Mono.just(ClientResponse.create(HttpStatus.NOT_FOUND).build());
+                    case "/api/v1/employee/throttled" -> Mono.error(
+                            DownstreamUnavailableException.rateLimited("throttled", null));
+                    default -> Mono.just(ClientResponse.create(HttpStatus.INTERNAL_SERVER_ERROR).build());
+                })
+                .build();
+        var client = new MockEmployeeClient(web, new EmployeeStreamDecoder(mapper), registry, true, 4, 1);
+
+        assertThat(client.getById("missing")).isNull();
+        assertThat(client.getById("broken")).isNull();
+        assertThatThrownBy(() -> client.getById("throttled")).isInstanceOf(DownstreamUnavailableException.class);
+
+        for (String outcome : List.of("404", "error", "429")) {
+            assertThat(registry.get("employee.client.requests")
+                            .tags("operation", "getById", "outcome", outcome)
+                            .timer()
+                            .count())
+                    .as(outcome)
+                    .isEqualTo(1);
+        }
+        assertThat(registry.get("employee.client.fallbacks").tag("operation", "getById").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void cursorRanges_splitTheRestOfTheWalkContiguously() {
+        List<Long[]> ranges = MockEmployeeClient.cursorRanges(10, 50, 4);
+
+        assertThat(ranges).hasSize(4);
+        assertThat(ranges.get(0)).containsExactly(11L, 21L);
+        assertThat(ranges.get(1)).containsExactly(21L, 31L);
+        assertThat(ranges.get(2)).containsExactly(31L, 41L);
+        assertThat(ranges.get(3)).containsExactly(41L, null);
+        assertThat(MockEmployeeClient.cursorRanges(10, 12, 4)).hasSize(2);
+    }
+}
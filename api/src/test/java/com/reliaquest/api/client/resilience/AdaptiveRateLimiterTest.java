@@ -0,0 +1,107 @@
+package com.reliaquest.api.client.resilience;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+class AdaptiveRateLimiterTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    private AdaptiveRateLimiter limiter(double rate, double burst) {
+        return new AdaptiveRateLimiter(true, rate, burst, 0.5, Duration.ofMillis(500), Duration.ofSeconds(30),
+                Duration.ofMinutes(2), nanos::get, new SimpleMeterRegistry());
+    }
+
+    private void advance(Duration d) {
+        nanos.addAndGet(d.toNanos());
+    }
+
+    @Test
+    void burstIsGranted_thenCallsQueueUntilTheQueueTimeout() {
+        var limiter = limiter(4, 2);
+
+        assertThat(limiter.reserve()).isZero();
+        assertThat(limiter.reserve()).isZero();
+        assertThat(limiter.reserve()).isEqualTo(Duration.ofMillis(250).toNanos());
+        assertThat(limiter.reserve()).isEqualTo(Duration.ofMillis(500).toNanos());
+        assertThat(limiter.reserve()).as("would wait 750ms").isNegative();
+
+        advance(Duration.ofSeconds(1));
+        assertThat(limiter.reserve()).isZero();
+    }
+
+    @Test
+    void throttle_blocksForLearnedBackoff_andShrinksBurstToObservedBudget() {
+        var limiter = limiter(20, 20);
+        for (int i = 0; i < 6; i++) {
+            assertThat(limiter.reserve()).isZero();
+            limiter.onSuccess();
+        }
+
+        assertThat(limiter.onThrottled(null)).isEqualTo(Duration.ofSeconds(30));
+        assertThat(limiter.currentBurst()).isEqualTo(6);
+        assertThat(limiter.currentRate()).isEqualTo(6 / 30.0);
+        assertThat(limiter.reserve()).isEqualTo(-Duration.ofSeconds(30).toNanos());
+
+        advance(Duration.ofSeconds(30));
+        for (int i = 0; i < 6; i++) {
+            assertThat(limiter.reserve()).isZero();
+        }
+        assertThat(limiter.reserve()).as("budget used up").isNegative();
+    }
+
+    @Test
+    void throttleRightAfterBackoff_doublesIt_untilMax() {
+        var limiter = limiter(20, 20);
+        limiter.onSuccess();
+        assertThat(limiter.onThrottled(null)).isEqualTo(Duration.ofSeconds(30));
+
+        advance(Duration.ofSeconds(30));
+        assertThat(limiter.onThrottled(null)).isEqualTo(Duration.ofSeconds(60));
+        advance(Duration.ofSeconds(60));
+        assertThat(limiter.onThrottled(null)).isEqualTo(Duration.ofMinutes(2));
+        advance(Duration.ofMinutes(2));
+        assertThat(limiter.onThrottled(null)).isEqualTo(Duration.ofMinutes(2));
+
+        advance(Duration.ofMinutes(2));
+        limiter.onSuccess();
+        assertThat(limiter.onThrottled(null)).as("probe succeeded, keep learned backoff")
+                .isEqualTo(Duration.ofMinutes(2));
+    }
+
+    @Test
+    void retryAfterHeader_takesPrecedence() {
+        var limiter = limiter(20, 20);
+        assertThat(limiter.onThrottled(AdaptiveRateLimiter.parseRetryAfter("7"))).isEqualTo(Duration.ofSeconds(7));
+        assertThat(limiter.reserve()).isEqualTo(-Duration.ofSeconds(7).toNanos());
+        advance(Duration.ofSeconds(7));
+        assertThat(limiter.reserve()).isZero();
+    }
+
+    @Test
+    void successesGrowRateAndBurstBackAdditively() {
+        var limiter = limiter(20, 20);
+        limiter.onSuccess();
+        limiter.onSuccess();
+        limiter.onThrottled(Duration.ofSeconds(10));
+        assertThat(limiter.currentBurst()).isEqualTo(2);
+
+        limiter.onSuccess();
+        limiter.onSuccess();
+        assertThat(limiter.currentBurst()).isEqualTo(3);
+        assertThat(limiter.currentRate()).isCloseTo(1.2, within(1e-9));
+    }
+
+    @Test
+    void parseRetryAfter_acceptsSecondsAndHttpDates() {
+        assertThat(AdaptiveRateLimiter.parseRetryAfter(null)).isNull();
+        assertThat(AdaptiveRateLimiter.parseRetryAfter("garbage")).isNull();
+        assertThat(AdaptiveRateLimiter.parseRetryAfter(" 12 ")).isEqualTo(Duration.ofSeconds(12));
+        assertThat(AdaptiveRateLimiter.parseRetryAfter("Wed, 21 Oct 2015 07:28:00 GMT")).isEqualTo(Duration.ZERO);
+    }
+}
@@ -0,0 +1,67 @@
+package com.reliaquest.api.client.resilience;
+
+import com.reliaquest.api.client.DownstreamUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.*;
+
+class BulkheadFilterTest {
+
+    private final List<String> endpoints = new CopyOnWriteArrayList<>();
+    private final Sinks.Empty<Void> pagesAnswered = Sinks.empty();
+    private final BulkheadFilter bulkhead = new BulkheadFilter(true, 1, new SimpleMeterRegistry());
+    private final WebClient web = WebClient.builder()
+            .baseUrl("http://mock/api/v1/employee")
+            .filter(bulkhead)
+            .exchangeFunction(request -> {
+                endpoints.add(BulkheadFilter.endpoint(request));
+                Mono<ClientResponse> ok = Mono.just(ClientResponse.create(HttpStatus.OK).build());
+                return request.url().getPath().endsWith("/page") ? pagesAnswered.asMono().then(ok) : ok;
+            })
+            .build();
+
+    @Test
+    void endpoint_isTheMethodAndPathWithoutQuery_withTemplateVariablesKept() {
+        pagesAnswered.tryEmitEmpty();
+
+        call(web.get().uri(uri -> uri.path("/page").queryParam("limit", 10).build()));
+        call(web.get().uri(uri -> uri.path("/page").queryParam("after", 10).queryParam("limit", 10).build()));
+        call(web.get().uri("/changes?since={since}&limit={limit}", 3, 100));
+        call(web.get().uri("/{id}", "4f1c2a90-0000-0000-0000-000000000001"));
+        call(web.get());
+
+        assertThat(endpoints).containsExactly(
+                "GET /api/v1/employee/page",
+                "GET /api/v1/employee/page",
+                "GET /api/v1/employee/changes",
+                "GET /api/v1/employee/{id}",
+                "GET /api/v1/employee");
+    }
+
+    @Test
+    void aFullEndpoint_rejectsFurtherCalls_butNotCallsToOtherEndpoints() {
+        web.get().uri(uri -> uri.path("/page").build()).retrieve().toBodilessEntity().subscribe();
+        assertThat(bulkhead.active("GET /api/v1/employee/page")).isEqualTo(1);
+
+        assertThatThrownBy(() -> call(web.get().uri(uri -> uri.path("/page").queryParam("after", 5).build())))
+                .isInstanceOf(DownstreamUnavailableException.class);
+        assertThatCode(() -> call(web.get().uri("/changes?since={since}&limit={limit}", 0, 100)))
+                .doesNotThrowAnyException();
+
+        pagesAnswered.tryEmitEmpty();
+        assertThat(bulkhead.active("GET /api/v1/employee/page")).isZero();
+    }
+
+    private static void call(WebClient.RequestHeadersSpec<?> request) {
+        request.retrieve().toBodilessEntity().block();
+    }
+}
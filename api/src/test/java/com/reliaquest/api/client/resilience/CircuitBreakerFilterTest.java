@@ -0,0 +1,87 @@
+package com.reliaquest.api.client.resilience;
+
+import com.reliaquest.api.client.DownstreamUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CircuitBreakerFilterTest {
+
+    private static final ClientRequest GET = ClientRequest.create(HttpMethod.GET, URI.create("http://mock/")).build();
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final AtomicReference<HttpStatus> status = new AtomicReference<>(HttpStatus.OK);
+    private final AtomicInteger calls = new AtomicInteger();
+    private final ExchangeFunction server = req -> {
+        calls.incrementAndGet();
+        return Mono.just(ClientResponse.create(status.get()).build());
+    };
+    private final CircuitBreakerFilter breaker = new CircuitBreakerFilter(
+            true, 4, 4, 0.5, Duration.ofSeconds(10), 2, nanos::get, new SimpleMeterRegistry());
+
+    private HttpStatus call() {
+        return breaker.filter(GET, server).map(ClientResponse::statusCode).map(s -> HttpStatus.valueOf(s.value()))
+                .block();
+    }
+
+    @Test
+    void opensAtFailureRate_andFailsFastWithoutCallingServer() {
+        call();
+        call();
+        status.set(HttpStatus.INTERNAL_SERVER_ERROR);
+        call();
+        assertThat(breaker.state()).isEqualTo(CircuitBreakerFilter.State.CLOSED);
+        call();
+        assertThat(breaker.state()).isEqualTo(CircuitBreakerFilter.State.OPEN);
+
+        int before = calls.get();
+        assertThatThrownBy(this::call)
+                .isInstanceOf(DownstreamUnavailableException.class)
+                .satisfies(ex -> assertThat(((DownstreamUnavailableException) ex).getRetryAfter())
+                        .contains(Duration.ofSeconds(10)));
+        assertThat(calls.get()).isEqualTo(before);
+    }
+
+    @Test
+    void halfOpen_closesAfterSuccessfulProbes_orReopensOnFailure() {
+        status.set(HttpStatus.BAD_GATEWAY);
+        for (int i = 0; i < 4; i++) {
+            call();
+        }
+        assertThat(breaker.state()).isEqualTo(CircuitBreakerFilter.State.OPEN);
+
+        nanos.addAndGet(Duration.ofSeconds(10).toNanos());
+        call();
+        assertThat(breaker.state()).as("failed probe").isEqualTo(CircuitBreakerFilter.State.OPEN);
+
+        nanos.addAndGet(Duration.ofSeconds(10).toNanos());
+        status.set(HttpStatus.OK);
+        call();
+        assertThat(breaker.state()).isEqualTo(CircuitBreakerFilter.State.HALF_OPEN);
+        call();
+        assertThat(breaker.state()).isEqualTo(CircuitBreakerFilter.State.CLOSED);
+    }
+
+    @Test
+    void rejectionsFromFurtherDown_areNotCounted() {
+        ExchangeFunction shedding = req -> Mono.error(new DownstreamUnavailableException("shed", null));
+        for (int i = 0; i < 10; i++) {
+            assertThatThrownBy(() -> breaker.filter(GET, shedding).block())
+                    .isInstanceOf(DownstreamUnavailableException.class);
+        }
+        assertThat(breaker.state()).isEqualTo(CircuitBreakerFilter.State.CLOSED);
+    }
+}
@@ -0,0 +1,72 @@
+package com.reliaquest.api.client.resilience;
+
+import com.reliaquest.api.client.DownstreamUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+class RetryFilterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final RetryFilter retry = new RetryFilter(true, 2, Duration.ofMillis(1), Duration.ofMillis(5), 0.5,
+            Set.of(HttpMethod.GET), Set.of(503), registry);
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private static ClientRequest request(HttpMethod method) {
+        return ClientRequest.create(method, URI.create("http://mock/")).build();
+    }
+
+    private ExchangeFunction failingTimes(int failures) {
+        return req -> Mono.fromSupplier(() -> ClientResponse.create(
+                calls.incrementAndGet() <= failures ? HttpStatus.SERVICE_UNAVAILABLE : HttpStatus.OK).build());
+    }
+
+    @Test
+    void retriesGatewayStatus_untilSuccess() {
+        ClientResponse response = retry.filter(request(HttpMethod.GET), failingTimes(2)).block(Duration.ofSeconds(5));
+
+        assertThat(response.statusCode().value()).isEqualTo(200);
+        assertThat(calls.get()).isEqualTo(3);
+        assertThat(registry.get("employee.client.retry.attempts").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void exhaustedRetries_failAsUnavailable() {
+        assertThatThrownBy(() -> retry.filter(request(HttpMethod.GET), failingTimes(5)).block(Duration.ofSeconds(5)))
+                .isInstanceOf(DownstreamUnavailableException.class);
+        assertThat(calls.get()).isEqualTo(3);
+    }
+
+    @Test
+    void writesAreNotRetried() {
+        ClientResponse response = retry.filter(request(HttpMethod.POST), failingTimes(1)).block(Duration.ofSeconds(5));
+
+        assertThat(response.statusCode().value()).isEqualTo(503);
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectionsAreNotRetried() {
+        ExchangeFunction shedding = req -> Mono.defer(() -> {
+            calls.incrementAndGet();
+            return Mono.error(new DownstreamUnavailableException("shed", null));
+        });
+
+        assertThatThrownBy(() -> retry.filter(request(HttpMethod.GET), shedding).block(Duration.ofSeconds(5)))
+                .isInstanceOf(DownstreamUnavailableException.class)
+                .hasMessage("shed");
+        assertThat(calls.get()).isEqualTo(1);
+    }
+}
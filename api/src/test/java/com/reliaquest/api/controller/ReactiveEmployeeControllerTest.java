@@ -0,0 +1,77 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.ReactiveEmployeeService;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@WebFluxTest(ReactiveEmployeeController.class)
+public class ReactiveEmployeeControllerTest {
+
+    @Autowired
+    private WebTestClient web;
+
+    @MockBean
+    private ReactiveEmployeeService service;
+
+    @Test
+    void getAllEmployees_ok() {
+        Mockito.when(service.getAll()).thenReturn(Mono.just(List.of(
+                new Employee("1","A",100,30,"T","a@x.com"),
+                new Employee("2","B",200,40,"T2","b@x.com")
+        )));
+
+        web.get().uri("/employees").exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists("X-Request-Id")
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].employee_name").isEqualTo("A");
+    }
+
+    @Test
+    void getById_found_and_notFound() {
+        Mockito.when(service.getById("abc")).thenReturn(Mono.just(new Employee("abc","Alex",100,20,"Dev","a@x.com")));
+        Mockito.when(service.getById("nope")).thenReturn(Mono.empty());
+
+        web.get().uri("/employees/abc").exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.id").isEqualTo("abc");
+        web.get().uri("/employees/nope").exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void highestSalary_ok() {
+        Mockito.when(service.highestSalary()).thenReturn(Mono.just(320800));
+        web.get().uri("/employees/highestSalary").exchange()
+                .expectStatus().isOk()
+                .expectBody(Integer.class).isEqualTo(320800);
+    }
+
+    @Test
+    void create_invalidBody_returns400() {
+        web.post().uri("/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"salary\":0,\"age\":15}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.error").isEqualTo("Validation failed");
+    }
+
+    @Test
+    void delete_notFound_returns404() {
+        Mockito.when(service.deleteByIdReturnName("nope"))
+                .thenReturn(Mono.error(new IllegalArgumentException("Employee not found for id=nope")));
+        web.delete().uri("/employees/nope").exchange()
+                .expectStatus().isNotFound();
+    }
+}
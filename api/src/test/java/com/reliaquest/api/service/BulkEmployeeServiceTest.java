@@ -0,0 +1,90 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.cache.EmployeeRosterCache;
+import com.reliaquest.api.client.DownstreamUnavailableException;
+import com.reliaquest.api.client.MockEmployeeClient;
+import com.reliaquest.api.model.BulkItemResult;
+import com.reliaquest.api.model.CreateEmployeeRequest;
+import com.reliaquest.api.model.Employee;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class BulkEmployeeServiceTest {
+
+    private static final Employee A = new Employee("1", "A", 100, 30, "T", "a@x.com");
+    private static final Employee B = new Employee("2", "B", 200, 40, "T", "b@x.com");
+
+    private final MockEmployeeClient client = mock(MockEmployeeClient.class);
+    private final EmployeeRosterCache cache = new EmployeeRosterCache(client, Duration.ofMinutes(1), Duration.ZERO, 10);
+
+    private BulkEmployeeService service(int chunkSize) {
+        return new BulkEmployeeService(
+                client, cache, Validation.buildDefaultValidatorFactory().getValidator(), chunkSize);
+    }
+
+    private static CreateEmployeeRequest request(String name) {
+        return new CreateEmployeeRequest(name, 1000, 30, "T");
+    }
+
+    @Test
+    void createAll_sendsValidItemsInChunks_andMapsResultsBackToRequestOrder() {
+        when(client.getAll()).thenReturn(List.of());
+        cache.snapshot();
+        when(client.createBatchAsync(anyList())).thenAnswer(inv -> {
+            List<CreateEmployeeRequest> chunk = inv.getArgument(0);
+            return Mono.just(IntStream.range(0, chunk.size())
+                    .mapToObj(i -> new BulkItemResult(i, BulkItemResult.CREATED,
+                            new Employee("id-" + chunk.get(i).getName(), chunk.get(i).getName(), 1000, 30, "T", null),
+                            null))
+                    .toList());
+        });
+
+        List<BulkItemResult> results = service(2)
+                .createAll(List.of(request("a"), request(""), request("b"), request("c")))
+                .block();
+
+        assertThat(results).extracting(BulkItemResult::getIndex).containsExactly(0, 1, 2, 3);
+        assertThat(results).extracting(BulkItemResult::getStatus).containsExactly(
+                BulkItemResult.CREATED, BulkItemResult.INVALID, BulkItemResult.CREATED, BulkItemResult.CREATED);
+        assertThat(results.get(1).getError()).contains("name");
+        assertThat(results.get(2).getEmployee().getName()).isEqualTo("b");
+        verify(client, times(2)).createBatchAsync(anyList());
+        assertThat(cache.peek().orElseThrow().employees()).extracting(Employee::getName).containsExactly("a", "b", "c");
+    }
+
+    @Test
+    void failedChunk_marksItsItemsFailed_andLaterChunksStillRun() {
+        when(client.deleteBatchAsync(anyList()))
+                .thenReturn(Mono.error(new DownstreamUnavailableException("rate limited", null)))
+                .thenReturn(Mono.just(List.of(new BulkItemResult(0, BulkItemResult.NOT_FOUND, null, null))));
+
+        List<BulkItemResult> results = service(2).deleteAllById(List.of("x", "y", "z")).block();
+
+        assertThat(results).extracting(BulkItemResult::getStatus).containsExactly(
+                BulkItemResult.FAILED, BulkItemResult.FAILED, BulkItemResult.NOT_FOUND);
+        assertThat(results.get(2).getIndex()).isEqualTo(2);
+    }
+
+    @Test
+    void deleteAllById_appliesDeletesToCacheInOneWriteThrough() {
+        when(client.getAll()).thenReturn(List.of(A, B));
+        long before = cache.snapshot().version();
+        when(client.deleteBatchAsync(List.of("1", "2"))).thenReturn(Mono.just(List.of(
+                new BulkItemResult(0, BulkItemResult.DELETED, A, null),
+                new BulkItemResult(1, BulkItemResult.DELETED, B, null))));
+
+        service(10).deleteAllById(List.of("1", "2")).block();
+
+        assertThat(cache.peek().orElseThrow().employees()).isEmpty();
+        assertThat(cache.peek().orElseThrow().version()).isEqualTo(before + 1);
+    }
+}
@@ -1,9 +1,15 @@
 package com.reliaquest.api.service;
 
+import com.reliaquest.api.cache.EmployeeRosterCache;
+import com.reliaquest.api.client.EmployeeLookupCoalescer;
 import com.reliaquest.api.client.MockEmployeeClient;
+import com.reliaquest.api.model.CreateEmployeeRequest;
 import com.reliaquest.api.model.Employee;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.*;
@@ -11,26 +17,76 @@ import static org.mockito.Mockito.*;
 
 public class EmployeeServiceTest {
 
+    private static EmployeeService service(MockEmployeeClient client) {
+        return service(client, new EmployeeRosterCache(client, Duration.ZERO, Duration.ZERO, 10));
+    }
+
+    private static EmployeeService service(MockEmployeeClient client, EmployeeRosterCache cache) {
+        return service(client, cache, true);
+    }
+
+    private static EmployeeService service(MockEmployeeClient client, EmployeeRosterCache cache, boolean deleteById) {
+        var lookups = new EmployeeLookupCoalescer(client, cache, Duration.ZERO, 4, new SimpleMeterRegistry());
+        return new EmployeeService(client, cache, lookups, deleteById);
+    }
+
+    @Test
+    void deleteById_isOneCall() {
+        var client = mock(MockEmployeeClient.class);
+        var svc = service(client);
+        when(client.deleteById("id-123")).thenReturn(
+                new Employee("id-123","Bill Bob",89750,24,"Documentation Engineer","billBob@company.com")
+        );
+
+        assertThat(svc.deleteByIdReturnName("id-123")).isEqualTo("Bill Bob");
+        verify(client).deleteById("id-123");
+        verifyNoMoreInteractions(client);
+    }
+
+    @Test
+    void deleteById_notFound() {
+        var client = mock(MockEmployeeClient.class);
+        var svc = service(client);
+
+        assertThatThrownBy(() -> svc.deleteByIdReturnName("nope")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void deleteByName_resolvesNameFromCachedRoster() {
+        var client = mock(MockEmployeeClient.class);
+        var cache = new EmployeeRosterCache(client, Duration.ZERO, Duration.ZERO, 10);
+        var svc = service(client, cache, false);
+        var bill = new Employee("id-123","Bill Bob",89750,24,"Documentation Engineer","billBob@company.com");
+        when(client.getAll()).thenReturn(List.of(bill));
+        when(client.deleteByName("Bill Bob")).thenReturn(true);
+        cache.snapshot();
+
+        assertThat(svc.deleteByIdReturnName("id-123")).isEqualTo("Bill Bob");
+        verify(client, never()).getById(any());
+        verify(client, never()).getByIdAsync(any());
+        verify(client).deleteByName("Bill Bob");
+    }
+
     @Test
     void deleteByIdUsesName() {
         var client = mock(MockEmployeeClient.class);
-        var svc = new EmployeeService(client);
+        var svc = service(client, new EmployeeRosterCache(client, Duration.ZERO, Duration.ZERO, 10), false);
 
-        when(client.getById("id-123")).thenReturn(
+        when(client.getByIdAsync("id-123")).thenReturn(Mono.just(
                 new Employee("id-123","Bill Bob",89750,24,"Documentation Engineer","billBob@company.com")
-        );
+        ));
         when(client.deleteByName("Bill Bob")).thenReturn(true);
 
         String result = svc.deleteByIdReturnName("id-123");
         assertThat(result).isEqualTo("Bill Bob");
-        verify(client).getById("id-123");
+        verify(client).getByIdAsync("id-123");
         verify(client).deleteByName("Bill Bob");
     }
 
     @Test
     void highestSalary_ok() {
         var client = mock(MockEmployeeClient.class);
-        var svc = new EmployeeService(client);
+        var svc = service(client);
         when(client.getAll()).thenReturn(List.of(
                 new Employee("1","A",100,30,"T","a@x.com"),
                 new Employee("2","B",320800,61,"T2","b@x.com")
@@ -41,7 +97,7 @@ public class EmployeeServiceTest {
     @Test
     void top10_ok() {
         var client = mock(MockEmployeeClient.class);
-        var svc = new EmployeeService(client);
+        var svc = service(client);
         when(client.getAll()).thenReturn(List.of(
                 new Employee("1","X",10,20,"",""),
                 new Employee("2","Y",30,20,"",""),
@@ -49,4 +105,20 @@ public class EmployeeServiceTest {
         ));
         assertThat(svc.top10NamesBySalary()).containsExactly("Y","Z","X");
     }
+
+    @Test
+    void create_isWrittenThroughToCachedRoster() {
+        var client = mock(MockEmployeeClient.class);
+        var svc = service(client, new EmployeeRosterCache(client, Duration.ofMinutes(1), Duration.ZERO, 10));
+        when(client.getAll()).thenReturn(List.of(new Employee("1","A",100,30,"T","a@x.com")));
+        var created = new Employee("2","B",500,40,"T2","b@x.com");
+        when(client.create(any())).thenReturn(created);
+
+        assertThat(svc.highestSalary()).isEqualTo(100);
+        svc.create(new CreateEmployeeRequest("B",500,40,"T2"));
+
+        assertThat(svc.highestSalary()).isEqualTo(500);
+        assertThat(svc.getAll()).extracting(Employee::getId).containsExactly("1","2");
+        verify(client, times(1)).getAll();
+    }
 }
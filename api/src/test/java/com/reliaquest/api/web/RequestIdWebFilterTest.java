@@ -0,0 +1,64 @@
+package com.reliaquest.api.web;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.*;
+
+class RequestIdWebFilterTest {
+
+    private final Logger log = (Logger) LoggerFactory.getLogger(RequestIdWebFilterTest.class);
+    private final List<String> logged = new CopyOnWriteArrayList<>();
+    private final AppenderBase<ILoggingEvent> appender = new AppenderBase<>() {
+        @Override
+        protected void append(ILoggingEvent event) {
+            logged.add(event.getMessage() + " [" + event.getMDCPropertyMap().get(RequestIdFilter.MDC_KEY) + "]");
+        }
+    };
+
+    RequestIdWebFilterTest() {
+        appender.start();
+        log.addAppender(appender);
+    }
+
+    @AfterEach
+    void detach() {
+        log.detachAppender(appender);
+    }
+
+    @Test
+    void logLinesWrittenWhileHandlingTheRequest_carryItsId_onAnotherThread_andNotAfterwards() {
+        var exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.get("/employees").header(RequestIdFilter.HDR, "req-42"));
+        var handledOn = new AtomicReference<Thread>();
+        WebFilterChain chain = ex -> Mono.just("employees")
+                .delayElement(Duration.ofMillis(5))
+                .doOnNext(body -> {
+                    handledOn.set(Thread.currentThread());
+                    log.info("answered");
+                })
+                .then();
+
+        new RequestIdWebFilter().filter(exchange, chain).block();
+        log.info("after");
+
+        assertThat(handledOn.get()).isNotSameAs(Thread.currentThread());
+        assertThat(logged).containsExactly("answered [req-42]", "after [null]");
+        assertThat(MDC.get(RequestIdFilter.MDC_KEY)).isNull();
+        assertThat(exchange.getResponse().getHeaders().getFirst(RequestIdFilter.HDR)).isEqualTo("req-42");
+    }
+}
@@ -0,0 +1,88 @@
+package com.reliaquest.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.cache.EmployeeRosterCache;
+import com.reliaquest.api.client.EmployeeLookupCoalescer;
+import com.reliaquest.api.client.EmployeeStreamDecoder;
+import com.reliaquest.api.client.MockEmployeeClient;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.EmployeeService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * Read paths of {@link EmployeeService} against a warm roster cache, i.e. the steady state of the api:
+ * no network I/O, only the snapshot's read models. The roster is fetched once per trial from an
+ * in-memory client.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EmployeeServiceBenchmark {
+
+    @Param({"20", "1000", "100000", "1000000"})
+    int size;
+
+    /** Matches about one employee in twenty (one first name of twenty). */
+    @Param({"tiger"})
+    String fragment;
+
+    private EmployeeService service;
+
+    @Setup
+    public void setUp() {
+        MockEmployeeClient client = new InMemoryClient(Rosters.employees(size));
+        EmployeeRosterCache cache = new EmployeeRosterCache(client, Duration.ofDays(1), Duration.ZERO, 10);
+        EmployeeLookupCoalescer lookups =
+                new EmployeeLookupCoalescer(client, cache, Duration.ZERO, 4, new SimpleMeterRegistry());
+        service = new EmployeeService(client, cache, lookups, true);
+        cache.snapshot();
+    }
+
+    @Benchmark
+    public List<Employee> searchByName() {
+        return service.searchByName(fragment);
+    }
+
+    @Benchmark
+    public Integer highestSalary() {
+        return service.highestSalary();
+    }
+
+    @Benchmark
+    public List<String> top10NamesBySalary() {
+        return service.top10NamesBySalary();
+    }
+
+    /** Serves the roster from memory; nothing else is called on the read paths. */
+    private static final class InMemoryClient extends MockEmployeeClient {
+        private final List<Employee> roster;
+
+        InMemoryClient(List<Employee> roster) {
+            super(
+                    WebClient.create("http://localhost"),
+                    new EmployeeStreamDecoder(new ObjectMapper()),
+                    new SimpleMeterRegistry(),
+                    true,
+                    1000,
+                    1);
+            this.roster = roster;
+        }
+
+        @Override
+        public List<Employee> getAll() {
+            return roster;
+        }
+    }
+}
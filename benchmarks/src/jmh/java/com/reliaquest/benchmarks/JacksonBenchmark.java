@@ -0,0 +1,78 @@
+package com.reliaquest.benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.reliaquest.api.model.ApiResponse;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.Response;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Serialization of the roster on both sides of the wire: the server encodes
+ * {@code Response<List<MockEmployee>>}, whose field names come from {@code MockEmployee.PrefixNamingStrategy},
+ * and the api decodes it as {@code ApiResponse<List<Employee>>}, whose names come from {@code @JsonProperty};
+ * the api's encoding of its own model is measured as well. {@code MockEmployee} is only ever written (it has no
+ * creator Jackson could read it with). Readers and writers are built once, as Spring's codecs do.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JacksonBenchmark {
+
+    @Param({"20", "1000", "100000"})
+    int size;
+
+    private ObjectWriter mockRosterWriter;
+    private ObjectWriter rosterWriter;
+    private ObjectReader rosterReader;
+    private Response<List<MockEmployee>> mockRoster;
+    private ApiResponse<List<Employee>> roster;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        TypeReference<Response<List<MockEmployee>>> mockType = new TypeReference<>() {};
+        TypeReference<ApiResponse<List<Employee>>> apiType = new TypeReference<>() {};
+        mockRosterWriter = mapper.writerFor(mockType);
+        rosterWriter = mapper.writerFor(apiType);
+        rosterReader = mapper.readerFor(apiType);
+
+        mockRoster = Response.handledWith(Rosters.mockEmployees(size));
+        json = mockRosterWriter.writeValueAsBytes(mockRoster);
+        roster = rosterReader.readValue(json);
+        if (roster.getData().size() != size || roster.getData().get(0).getName() == null) {
+            throw new IllegalStateException("api model does not read the server's roster");
+        }
+    }
+
+    /** Server: encode the roster response ({@code GET /api/v1/employee}). */
+    @Benchmark
+    public byte[] encodeMockEmployees() throws IOException {
+        return mockRosterWriter.writeValueAsBytes(mockRoster);
+    }
+
+    /** Api: decode the roster response into its own model. */
+    @Benchmark
+    public ApiResponse<List<Employee>> decodeApiResponse() throws IOException {
+        return rosterReader.readValue(json);
+    }
+
+    @Benchmark
+    public byte[] encodeApiResponse() throws IOException {
+        return rosterWriter.writeValueAsBytes(roster);
+    }
+}
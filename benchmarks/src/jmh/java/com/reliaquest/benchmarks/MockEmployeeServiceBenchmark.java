@@ -0,0 +1,98 @@
+package com.reliaquest.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.store.EmployeeStore;
+import jakarta.validation.Validation;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import net.datafaker.Faker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Lookups and deletes of the mock server's {@link MockEmployeeService} over its in-memory store.
+ * <p>
+ * The delete benchmarks put the employee back straight after removing it, so the roster keeps its size
+ * across iterations; their figures include that one insert. Employees are visited round-robin.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MockEmployeeServiceBenchmark {
+
+    @Param({"20", "1000", "100000", "1000000"})
+    int size;
+
+    private MockEmployeeService service;
+    private EmployeeStore store;
+    private MockEmployee[] employees;
+    private UUID[] ids;
+    private DeleteMockEmployeeInput[] deletes;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        List<MockEmployee> roster = Rosters.mockEmployees(size);
+        store = new EmployeeStore(roster, 10_000);
+        service = new MockEmployeeService(
+                new Faker(Locale.ROOT),
+                store,
+                new ObjectMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator());
+        employees = roster.toArray(MockEmployee[]::new);
+        ids = roster.stream().map(MockEmployee::getId).toArray(UUID[]::new);
+        deletes = roster.stream()
+                .map(e -> {
+                    DeleteMockEmployeeInput input = new DeleteMockEmployeeInput();
+                    input.setName(e.getName());
+                    return input;
+                })
+                .toArray(DeleteMockEmployeeInput[]::new);
+    }
+
+    private int next() {
+        int i = next;
+        next = i + 1 == size ? 0 : i + 1;
+        return i;
+    }
+
+    @Benchmark
+    public Optional<MockEmployee> findById() {
+        return service.findById(ids[next()]);
+    }
+
+    @Benchmark
+    public Optional<MockEmployee> findById_missing() {
+        return service.findById(new UUID(next(), 0));
+    }
+
+    /** {@code DELETE /api/v1/employee} with a name, the mock API's original delete. */
+    @Benchmark
+    public boolean deleteByName() {
+        int i = next();
+        boolean deleted = service.delete(deletes[i]);
+        store.add(employees[i]);
+        return deleted;
+    }
+
+    /** {@code DELETE /api/v1/employee/{id}}. */
+    @Benchmark
+    public Optional<MockEmployee> deleteById() {
+        int i = next();
+        Optional<MockEmployee> deleted = service.deleteById(ids[i]);
+        store.add(employees[i]);
+        return deleted;
+    }
+}
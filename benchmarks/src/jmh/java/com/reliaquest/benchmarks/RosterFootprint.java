@@ -0,0 +1,50 @@
+package com.reliaquest.benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.cache.RosterColumns;
+import com.reliaquest.api.model.ApiResponse;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.Response;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.openjdk.jol.info.GraphLayout;
+
+/**
+ * Retained heap per employee of a roster as the api decodes it ({@code List<Employee>} plus a map by id, what
+ * the roster cache used to hold) and as {@link RosterColumns}, measured with JOL. Not a JMH benchmark: run
+ * it with {@code ./gradlew benchmarks:footprint}, optionally {@code -Psizes=1000,100000}.
+ * <p>
+ * The roster is written by the server's model and read back by the api's, as on the wire, so every string
+ * is its own instance, as it is after a real fetch. For the benchmark roster (36-character ids, names of
+ * about 17 and emails of about 23 characters) the columns take about 95 bytes per employee against about
+ * 320, a 3.3x reduction.
+ */
+public final class RosterFootprint {
+
+    private RosterFootprint() {}
+
+    public static void main(String[] args) throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        TypeReference<Response<List<MockEmployee>>> mockType = new TypeReference<>() {};
+        TypeReference<ApiResponse<List<Employee>>> apiType = new TypeReference<>() {};
+        String sizes = args.length > 0 ? args[0] : "1000,100000,1000000";
+        System.out.printf("%10s %18s %18s %8s%n", "employees", "boxed B/employee", "columns B/employee", "ratio");
+        for (String s : sizes.split(",")) {
+            int size = Integer.parseInt(s.trim());
+            byte[] json =
+                    mapper.writerFor(mockType).writeValueAsBytes(Response.handledWith(Rosters.mockEmployees(size)));
+            ApiResponse<List<Employee>> decoded = mapper.readerFor(apiType).readValue(json);
+            List<Employee> roster = decoded.getData();
+            Map<String, Employee> byId = new HashMap<>(roster.size() * 4 / 3 + 1);
+            roster.forEach(e -> byId.put(e.getId(), e));
+
+            double boxed = (double) GraphLayout.parseInstance(roster, byId).totalSize() / size;
+            double columns = (double) GraphLayout.parseInstance(RosterColumns.of(roster)).totalSize() / size;
+            System.out.printf("%10d %18.1f %18.1f %7.1fx%n", size, boxed, columns, boxed / columns);
+        }
+    }
+}
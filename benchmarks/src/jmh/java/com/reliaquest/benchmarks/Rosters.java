@@ -0,0 +1,55 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Deterministic rosters for the benchmarks: the same size and seed always give the same employees, so
+ * runs are comparable. Names are built from small word lists, so name searches hit a realistic share of
+ * the roster rather than nothing or everything.
+ */
+final class Rosters {
+
+    static final long SEED = 42;
+
+    private static final String[] FIRST = {
+        "Tiger", "Garrett", "Ashton", "Cedric", "Airi", "Brielle", "Herrod", "Rhona", "Colleen", "Sonya",
+        "Jena", "Quinn", "Charde", "Haley", "Tatyana", "Michael", "Paul", "Gloria", "Bradley", "Dai"
+    };
+    private static final String[] LAST = {
+        "Nixon", "Winters", "Cox", "Kelly", "Satou", "Williamson", "Chandler", "Davidson", "Hurst", "Frost",
+        "Gaines", "Flynn", "Marshall", "Kennedy", "Fitzpatrick", "Silva", "Byrd", "Little", "Greer", "Rios"
+    };
+    private static final String[] TITLES = {
+        "Accountant", "Architect", "Developer", "Director", "Engineer", "Manager", "Designer", "Analyst"
+    };
+
+    private Rosters() {}
+
+    static List<MockEmployee> mockEmployees(int size) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        List<MockEmployee> roster = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String name = FIRST[random.nextInt(FIRST.length)] + " " + LAST[random.nextInt(LAST.length)] + " " + i;
+            roster.add(new MockEmployee(
+                    new UUID(random.nextLong(), random.nextLong()),
+                    name,
+                    random.nextInt(30_000, 500_000),
+                    random.nextInt(16, 71),
+                    TITLES[random.nextInt(TITLES.length)],
+                    "employee" + i + "@company.com"));
+        }
+        return roster;
+    }
+
+    static List<Employee> employees(int size) {
+        return mockEmployees(size).stream()
+                .map(e -> new Employee(
+                        e.getId().toString(), e.getName(), e.getSalary(), e.getAge(), e.getTitle(), e.getEmail()))
+                .toList();
+    }
+}
@@ -0,0 +1,32 @@
+package com.reliaquest.loadtest;
+
+/** The seven routes of {@code IEmployeeController}, by the names used in the {@code mix} option. */
+enum Endpoint {
+    GET_ALL("getAll"),
+    SEARCH("search"),
+    GET_BY_ID("getById"),
+    HIGHEST_SALARY("highestSalary"),
+    TOP10("top10"),
+    CREATE("create"),
+    DELETE("delete");
+
+    private final String key;
+
+    Endpoint(String key) {
+        this.key = key;
+    }
+
+    String key() {
+        return key;
+    }
+
+    static Endpoint of(String key) {
+        for (Endpoint endpoint : values()) {
+            if (endpoint.key.equalsIgnoreCase(key)) {
+                return endpoint;
+            }
+        }
+        throw new IllegalArgumentException("Unknown endpoint '" + key + "'; expected one of getAll, search, "
+                + "getById, highestSalary, top10, create, delete");
+    }
+}
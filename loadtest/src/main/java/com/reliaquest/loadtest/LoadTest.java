@@ -0,0 +1,232 @@
+package com.reliaquest.loadtest;
+
+import java.io.File;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * End-to-end load test of the api against the real mock server.
+ * <p>
+ * Boots the mock server and the api from their boot jars on local ports, with the api pointed at the
+ * server, reads the roster once, then drives the api's seven endpoints in the configured mix at a fixed
+ * request rate with an {@link OpenLoopDriver open-loop} schedule: first for {@code warmup} (discarded),
+ * then for {@code duration}. Prints a latency table and writes HdrHistogram percentile distributions
+ * ({@code .hgrm}) per endpoint to {@code build/reports/loadtest/<timestamp>}.
+ * <pre>
+ * ./gradlew loadtest:loadTest -PloadArgs="rps=500 duration=60s"
+ * ./gradlew loadtest:loadTest -PloadArgs="rps=50 request-limit=20/10s mix=getAll:1,getById:4,create:1,delete:1"
+ * ./gradlew loadtest:loadTest -PloadArgs="api.url=http://localhost:8111 rps=200"   # an api already running
+ * ./gradlew -PjavaVersion=21 loadtest:loadTest -PloadArgs="threads=platform,virtual rps=2000 mix=getById:1"
+ * </pre>
+ * With {@code threads}, one api is booted per thread mode in turn, against the same mock server, and each
+ * is driven with the same schedule; the totals of the runs are printed one under the other at the end.
+ *
+ * <p>Options ({@code key=value}):
+ * <ul>
+ *   <li>{@code rps} (default 200), {@code duration} (60s), {@code warmup} (15s)</li>
+ *   <li>{@code mix} – endpoint weights, default
+ *       {@code getAll:10,search:15,getById:40,highestSalary:10,top10:10,create:10,delete:5}</li>
+ *   <li>{@code employees} (1000) – size of the seeded roster</li>
+ *   <li>{@code request-limit} – the mock server's random 429s: {@code off} (default), {@code on} (random
+ *       limits as in normal runs) or {@code <requests>/<backoff>}, e.g. {@code 20/10s}</li>
+ *   <li>{@code max-in-flight} (2000) – outstanding requests beyond which due requests are dropped</li>
+ *   <li>{@code seed} (42) – seed of the request sequence</li>
+ *   <li>{@code api.url} – drive a running api instead of booting both applications</li>
+ *   <li>{@code threads} – compare request handling on {@code platform} and {@code virtual} threads
+ *       ({@code spring.threads.virtual.enabled}), e.g. {@code platform,virtual}; virtual threads need a
+ *       Java 21 runtime ({@code -PjavaVersion=21}). Reports go to a subdirectory per mode.</li>
+ *   <li>{@code server.<property>} / {@code api.<property>} – passed to that application as
+ *       {@code --<property>=<value>}</li>
+ * </ul>
+ * Application logging is set to WARN so that per-request INFO logs do not dominate the measurement.
+ */
+public final class LoadTest {
+
+    private static final int SERVER_PORT = 18112;
+    private static final int API_PORT = 18111;
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        Map<String, String> serverProps = new LinkedHashMap<>();
+        Map<String, String> apiProps = new LinkedHashMap<>();
+        for (String arg : args) {
+            String[] kv = arg.split("=", 2);
+            if (kv.length != 2) {
+                throw new IllegalArgumentException("Expected key=value but got: " + arg);
+            }
+            if (kv[0].startsWith("server.")) {
+                serverProps.put(kv[0].substring("server.".length()), kv[1]);
+            } else if (kv[0].startsWith("api.") && !kv[0].equals("api.url")) {
+                apiProps.put(kv[0].substring("api.".length()), kv[1]);
+            } else {
+                options.put(kv[0], kv[1]);
+            }
+        }
+        Plan plan = new Plan(
+                Double.parseDouble(options.getOrDefault("rps", "200")),
+                duration(options.getOrDefault("duration", "60s")),
+                duration(options.getOrDefault("warmup", "15s")),
+                Integer.parseInt(options.getOrDefault("max-in-flight", "2000")),
+                Long.parseLong(options.getOrDefault("seed", "42")),
+                Workload.parseMix(options.getOrDefault(
+                        "mix", "getAll:10,search:15,getById:40,highestSalary:10,top10:10,create:10,delete:5")));
+        List<String> threadModes = threadModes(options);
+        Path out = Path.of(System.getProperty("loadtest.out", "build/reports/loadtest"))
+                .resolve(LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")));
+        Files.createDirectories(out);
+
+        List<LocalService> services = new ArrayList<>();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> stopAll(services)));
+        try {
+            HttpClient http = HttpClient.newBuilder()
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .build();
+            String apiUrl = options.get("api.url");
+            if (apiUrl != null) {
+                measure(http, apiUrl, plan, out);
+            } else if (threadModes.isEmpty()) {
+                LocalService mock = bootServer(options, serverProps, out, services);
+                measure(http, bootApi(mock, "api", apiProps, out, services).url(), plan, out);
+            } else {
+                LocalService mock = bootServer(options, serverProps, out, services);
+                Map<String, Results> runs = new LinkedHashMap<>();
+                for (String mode : threadModes) {
+                    Map<String, String> props = new LinkedHashMap<>(apiProps);
+                    props.put("spring.threads.virtual.enabled", String.valueOf(mode.equals("virtual")));
+                    LocalService api = bootApi(mock, "api-" + mode, props, out, services);
+                    System.out.printf("%n%s threads%n", mode);
+                    runs.put(mode, measure(http, api.url(), plan, out.resolve(mode)));
+                    services.remove(api);
+                    api.close();
+                }
+                System.out.println();
+                Results.compare(System.out, runs);
+            }
+            System.out.printf("Latencies are from the scheduled start (corrected for coordinated omission); "
+                    + "svc.p99 is from the actual send.%nReports: %s%n", out);
+        } finally {
+            stopAll(services);
+        }
+    }
+
+    /** Warms up, then measures, the api at {@code apiUrl} on the schedule of {@code plan}. */
+    private static Results measure(HttpClient http, String apiUrl, Plan plan, Path out) throws Exception {
+        Workload workload = new Workload(apiUrl, plan.mix(), plan.seed());
+        workload.prime(http);
+        OpenLoopDriver driver = new OpenLoopDriver(http, workload, plan.rps(), plan.maxInFlight());
+
+        System.out.printf("Target %s: %.0f req/s, mix %s%n", apiUrl, plan.rps(), plan.mix());
+        if (!plan.warmup().isZero()) {
+            System.out.printf("Warming up for %s%n", plan.warmup());
+            driver.run(plan.warmup());
+        }
+        System.out.printf("Measuring for %s%n", plan.duration());
+        Results results = driver.run(plan.duration());
+        results.print(System.out);
+        results.write(out);
+        return results;
+    }
+
+    private static LocalService bootServer(
+            Map<String, String> options, Map<String, String> serverProps, Path out, List<LocalService> services)
+            throws Exception {
+        Map<String, String> server = new LinkedHashMap<>();
+        server.put("logging.level.com.reliaquest", "WARN");
+        server.put("mock.employees.max", options.getOrDefault("employees", "1000"));
+        String limit = options.getOrDefault("request-limit", "off");
+        switch (limit) {
+            case "off" -> server.put("mock.request-limit.enabled", "false");
+            case "on" -> server.put("mock.request-limit.enabled", "true");
+            default -> {
+                String[] parts = limit.split("/", 2);
+                if (parts.length != 2) {
+                    throw new IllegalArgumentException("request-limit must be off, on or <requests>/<backoff>");
+                }
+                server.put("mock.request-limit.max-requests", parts[0]);
+                server.put("mock.request-limit.backoff", parts[1]);
+            }
+        }
+        server.putAll(serverProps);
+        LocalService mock = LocalService.start("server", jar("loadtest.server.jar"), SERVER_PORT, server, out);
+        services.add(mock);
+        mock.awaitReady(Duration.ofMinutes(2));
+        return mock;
+    }
+
+    private static LocalService bootApi(
+            LocalService mock, String name, Map<String, String> apiProps, Path out, List<LocalService> services)
+            throws Exception {
+        Map<String, String> api = new LinkedHashMap<>();
+        api.put("logging.level.com.reliaquest", "WARN");
+        api.put("employee.mock.base-url", mock.url() + "/api/v1/employee");
+        api.putAll(apiProps);
+        LocalService employees = LocalService.start(name, jar("loadtest.api.jar"), API_PORT, api, out);
+        services.add(employees);
+        employees.awaitReady(Duration.ofMinutes(2));
+        return employees;
+    }
+
+    /** The {@code threads} option: the thread modes to compare, in order; empty when not comparing. */
+    private static List<String> threadModes(Map<String, String> options) {
+        String value = options.get("threads");
+        if (value == null) {
+            return List.of();
+        }
+        if (options.containsKey("api.url")) {
+            throw new IllegalArgumentException("threads boots an api per thread mode and cannot be used with api.url");
+        }
+        List<String> modes = List.of(value.split(","));
+        for (String mode : modes) {
+            if (!mode.equals("platform") && !mode.equals("virtual")) {
+                throw new IllegalArgumentException("Unknown thread mode '" + mode + "'; expected platform or virtual");
+            }
+        }
+        if (modes.contains("virtual") && Runtime.version().feature() < 21) {
+            throw new IllegalArgumentException("threads=virtual needs a Java 21 runtime; run with -PjavaVersion=21");
+        }
+        return modes;
+    }
+
+    private static File jar(String property) {
+        String path = System.getProperty(property);
+        return path == null ? null : new File(path);
+    }
+
+    private static void stopAll(List<LocalService> services) {
+        for (int i = services.size() - 1; i >= 0; i--) {
+            try {
+                services.get(i).close();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        services.clear();
+    }
+
+    /** The request schedule and mix of a measurement. */
+    private record Plan(
+            double rps, Duration duration, Duration warmup, int maxInFlight, long seed, Map<Endpoint, Integer> mix) {}
+
+    /** {@code 90s}, {@code 2m}, or ISO-8601 ({@code PT90S}). */
+    private static Duration duration(String value) {
+        if (value.startsWith("P") || value.startsWith("p")) {
+            return Duration.parse(value);
+        }
+        long amount = Long.parseLong(value.replaceAll("[a-z]+$", ""));
+        return switch (value.replaceAll("^[0-9]+", "")) {
+            case "ms" -> Duration.ofMillis(amount);
+            case "s", "" -> Duration.ofSeconds(amount);
+            case "m" -> Duration.ofMinutes(amount);
+            default -> throw new IllegalArgumentException("Unsupported duration: " + value);
+        };
+    }
+}
@@ -0,0 +1,80 @@
+package com.reliaquest.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One of the applications under test, run from its boot jar in a JVM of its own so that it does not share
+ * heap, GC or JIT with the load generator. Output goes to {@code <name>.log} in the report directory.
+ */
+final class LocalService implements AutoCloseable {
+
+    private final String name;
+    private final int port;
+    private final Process process;
+
+    private LocalService(String name, int port, Process process) {
+        this.name = name;
+        this.port = port;
+        this.process = process;
+    }
+
+    /** Starts {@code jar} on {@code port}; every entry of {@code properties} is passed as {@code --key=value}. */
+    static LocalService start(String name, File jar, int port, Map<String, String> properties, Path logDir)
+            throws IOException {
+        if (jar == null || !jar.isFile()) {
+            throw new IllegalArgumentException("No boot jar for " + name + ": " + jar
+                    + " (run through the loadTest Gradle task, or pass api.url= to target a running api)");
+        }
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-jar");
+        command.add(jar.getAbsolutePath());
+        command.add("--server.port=" + port);
+        properties.forEach((key, value) -> command.add("--" + key + "=" + value));
+        File log = logDir.resolve(name + ".log").toFile();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log)
+                .start();
+        System.out.printf("Started %s (pid %d) on port %d, log %s%n", name, process.pid(), port, log);
+        return new LocalService(name, port, process);
+    }
+
+    /** Waits until the service accepts connections. */
+    void awaitReady(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException(name + " exited with " + process.exitValue() + "; see its log");
+            }
+            try (Socket socket = new Socket()) {
+                socket.connect(new InetSocketAddress("localhost", port), 200);
+                return;
+            } catch (IOException notYet) {
+                Thread.sleep(200);
+            }
+        }
+        throw new IllegalStateException(name + " did not start listening on port " + port + " within " + timeout);
+    }
+
+    String url() {
+        return "http://localhost:" + port;
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(10, TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+        }
+    }
+}
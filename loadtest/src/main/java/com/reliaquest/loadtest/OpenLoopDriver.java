@@ -0,0 +1,91 @@
+package com.reliaquest.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load: requests are started on a fixed schedule, one every {@code 1 / rps} seconds, whether or
+ * not earlier ones have completed. A closed loop (send, wait, send) slows down with the system under test
+ * and so hides its stalls from the percentiles ("coordinated omission").
+ * <p>
+ * Each request's latency is measured from the time it was <em>scheduled</em> to start, not from the time
+ * it was sent, so time spent waiting behind a stall (here, in the client, or in a late scheduler) counts
+ * against it. The send-to-completion time is recorded separately as the service time.
+ * <p>
+ * {@code maxInFlight} bounds the outstanding requests, and so the connections the generator opens: a
+ * request due while the bound is reached is not sent and is reported as dropped.
+ */
+final class OpenLoopDriver {
+
+    private final HttpClient http;
+    private final Workload workload;
+    private final double rps;
+    private final int maxInFlight;
+    private final Semaphore inFlight;
+
+    OpenLoopDriver(HttpClient http, Workload workload, double rps, int maxInFlight) {
+        this.http = http;
+        this.workload = workload;
+        this.rps = rps;
+        this.maxInFlight = maxInFlight;
+        this.inFlight = new Semaphore(maxInFlight);
+    }
+
+    /** Runs the schedule for {@code duration} and waits for the outstanding requests. */
+    Results run(Duration duration) throws InterruptedException {
+        Results results = new Results();
+        long interval = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / rps));
+        long start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(10);
+        long end = start + duration.toNanos();
+        for (long i = 0; ; i++) {
+            long intended = start + i * interval;
+            if (intended >= end) {
+                break;
+            }
+            waitUntil(intended);
+            Endpoint endpoint = workload.next();
+            Results.Series series = results.of(endpoint);
+            if (!inFlight.tryAcquire()) {
+                series.dropped();
+                continue;
+            }
+            HttpRequest request = workload.request(endpoint);
+            long sent = System.nanoTime();
+            CompletableFuture<HttpResponse<byte[]>> response =
+                    http.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray());
+            response.whenComplete((resp, ex) -> {
+                long done = System.nanoTime();
+                inFlight.release();
+                series.complete(ex != null ? Results.FAILED : resp.statusCode(), intended, sent, done);
+                if (resp != null) {
+                    workload.onResponse(endpoint, resp);
+                }
+            });
+        }
+        // every permit back means every request has completed (or timed out)
+        if (!inFlight.tryAcquire(maxInFlight, 60, TimeUnit.SECONDS)) {
+            System.out.printf("%d requests still outstanding after 60s%n", maxInFlight - inFlight.availablePermits());
+        } else {
+            inFlight.release(maxInFlight);
+        }
+        results.finish(Duration.ofNanos(end - start));
+        return results;
+    }
+
+    private static void waitUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            if (remaining > TimeUnit.MICROSECONDS.toNanos(100)) {
+                LockSupport.parkNanos(remaining - TimeUnit.MICROSECONDS.toNanos(50));
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+    }
+}
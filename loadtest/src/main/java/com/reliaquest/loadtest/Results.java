@@ -0,0 +1,142 @@
+package com.reliaquest.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latencies and status codes of one run, per endpoint. Latencies are recorded in nanoseconds into
+ * HdrHistograms (3 significant digits) and reported in milliseconds.
+ */
+final class Results {
+
+    /** Status recorded for a request that failed without a response (connection error, timeout). */
+    static final int FAILED = -1;
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final Map<Endpoint, Series> series = new EnumMap<>(Endpoint.class);
+    private Duration elapsed = Duration.ZERO;
+
+    Series of(Endpoint endpoint) {
+        return series.computeIfAbsent(endpoint, e -> new Series());
+    }
+
+    void finish(Duration scheduled) {
+        this.elapsed = scheduled;
+    }
+
+    /** Prints the summary table: corrected latency percentiles, uncorrected p99 and status counts. */
+    void print(PrintStream out) {
+        printHeader(out, "endpoint");
+        series.forEach((endpoint, s) -> print(out, endpoint.key(), s));
+        print(out, "all", total());
+    }
+
+    /** Prints the row for all endpoints of each of {@code runs}, labelled with its key, one under the other. */
+    static void compare(PrintStream out, Map<String, Results> runs) {
+        printHeader(out, "run");
+        runs.forEach((name, results) -> results.print(out, name, results.total()));
+    }
+
+    private static void printHeader(PrintStream out, String label) {
+        out.printf("%-14s %8s %8s %8s %8s %8s %8s %9s %9s  %s%n",
+                label, "count", "req/s", "p50ms", "p90ms", "p99ms", "p99.9ms", "maxms", "svc.p99", "statuses");
+    }
+
+    private Series total() {
+        Series all = new Series();
+        series.values().forEach(all::add);
+        return all;
+    }
+
+    private void print(PrintStream out, String name, Series s) {
+        Histogram h = s.latency;
+        out.printf("%-14s %8d %8.1f %8.2f %8.2f %8.2f %8.2f %9.2f %9.2f  %s%n",
+                name,
+                h.getTotalCount(),
+                h.getTotalCount() / Math.max(1e-9, elapsed.toNanos() / 1e9),
+                ms(h.getValueAtPercentile(50)),
+                ms(h.getValueAtPercentile(90)),
+                ms(h.getValueAtPercentile(99)),
+                ms(h.getValueAtPercentile(99.9)),
+                ms(h.getMaxValue()),
+                ms(s.serviceTime.getValueAtPercentile(99)),
+                s.statuses());
+    }
+
+    /**
+     * Writes one {@code .hgrm} percentile distribution per endpoint, and one for all of them, in
+     * milliseconds; these load into the HdrHistogram plotter.
+     */
+    void write(Path dir) throws IOException {
+        Files.createDirectories(dir);
+        for (Map.Entry<Endpoint, Series> e : series.entrySet()) {
+            write(dir, e.getKey().key(), e.getValue());
+        }
+        write(dir, "all", total());
+        try (PrintStream out = new PrintStream(Files.newOutputStream(dir.resolve("summary.txt")))) {
+            print(out);
+        }
+    }
+
+    private static void write(Path dir, String name, Series s) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(dir.resolve(name + ".hgrm")))) {
+            s.latency.outputPercentileDistribution(out, NANOS_PER_MILLI);
+        }
+        try (PrintStream out = new PrintStream(Files.newOutputStream(dir.resolve(name + "-service.hgrm")))) {
+            s.serviceTime.outputPercentileDistribution(out, NANOS_PER_MILLI);
+        }
+    }
+
+    private static double ms(long nanos) {
+        return nanos / NANOS_PER_MILLI;
+    }
+
+    /** Measurements of one endpoint; recorded from the HTTP client's completion threads. */
+    static final class Series {
+        private final Histogram latency = new ConcurrentHistogram(3);
+        private final Histogram serviceTime = new ConcurrentHistogram(3);
+        private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        private final LongAdder dropped = new LongAdder();
+
+        /** A response (or failure) for a request scheduled at {@code intended}, sent at {@code sent}. */
+        void complete(int status, long intended, long sent, long done) {
+            latency.recordValue(Math.max(0, done - intended));
+            serviceTime.recordValue(Math.max(0, done - sent));
+            statuses.computeIfAbsent(status, k -> new LongAdder()).increment();
+        }
+
+        /** A request that was due but not sent, because too many were outstanding. */
+        void dropped() {
+            dropped.increment();
+        }
+
+        private void add(Series other) {
+            latency.add(other.latency);
+            serviceTime.add(other.serviceTime);
+            other.statuses.forEach((status, count) ->
+                    statuses.computeIfAbsent(status, k -> new LongAdder()).add(count.sum()));
+            dropped.add(other.dropped.sum());
+        }
+
+        private String statuses() {
+            Map<String, Long> counts = new TreeMap<>();
+            statuses.forEach((status, count) ->
+                    counts.put(status == FAILED ? "failed" : status.toString(), count.sum()));
+            if (dropped.sum() > 0) {
+                counts.put("dropped", dropped.sum());
+            }
+            return counts.toString();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.reliaquest.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * The requests of a run: which endpoint comes next, drawn from the weighted {@code mix}, and its
+ * parameters. Ids and search fragments come from the roster as read before the run; {@code delete}
+ * removes employees created during the run, and falls back to an unknown id (a 404) when there are none,
+ * so the seeded roster is never drained.
+ * <p>
+ * Only the scheduling thread calls {@link #next()}; the response callbacks call {@link #onResponse}.
+ */
+final class Workload {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final String apiUrl;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final SplittableRandom random;
+    private final Endpoint[] endpoints;
+    private final int[] cumulativeWeights;
+    private final List<String> ids = new ArrayList<>();
+    private final List<String> fragments = new ArrayList<>();
+    private final ConcurrentLinkedQueue<String> created = new ConcurrentLinkedQueue<>();
+    private long creates;
+
+    Workload(String apiUrl, Map<Endpoint, Integer> mix, long seed) {
+        this.apiUrl = apiUrl;
+        this.random = new SplittableRandom(seed);
+        this.endpoints = mix.keySet().toArray(Endpoint[]::new);
+        this.cumulativeWeights = new int[endpoints.length];
+        int total = 0;
+        for (int i = 0; i < endpoints.length; i++) {
+            total += mix.get(endpoints[i]);
+            cumulativeWeights[i] = total;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("mix has no positive weights: " + mix);
+        }
+    }
+
+    static Map<Endpoint, Integer> parseMix(String mix) {
+        Map<Endpoint, Integer> weights = new EnumMap<>(Endpoint.class);
+        for (String part : mix.split(",")) {
+            String[] kv = part.split(":|=", 2);
+            if (kv.length != 2) {
+                throw new IllegalArgumentException("Expected endpoint:weight in mix but got: " + part);
+            }
+            weights.merge(Endpoint.of(kv[0].trim()), Integer.parseInt(kv[1].trim()), Integer::sum);
+        }
+        return weights;
+    }
+
+    /** Reads the roster through the api once, for the ids and name fragments the requests use. */
+    void prime(HttpClient http) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = http.send(
+                HttpRequest.newBuilder(URI.create(apiUrl + "/employees")).timeout(REQUEST_TIMEOUT).build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET /employees answered " + response.statusCode()
+                    + "; is the mock server's request limit on?");
+        }
+        for (JsonNode employee : mapper.readTree(response.body())) {
+            ids.add(employee.path("id").asText());
+            String name = employee.path("employee_name").asText("").toLowerCase(Locale.ROOT);
+            if (name.length() >= 3 && name.substring(0, 3).matches("[a-z]{3}")) {
+                fragments.add(name.substring(0, 3));
+            }
+        }
+        if (ids.isEmpty() || fragments.isEmpty()) {
+            throw new IllegalStateException("The roster is empty");
+        }
+        System.out.printf("Roster: %d employees%n", ids.size());
+    }
+
+    Endpoint next() {
+        int pick = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return endpoints[i];
+            }
+        }
+        throw new AssertionError();
+    }
+
+    HttpRequest request(Endpoint endpoint) {
+        return switch (endpoint) {
+            case GET_ALL -> get("/employees");
+            case SEARCH -> get("/employees/search/" + fragments.get(random.nextInt(fragments.size())));
+            case GET_BY_ID -> get("/employees/" + ids.get(random.nextInt(ids.size())));
+            case HIGHEST_SALARY -> get("/employees/highestSalary");
+            case TOP10 -> get("/employees/topTenHighestEarningEmployeeNames");
+            case CREATE -> HttpRequest.newBuilder(URI.create(apiUrl + "/employees"))
+                    .timeout(REQUEST_TIMEOUT)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("""
+                            {"name":"Load Test %d","salary":%d,"age":%d,"title":"Load Tester"}"""
+                            .formatted(++creates, random.nextInt(30_000, 500_000), random.nextInt(16, 71))))
+                    .build();
+            case DELETE -> {
+                String id = created.poll();
+                yield HttpRequest.newBuilder(URI.create(apiUrl + "/employees/" + (id != null ? id : UUID.randomUUID())))
+                        .timeout(REQUEST_TIMEOUT)
+                        .DELETE()
+                        .build();
+            }
+        };
+    }
+
+    /** Keeps the ids of created employees for later deletes. */
+    void onResponse(Endpoint endpoint, HttpResponse<byte[]> response) {
+        if (endpoint != Endpoint.CREATE || response.statusCode() != 200) {
+            return;
+        }
+        try {
+            String id = mapper.readTree(response.body()).path("id").asText(null);
+            if (id != null) {
+                created.add(id);
+            }
+        } catch (IOException ignored) {
+            // not an employee; nothing to delete later
+        }
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(apiUrl + path)).timeout(REQUEST_TIMEOUT).build();
+    }
+}
@@ -0,0 +1,60 @@
+package com.reliaquest.server.config;
+
+import com.reliaquest.server.store.EmployeeStore;
+import com.reliaquest.server.store.RosterJournal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Lazy seeding, on when {@code mock.employees.generator.lazy} is set: the server starts with an empty
+ * roster and, once it is ready, this generates the seed roster in the background and adds it to the store
+ * chunk by chunk. Requests are served throughout, against the roster generated so far.
+ * <p>
+ * Does nothing with durable storage on, where the roster is recovered (or generated once) before start.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "mock.employees.generator", name = "lazy", havingValue = "true")
+public class LazyRosterSeeder {
+
+    private final MockEmployeeGenerator generator;
+    private final EmployeeStore store;
+    private final ObjectProvider<RosterJournal> journal;
+    private final int maxEmployees;
+
+    public LazyRosterSeeder(
+            MockEmployeeGenerator generator,
+            EmployeeStore store,
+            ObjectProvider<RosterJournal> journal,
+            @Value("${mock.employees.max:20}") int maxEmployees) {
+        this.generator = generator;
+        this.store = store;
+        this.journal = journal;
+        this.maxEmployees = maxEmployees;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        if (journal.getIfAvailable() != null) {
+            return;
+        }
+        final var seeder = new Thread(
+                () -> {
+                    try {
+                        generator.generate(maxEmployees, store::seed);
+                        log.info("Lazy seeding done; roster has {} employees", store.size());
+                    } catch (RuntimeException ex) {
+                        log.error("Lazy seeding failed with {} employees seeded", store.size(), ex);
+                    }
+                },
+                "roster-seeder");
+        seeder.setDaemon(true);
+        seeder.start();
+        log.info("Seeding {} employees in the background", maxEmployees);
+    }
+}
@@ -0,0 +1,126 @@
+package com.reliaquest.server.config;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import net.datafaker.Faker;
+
+/**
+ * Generates seed rosters with Datafaker, in parallel.
+ * <p>
+ * The roster is cut into fixed-size chunks which are generated concurrently; each generating thread has
+ * its own {@link Faker} over its own {@link Random}, reseeded at the start of every chunk from the roster
+ * seed and the chunk's index. A chunk's employees, ids included, therefore depend only on the seed and
+ * the chunk, never on which thread generated it or when, and a given seed, count and locale always give
+ * the same roster. Without a seed, a random one is picked per roster.
+ * <p>
+ * Employees are constructed directly rather than through Datafaker's reflective object transformer.
+ */
+@Slf4j
+public class MockEmployeeGenerator {
+
+    static final int CHUNK = 4_096;
+
+    private final Locale locale;
+    private final Long seed;
+    private final int parallelism;
+
+    /*
+     * A null seed picks a random one per roster; a parallelism below one uses one thread per core.
+     */
+    public MockEmployeeGenerator(Locale locale, Long seed, int parallelism) {
+        this.locale = locale;
+        this.seed = seed;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    public List<MockEmployee> generate(int count) {
+        final var roster = new ArrayList<MockEmployee>(Math.max(0, count));
+        generate(count, roster::addAll);
+        return roster;
+    }
+
+    /*
+     * Generates count employees and hands them to sink chunk by chunk, in roster order, on the calling
+     * thread, as soon as each chunk and all the ones before it are ready.
+     */
+    public void generate(int count, Consumer<List<MockEmployee>> sink) {
+        final long rosterSeed = seed != null ? seed : ThreadLocalRandom.current().nextLong();
+        final int chunks = (Math.max(0, count) + CHUNK - 1) / CHUNK;
+        final long start = System.nanoTime();
+        final var threadIds = new AtomicInteger();
+        final int threads = Math.max(1, Math.min(parallelism, chunks));
+        final ExecutorService workers = Executors.newFixedThreadPool(threads, r -> {
+            final var thread = new Thread(r, "roster-generator-" + threadIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            final var perThread = ThreadLocal.withInitial(() -> new ChunkGenerator(locale));
+            final var pending = new ArrayList<Future<List<MockEmployee>>>(chunks);
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                final long chunkSeed = rosterSeed + chunk * 0x9E3779B97F4A7C15L;
+                final int size = Math.min(CHUNK, count - chunk * CHUNK);
+                pending.add(workers.submit(() -> perThread.get().generate(chunkSeed, size)));
+            }
+            for (final var chunk : pending) {
+                sink.accept(chunk.get());
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while generating employees", ex);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Failed to generate employees", ex.getCause());
+        } finally {
+            workers.shutdownNow();
+        }
+        log.info("Generated {} employees with seed {} on {} threads in {} ms",
+                count, rosterSeed, threads, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /*
+     * One thread's Faker and the Random it draws from.
+     */
+    private static final class ChunkGenerator {
+        private final Random random = new Random();
+        private final Faker faker;
+
+        ChunkGenerator(Locale locale) {
+            this.faker = new Faker(locale, random);
+        }
+
+        List<MockEmployee> generate(long chunkSeed, int size) {
+            random.setSeed(chunkSeed);
+            final var employees = new ArrayList<MockEmployee>(size);
+            for (int i = 0; i < size; i++) {
+                employees.add(new MockEmployee(
+                        randomUuid(),
+                        faker.name().fullName(),
+                        faker.number().numberBetween(30000, 500000),
+                        faker.number().numberBetween(16, 70),
+                        faker.job().title(),
+                        ServerConfiguration.EMAIL_TEMPLATE.formatted(
+                                faker.twitter().userName().toLowerCase())));
+            }
+            return employees;
+        }
+
+        /** A version 4 UUID drawn from the seeded random, like {@link UUID#randomUUID()} but reproducible. */
+        private UUID randomUuid() {
+            final long msb = (random.nextLong() & ~0xF000L) | 0x4000L;
+            final long lsb = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+            return new UUID(msb, lsb);
+        }
+    }
+}
@@ -1,18 +1,14 @@
 package com.reliaquest.server.config;
 
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.store.RosterJournal;
 import com.reliaquest.server.web.RandomRequestLimitInterceptor;
-import java.util.ArrayList;
+import java.time.Duration;
 import java.util.List;
 import java.util.Locale;
-import java.util.UUID;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 import lombok.extern.slf4j.Slf4j;
 import net.datafaker.Faker;
-import net.datafaker.transformations.Field;
-import net.datafaker.transformations.JavaObjectTransformer;
-import net.datafaker.transformations.Schema;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -25,35 +21,68 @@ public class ServerConfiguration implements WebMvcConfigurer {
 
     public static final String EMAIL_TEMPLATE = "%s@company.com";
 
+    @Value("${mock.request-limit.enabled:true}")
+    private boolean requestLimitEnabled;
+
+    /*
+     * Requests let through before rate limiting kicks in, and for how long; picked at random when not set.
+     */
+    @Value("${mock.request-limit.max-requests:#{null}}")
+    private Integer requestLimitMaxRequests;
+
+    @Value("${mock.request-limit.backoff:#{null}}")
+    private Duration requestLimitBackoff;
+
     @Bean
     public Faker faker() {
         return new Faker(Locale.getDefault());
     }
 
     /*
-     * This list is modifiable by design for CRUD operations.
+     * Seed roster generator; a fixed seed makes the roster reproducible, e.g. for benchmarks.
+     */
+    @Bean
+    public MockEmployeeGenerator mockEmployeeGenerator(
+            @Value("${mock.employees.generator.seed:#{null}}") Long seed,
+            @Value("${mock.employees.generator.parallelism:0}") int parallelism) {
+        return new MockEmployeeGenerator(Locale.getDefault(), seed, parallelism);
+    }
+
+    /*
+     * Seed roster, loaded into the EmployeeStore at startup; CRUD operations go to the store. With durable
+     * storage on, it is the roster recovered from disk, and only generated on the very first start. With
+     * lazy generation on (and durable storage off), it is empty and LazyRosterSeeder fills the store once the
+     * server is up.
      */
     @Bean
-    public List<MockEmployee> mockEmployees(Faker faker, @Value("${mock.employees.max:20}") int maxEmployees) {
-        final var transformer = new JavaObjectTransformer();
-        final var schema = Schema.of(
-                Field.field("id", UUID::randomUUID),
-                Field.field("name", () -> faker.name().fullName()),
-                Field.field("salary", () -> faker.number().numberBetween(30000, 500000)),
-                Field.field("age", () -> faker.number().numberBetween(16, 70)),
-                Field.field("title", () -> faker.job().title()),
-                Field.field(
-                        "email",
-                        () -> EMAIL_TEMPLATE.formatted(
-                                faker.twitter().userName().toLowerCase())));
-        return IntStream.rangeClosed(1, maxEmployees)
-                .mapToObj(ignored -> (MockEmployee) transformer.apply(MockEmployee.class, schema))
-                .peek(mockEmployee -> log.debug("Created employee: {}", mockEmployee))
-                .collect(Collectors.toCollection(ArrayList::new));
+    public List<MockEmployee> mockEmployees(
+            MockEmployeeGenerator generator,
+            @Value("${mock.employees.max:20}") int maxEmployees,
+            @Value("${mock.employees.generator.lazy:false}") boolean lazy,
+            ObjectProvider<RosterJournal> journal) {
+        final var durable = journal.getIfAvailable();
+        if (durable != null) {
+            if (lazy) {
+                log.info("Lazy roster generation does not apply with durable storage on");
+            }
+            return durable.recover(() -> generator.generate(maxEmployees));
+        }
+        return lazy ? List.of() : generator.generate(maxEmployees);
     }
 
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
-        registry.addInterceptor(new RandomRequestLimitInterceptor());
+        if (!requestLimitEnabled) {
+            log.warn("Request limit disabled");
+            return;
+        }
+        var interceptor = new RandomRequestLimitInterceptor();
+        if (requestLimitMaxRequests != null || requestLimitBackoff != null) {
+            interceptor = new RandomRequestLimitInterceptor(
+                    requestLimitMaxRequests != null ? requestLimitMaxRequests : interceptor.getLimit(),
+                    requestLimitBackoff != null ? requestLimitBackoff : interceptor.getBackoff());
+        }
+        log.info("Request limit: {} requests, then {} backoff", interceptor.getLimit(), interceptor.getBackoff());
+        registry.addInterceptor(interceptor);
     }
 }
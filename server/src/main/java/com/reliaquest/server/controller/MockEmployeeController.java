@@ -1,15 +1,22 @@
 package com.reliaquest.server.controller;
 
+import com.reliaquest.server.model.BatchDeleteMockEmployeeInput;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeBatchResult;
+import com.reliaquest.server.model.MockEmployeeChanges;
+import com.reliaquest.server.model.MockEmployeePage;
 import com.reliaquest.server.model.Response;
+import com.reliaquest.server.service.ChangeStreamService;
 import com.reliaquest.server.service.MockEmployeeService;
 import jakarta.validation.Valid;
 import java.util.List;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -17,7 +24,10 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/api/v1/employee")
@@ -26,9 +36,69 @@ public class MockEmployeeController {
 
     private final MockEmployeeService mockEmployeeService;
 
+    private final ChangeStreamService changeStreamService;
+
+    @Value("${mock.employees.page.default-size:100}")
+    private int defaultPageSize;
+
+    @Value("${mock.employees.page.max-size:1000}")
+    private int maxPageSize;
+
+    @Value("${mock.employees.batch.max-size:1000}")
+    private int maxBatchSize;
+
+    /*
+     * Served from the pre-encoded body of the current roster version, with its ETag. A request whose
+     * If-None-Match holds the current ETag gets 304 Not Modified and no body.
+     */
     @GetMapping()
-    public Response<List<MockEmployee>> getEmployees() {
-        return Response.handledWith(mockEmployeeService.getMockEmployees());
+    public ResponseEntity<byte[]> getEmployees(WebRequest request) {
+        if (request.checkNotModified(mockEmployeeService.getRosterEtag())) {
+            return null;
+        }
+        final var roster = mockEmployeeService.getEncodedRoster();
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(roster.etag())
+                .body(roster.json());
+    }
+
+    /*
+     * Keyset pagination in insertion order, the order of GET /: pass back next_cursor as "after" until it is
+     * null. "from" (inclusive) and "to" (exclusive) bound the walk to a range of cursors, up to last_cursor,
+     * so disjoint ranges can be walked in parallel. Pages carry the roster ETag, so a first page sent with
+     * If-None-Match gets 304 if nothing changed.
+     */
+    @GetMapping("/page")
+    public ResponseEntity<Response<MockEmployeePage>> getEmployeePage(
+            @RequestParam(name = "from", required = false) Long from,
+            @RequestParam(name = "after", required = false) Long after,
+            @RequestParam(name = "to", required = false) Long to,
+            @RequestParam(name = "limit", required = false) Integer limit,
+            WebRequest request) {
+        final var etag = mockEmployeeService.getRosterEtag();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        final var size = limit == null ? defaultPageSize : Math.max(1, Math.min(limit, maxPageSize));
+        final var page = mockEmployeeService.getPage(from, after, to, size);
+        return ResponseEntity.ok().eTag(etag).body(Response.handledWith(page));
+    }
+
+    /*
+     * Changes after sequence number "since" (a roster version); see MockEmployeeChanges for the reset rule.
+     */
+    @GetMapping("/changes")
+    public Response<MockEmployeeChanges> getChanges(
+            @RequestParam("since") long since,
+            @RequestParam(name = "limit", required = false) Integer limit) {
+        final var size = limit == null ? maxPageSize : Math.max(1, Math.min(limit, maxPageSize));
+        return Response.handledWith(mockEmployeeService.getChanges(since, size));
+    }
+
+    @GetMapping(path = "/changes/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestParam("since") long since) {
+        return changeStreamService.open(since);
     }
 
     @GetMapping("/{id}")
@@ -44,8 +114,49 @@ public class MockEmployeeController {
         return Response.handledWith(mockEmployeeService.create(input));
     }
 
+    /*
+     * Deletes the employee with the given id and returns it, so the caller needs no lookup to learn who was
+     * deleted; 404 when there is no such employee.
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Response<MockEmployee>> deleteEmployeeById(@PathVariable("id") UUID uuid) {
+        return mockEmployeeService
+                .deleteById(uuid)
+                .map(employee -> ResponseEntity.ok(Response.handledWith(employee)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(Response.handled()));
+    }
+
     @DeleteMapping()
     public Response<Boolean> deleteEmployee(@Valid @RequestBody DeleteMockEmployeeInput input) {
         return Response.handledWith(mockEmployeeService.delete(input));
     }
+
+    /*
+     * Creates every employee in the body in one request; data holds one result per input, in order.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<Response<List<MockEmployeeBatchResult>>> createEmployees(
+            @RequestBody List<CreateMockEmployeeInput> inputs) {
+        if (inputs.size() > maxBatchSize) {
+            return tooLarge(inputs.size());
+        }
+        return ResponseEntity.ok(Response.handledWith(mockEmployeeService.createAll(inputs)));
+    }
+
+    /*
+     * Deletes the employees with the given ids in one request; data holds one result per id, in order.
+     */
+    @DeleteMapping("/batch")
+    public ResponseEntity<Response<List<MockEmployeeBatchResult>>> deleteEmployees(
+            @Valid @RequestBody BatchDeleteMockEmployeeInput input) {
+        if (input.getIds().size() > maxBatchSize) {
+            return tooLarge(input.getIds().size());
+        }
+        return ResponseEntity.ok(Response.handledWith(mockEmployeeService.deleteAllById(input.getIds())));
+    }
+
+    private <T> ResponseEntity<Response<T>> tooLarge(int size) {
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                .body(Response.error("Batch of %d exceeds the limit of %d".formatted(size, maxBatchSize)));
+    }
 }
@@ -0,0 +1,11 @@
+package com.reliaquest.server.model;
+
+import jakarta.validation.constraints.NotNull;
+import java.util.List;
+import lombok.Data;
+
+@Data
+public class BatchDeleteMockEmployeeInput {
+
+    @NotNull private List<String> ids;
+}
@@ -0,0 +1,36 @@
+package com.reliaquest.server.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonValue;
+import lombok.Getter;
+
+/**
+ * Outcome of one item of a batch request; {@code index} is the item's position in the request. For
+ * {@code DELETED} the employee is the one removed; {@code error} explains an {@code INVALID} item.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record MockEmployeeBatchResult(int index, Status status, MockEmployee employee, String error) {
+
+    public static MockEmployeeBatchResult of(int index, Status status, MockEmployee employee) {
+        return new MockEmployeeBatchResult(index, status, employee, null);
+    }
+
+    public static MockEmployeeBatchResult invalid(int index, String error) {
+        return new MockEmployeeBatchResult(index, Status.INVALID, null, error);
+    }
+
+    public enum Status {
+        CREATED("created"),
+        DELETED("deleted"),
+        NOT_FOUND("not_found"),
+        INVALID("invalid");
+
+        @JsonValue
+        @Getter
+        private final String value;
+
+        Status(String value) {
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.reliaquest.server.model;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+import lombok.Getter;
+
+/**
+ * One roster mutation. {@code seq} is the roster version the mutation produced; for {@code DELETED} the
+ * employee is the one removed.
+ */
+public record MockEmployeeChange(long seq, Type type, MockEmployee employee) {
+
+    public enum Type {
+        CREATED("created"),
+        DELETED("deleted");
+
+        @JsonValue
+        @Getter
+        private final String value;
+
+        Type(String value) {
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.reliaquest.server.model;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import java.util.List;
+
+/**
+ * Changes after the requested sequence number, in order, up to {@code latest}.
+ * <p>
+ * {@code reset} is set when the requested changes are no longer retained (or the sequence number is from
+ * another server run, see {@code runId}); the caller must then reload the roster in full and continue from
+ * {@code latest}.
+ */
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public record MockEmployeeChanges(String runId, long latest, boolean reset, List<MockEmployeeChange> changes) {}
@@ -0,0 +1,14 @@
+package com.reliaquest.server.model;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import java.util.List;
+
+/**
+ * One keyset page of the roster, in insertion order. Cursors are the store's insertion sequence numbers:
+ * {@code nextCursor} is the {@code after} value for the next page, or {@code null} when the walk is complete,
+ * and {@code lastCursor} is that of the newest employee, so the rest of a walk can be split into ranges.
+ * {@code version} is the roster version the page was cut from, the same for every page of a consistent walk.
+ */
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public record MockEmployeePage(List<MockEmployee> employees, Long nextCursor, long lastCursor, long version) {}
@@ -0,0 +1,145 @@
+package com.reliaquest.server.service;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Server-sent event stream of roster changes: the changes after the requested sequence number, then each
+ * new one as it happens, one {@code created} / {@code deleted} event per change with the sequence number
+ * as the event id. A {@code reset} event (carrying the latest sequence number) ends the stream when the
+ * subscriber fell out of the change log, or more than {@code mock.employees.changes.stream-max-lag} changes
+ * behind the latest, from where reloading the roster is cheaper than replaying the changes.
+ * <p>
+ * Events are written by background threads, never by the request that made the change. Each subscription
+ * sends on its own: a change only marks it pending and, unless it is already sending, hands it to a thread of
+ * a shared pool, where it sends everything up to the latest change and goes back to idle. A subscriber whose
+ * socket blocks holds up only its own thread, and however many changes arrive meanwhile, at most one send
+ * per subscription is ever queued.
+ */
+@Slf4j
+@Service
+public class ChangeStreamService {
+
+    private static final int BATCH = 1_000;
+
+    private final MockEmployeeService mockEmployeeService;
+    private final long timeoutMillis;
+    private final long maxLag;
+    private final AtomicInteger senderThreads = new AtomicInteger();
+    private final ExecutorService senders = Executors.newCachedThreadPool(r -> {
+        final var thread = new Thread(r, "change-stream-" + senderThreads.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ChangeStreamService(
+            MockEmployeeService mockEmployeeService,
+            @Value("${mock.employees.changes.stream-timeout:30m}") Duration timeout,
+            @Value("${mock.employees.changes.stream-max-lag:5000}") long maxLag) {
+        this.mockEmployeeService = mockEmployeeService;
+        this.timeoutMillis = timeout.toMillis();
+        this.maxLag = Math.max(1, maxLag);
+    }
+
+    public SseEmitter open(long since) {
+        final var emitter = newEmitter(timeoutMillis);
+        final var subscription = new Subscription(emitter, since);
+        final var unsubscribe = mockEmployeeService.subscribeToChanges(seq -> subscription.schedule());
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(ex -> unsubscribe.run());
+        subscription.schedule();
+        return emitter;
+    }
+
+    /*
+     * Seam for tests, which record the events sent instead of writing them to a response.
+     */
+    SseEmitter newEmitter(long timeoutMillis) {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        senders.shutdownNow();
+    }
+
+    private final class Subscription {
+        private final SseEmitter emitter;
+        /** Set by every change, cleared by the sender before it reads the changes. */
+        private final AtomicBoolean pending = new AtomicBoolean();
+        /** Whether a send is queued or running; at most one is. */
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private long cursor;
+        private volatile boolean closed;
+
+        Subscription(SseEmitter emitter, long since) {
+            this.emitter = emitter;
+            this.cursor = since;
+        }
+
+        /* Called by the thread that made the change: never blocks, never touches the emitter. */
+        void schedule() {
+            pending.set(true);
+            if (!closed && sending.compareAndSet(false, true)) {
+                senders.execute(this::send);
+            }
+        }
+
+        private void send() {
+            try {
+                while (!closed && pending.getAndSet(false)) {
+                    flush();
+                }
+            } finally {
+                sending.set(false);
+            }
+            // a change that came in after the last flush but before sending was cleared
+            if (pending.get() && !closed && sending.compareAndSet(false, true)) {
+                senders.execute(this::send);
+            }
+        }
+
+        // only ever run by send(), one at a time
+        private void flush() {
+            try {
+                while (true) {
+                    final var batch = mockEmployeeService.getChanges(cursor, BATCH);
+                    if (batch.reset() || batch.latest() - cursor > maxLag) {
+                        emitter.send(SseEmitter.event().name("reset").data(batch.latest()));
+                        close();
+                        return;
+                    }
+                    if (batch.changes().isEmpty()) {
+                        return;
+                    }
+                    for (final var change : batch.changes()) {
+                        emitter.send(SseEmitter.event()
+                                .id(Long.toString(change.seq()))
+                                .name(change.type().getValue())
+                                .data(change));
+                        cursor = change.seq();
+                    }
+                }
+            } catch (IOException | IllegalStateException ex) {
+                log.debug("Change stream subscriber gone: {}", ex.toString());
+                closed = true;
+                emitter.completeWithError(ex);
+            }
+        }
+
+        private void close() {
+            closed = true;
+            emitter.complete();
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.reliaquest.server.service;
+
+/**
+ * The {@code GET /api/v1/employee} response body for one roster version, serialized once and served as-is
+ * until the roster changes.
+ *
+ * @param etag strong entity tag, quoted, unique to this version within this server run
+ */
+public record EncodedRoster(long version, String etag, byte[] json) {}
@@ -1,14 +1,28 @@
 package com.reliaquest.server.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.reliaquest.server.config.ServerConfiguration;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeBatchResult;
+import com.reliaquest.server.model.MockEmployeeChanges;
+import com.reliaquest.server.model.MockEmployeePage;
+import com.reliaquest.server.model.Response;
+import com.reliaquest.server.store.EmployeeStore;
+import com.reliaquest.server.store.RosterSnapshot;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
-import lombok.Getter;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongConsumer;
+import java.util.stream.Collectors;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -22,37 +36,196 @@ public class MockEmployeeService {
 
     private final Faker faker;
 
-    @Getter
-    private final List<MockEmployee> mockEmployees;
+    private final EmployeeStore store;
+
+    private final ObjectMapper objectMapper;
+
+    private final Validator validator;
+
+    /*
+     * Distinguishes versions across restarts, as the store version starts over on every run.
+     */
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+
+    private final AtomicReference<EncodedRoster> encodedRoster = new AtomicReference<>();
+
+    /*
+     * A consistent, unmodifiable copy of the roster; safe to serialize while other requests write.
+     */
+    public List<MockEmployee> getMockEmployees() {
+        return store.snapshot().employees();
+    }
+
+    /*
+     * The serialized roster response for the current version; encoded by the first caller after a change.
+     */
+    public EncodedRoster getEncodedRoster() {
+        final var cached = encodedRoster.get();
+        if (cached != null && cached.version() == store.version()) {
+            return cached;
+        }
+        synchronized (encodedRoster) {
+            final var snapshot = store.snapshot();
+            final var current = encodedRoster.get();
+            if (current != null && current.version() == snapshot.version()) {
+                return current;
+            }
+            final var encoded = encode(snapshot);
+            encodedRoster.set(encoded);
+            return encoded;
+        }
+    }
+
+    /*
+     * ETag of the current roster version, without encoding it.
+     */
+    public String getRosterEtag() {
+        return etag(store.version());
+    }
+
+    /*
+     * One keyset page of the current roster version, in insertion order; see RosterSnapshot#page.
+     */
+    public MockEmployeePage getPage(Long from, Long after, Long to, int limit) {
+        final var snapshot = store.snapshot();
+        final var page = snapshot.page(from, after, to, limit);
+        return new MockEmployeePage(page.employees(), page.nextCursor(), snapshot.lastSeq(), snapshot.version());
+    }
+
+    /*
+     * Up to limit changes after sequence number since, or a reset marker when they are not retained (any
+     * negative since just asks for the latest sequence number).
+     */
+    public MockEmployeeChanges getChanges(long since, int limit) {
+        final var latest = store.version();
+        final var changes = store.changes();
+        if (since > latest || !changes.retains(since)) {
+            return new MockEmployeeChanges(runId, latest, true, List.of());
+        }
+        return new MockEmployeeChanges(runId, latest, false, changes.since(since, limit));
+    }
+
+    /*
+     * Runs listener with the sequence number of every change; the returned handle unsubscribes.
+     */
+    public Runnable subscribeToChanges(LongConsumer listener) {
+        return store.changes().subscribe(listener);
+    }
 
     public Optional<MockEmployee> findById(@NonNull UUID uuid) {
-        return mockEmployees.stream()
-                .filter(mockEmployee -> Objects.nonNull(mockEmployee.getId())
-                        && mockEmployee.getId().equals(uuid))
-                .findFirst();
+        return store.findById(uuid);
     }
 
     public MockEmployee create(@NonNull CreateMockEmployeeInput input) {
-        final var mockEmployee = MockEmployee.from(
-                ServerConfiguration.EMAIL_TEMPLATE.formatted(
-                        faker.twitter().userName().toLowerCase()),
-                input);
-        mockEmployees.add(mockEmployee);
+        final var mockEmployee = newEmployee(input);
+        store.add(mockEmployee);
         log.debug("Added employee: {}", mockEmployee);
         return mockEmployee;
     }
 
+    public Optional<MockEmployee> deleteById(@NonNull UUID uuid) {
+        final var mockEmployee = store.removeById(uuid);
+        mockEmployee.ifPresent(removed -> log.debug("Removed employee: {}", removed));
+        return mockEmployee;
+    }
+
     public boolean delete(@NonNull DeleteMockEmployeeInput input) {
-        final var mockEmployee = mockEmployees.stream()
-                .filter(employee -> Objects.nonNull(employee.getName())
-                        && employee.getName().equalsIgnoreCase(input.getName()))
-                .findFirst();
-        if (mockEmployee.isPresent()) {
-            mockEmployees.remove(mockEmployee.get());
-            log.debug("Removed employee: {}", mockEmployee.get());
-            return true;
+        final var mockEmployee = store.removeByName(input.getName());
+        mockEmployee.ifPresent(removed -> log.debug("Removed employee: {}", removed));
+        return mockEmployee.isPresent();
+    }
+
+    /*
+     * Creates every valid input; one result per input, in order. An invalid input is reported and skipped,
+     * it does not fail the batch. The batch is added to the store in one go, so it is synced to durable
+     * storage, when on, once rather than per employee.
+     */
+    public List<MockEmployeeBatchResult> createAll(@NonNull List<CreateMockEmployeeInput> inputs) {
+        final var results = new ArrayList<MockEmployeeBatchResult>(inputs.size());
+        final var created = new ArrayList<MockEmployee>(inputs.size());
+        for (int i = 0; i < inputs.size(); i++) {
+            final var input = inputs.get(i);
+            final var violations = input == null ? null : validator.validate(input);
+            if (input == null || !violations.isEmpty()) {
+                results.add(MockEmployeeBatchResult.invalid(i, describe(violations)));
+                continue;
+            }
+            final var mockEmployee = newEmployee(input);
+            created.add(mockEmployee);
+            results.add(MockEmployeeBatchResult.of(i, MockEmployeeBatchResult.Status.CREATED, mockEmployee));
+        }
+        store.addAll(created);
+        created.forEach(mockEmployee -> log.debug("Added employee: {}", mockEmployee));
+        log.debug("Batch created {} of {} employees", countOf(results, MockEmployeeBatchResult.Status.CREATED),
+                inputs.size());
+        return results;
+    }
+
+    /*
+     * Deletes the employees with the given ids; one result per id, in order, carrying the removed employee.
+     */
+    public List<MockEmployeeBatchResult> deleteAllById(@NonNull List<String> ids) {
+        final var uuids = new ArrayList<UUID>(ids.size());
+        for (final var id : ids) {
+            try {
+                uuids.add(UUID.fromString(String.valueOf(id)));
+            } catch (IllegalArgumentException ex) {
+                uuids.add(null);
+            }
+        }
+        final var removed = store.removeAllById(uuids.stream().filter(Objects::nonNull).toList()).iterator();
+        final var results = new ArrayList<MockEmployeeBatchResult>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            if (uuids.get(i) == null) {
+                results.add(MockEmployeeBatchResult.invalid(i, "id: not a UUID"));
+                continue;
+            }
+            final var employee = removed.next();
+            employee.ifPresent(e -> log.debug("Removed employee: {}", e));
+            results.add(MockEmployeeBatchResult.of(
+                    i,
+                    employee.isPresent()
+                            ? MockEmployeeBatchResult.Status.DELETED
+                            : MockEmployeeBatchResult.Status.NOT_FOUND,
+                    employee.orElse(null)));
+        }
+        log.debug("Batch deleted {} of {} employees", countOf(results, MockEmployeeBatchResult.Status.DELETED),
+                ids.size());
+        return results;
+    }
+
+    private MockEmployee newEmployee(CreateMockEmployeeInput input) {
+        return MockEmployee.from(
+                ServerConfiguration.EMAIL_TEMPLATE.formatted(
+                        faker.twitter().userName().toLowerCase()),
+                input);
+    }
+
+    private static String describe(Set<ConstraintViolation<CreateMockEmployeeInput>> violations) {
+        if (violations == null) {
+            return "input: must not be null";
         }
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private static long countOf(List<MockEmployeeBatchResult> results, MockEmployeeBatchResult.Status status) {
+        return results.stream().filter(r -> r.status() == status).count();
+    }
+
+    private EncodedRoster encode(RosterSnapshot snapshot) {
+        try {
+            final var json = objectMapper.writeValueAsBytes(Response.handledWith(snapshot.employees()));
+            log.debug("Encoded roster version={} ({} bytes)", snapshot.version(), json.length);
+            return new EncodedRoster(snapshot.version(), etag(snapshot.version()), json);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Failed to encode roster", ex);
+        }
+    }
 
-        return false;
+    private String etag(long version) {
+        return "\"%s-%d\"".formatted(runId, version);
     }
 }
@@ -0,0 +1,76 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChange;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.LongConsumer;
+
+/**
+ * Bounded, sequence-numbered log of the roster mutations applied by {@link EmployeeStore}; the oldest
+ * entries are dropped once {@code capacity} is exceeded.
+ * <p>
+ * Writers on different lock stripes may append out of order, so reads only return the run of consecutive
+ * sequence numbers after the requested one: a change still being appended is never skipped over.
+ */
+public class ChangeLog {
+
+    private final int capacity;
+    private final ConcurrentSkipListMap<Long, MockEmployeeChange> entries = new ConcurrentSkipListMap<>();
+    private final List<LongConsumer> listeners = new CopyOnWriteArrayList<>();
+
+    /** Highest sequence number dropped to honour the capacity; guarded by {@code this}. */
+    private long truncatedThrough;
+
+    public ChangeLog(int capacity) {
+        this.capacity = Math.max(1, capacity);
+    }
+
+    void append(long seq, MockEmployeeChange.Type type, MockEmployee employee) {
+        entries.put(seq, new MockEmployeeChange(seq, type, employee));
+        synchronized (this) {
+            while (entries.size() > capacity) {
+                Map.Entry<Long, MockEmployeeChange> oldest = entries.pollFirstEntry();
+                if (oldest == null) {
+                    break;
+                }
+                truncatedThrough = Math.max(truncatedThrough, oldest.getKey());
+            }
+        }
+        listeners.forEach(listener -> listener.accept(seq));
+    }
+
+    /** Drops the changes up to and including {@code seq}; readers behind it are told to reset. */
+    synchronized void truncateThrough(long seq) {
+        entries.headMap(seq, true).clear();
+        truncatedThrough = Math.max(truncatedThrough, seq);
+    }
+
+    /** Whether the changes after {@code since} can still be served. */
+    public synchronized boolean retains(long since) {
+        return since >= truncatedThrough;
+    }
+
+    /** Up to {@code limit} consecutive changes after {@code since}. */
+    public List<MockEmployeeChange> since(long since, int limit) {
+        List<MockEmployeeChange> out = new ArrayList<>();
+        long expected = since + 1;
+        for (MockEmployeeChange change : entries.tailMap(since, false).values()) {
+            if (change.seq() != expected || out.size() == limit) {
+                break;
+            }
+            out.add(change);
+            expected++;
+        }
+        return out;
+    }
+
+    /** Registers a callback run, on the mutating thread, with the sequence number of every new change. */
+    public Runnable subscribe(LongConsumer listener) {
+        listeners.add(listener);
+        return () -> listeners.remove(listener);
+    }
+}
@@ -0,0 +1,269 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChange;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Concurrent in-memory store behind {@link com.reliaquest.server.service.MockEmployeeService}.
+ * <ul>
+ *   <li>Lookups by id go to a {@link ConcurrentHashMap} keyed by UUID and never lock.</li>
+ *   <li>Deletes by name go through a case-insensitive name index; mutations are serialized per name by
+ *       one of a fixed set of lock stripes, so writers for different names run in parallel.</li>
+ *   <li>Employees are kept in insertion order (the order of the roster) in a skip list keyed by a
+ *       per-insert sequence number.</li>
+ * </ul>
+ * Every mutation bumps the store version and is recorded under that version, its sequence number, in the
+ * {@link ChangeLog}. Mutations share a read-write lock in read mode, and
+ * {@link #snapshot()} takes it in write mode while copying, so a snapshot is always the exact roster at
+ * its version, never a mix of before and after a concurrent write.
+ * <p>
+ * Snapshots are copy-on-write: the immutable copy for a version is built once, by the first read after
+ * the mutation that produced it, published atomically, and shared by every read until the next mutation.
+ * Copying lazily rather than on every mutation keeps a burst of writes against a large roster from paying
+ * for copies nobody reads.
+ * <p>
+ * With durable storage on, every mutation is also appended to the {@link RosterJournal} under the same
+ * locks, and the mutating call returns only once the journal has synced it.
+ */
+@Slf4j
+@Component
+public class EmployeeStore {
+
+    private static final int STRIPES = 64;
+
+    private final Map<UUID, Entry> byId = new ConcurrentHashMap<>();
+    private final NavigableMap<Long, MockEmployee> inOrder = new ConcurrentSkipListMap<>();
+
+    /** Folded name to the sequence numbers and ids of the employees with that name; guarded by the name's stripe. */
+    private final Map<String, NavigableMap<Long, UUID>> byName = new ConcurrentHashMap<>();
+
+    private final Lock[] stripes = new Lock[STRIPES];
+    private final ReadWriteLock consistency = new ReentrantReadWriteLock();
+    private final AtomicLong insertSeq = new AtomicLong();
+    private final AtomicLong version = new AtomicLong();
+    private volatile RosterSnapshot published;
+    private final ChangeLog changes;
+    private final RosterJournal journal;
+
+    public EmployeeStore(List<MockEmployee> seed, int changeLogCapacity) {
+        this(seed, changeLogCapacity, Optional.empty());
+    }
+
+    /** With a journal, the seed is the roster it recovered and is not journaled again. */
+    @Autowired
+    public EmployeeStore(
+            @Qualifier("mockEmployees") List<MockEmployee> seed,
+            @Value("${mock.employees.changes.capacity:10000}") int changeLogCapacity,
+            Optional<RosterJournal> journal) {
+        this.journal = journal.orElse(null);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.changes = new ChangeLog(changeLogCapacity);
+        seed.forEach(employee -> insert(employee, false));
+        version.set(0);
+        log.info("Employee store seeded with {} employees", byId.size());
+    }
+
+    public Optional<MockEmployee> findById(@NonNull UUID id) {
+        Entry entry = byId.get(id);
+        return entry == null ? Optional.empty() : Optional.of(entry.employee());
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    /** Version of the latest mutation; {@code 0} for the seeded roster. */
+    public long version() {
+        return version.get();
+    }
+
+    public ChangeLog changes() {
+        return changes;
+    }
+
+    public MockEmployee add(@NonNull MockEmployee employee) {
+        insert(employee, true);
+        sync();
+        return employee;
+    }
+
+    /**
+     * Adds generated seed employees, in order, as the constructor does with the initial seed: they are not
+     * journaled or recorded as changes. Change feed readers are made to reset instead, since they cannot
+     * catch up on them change by change.
+     */
+    public void seed(@NonNull List<MockEmployee> employees) {
+        employees.forEach(employee -> insert(employee, false));
+        changes.truncateThrough(version.get());
+    }
+
+    /** Adds every employee, in order, with a single journal sync at the end. */
+    public List<MockEmployee> addAll(@NonNull List<MockEmployee> employees) {
+        employees.forEach(employee -> insert(employee, true));
+        sync();
+        return employees;
+    }
+
+    private MockEmployee insert(MockEmployee employee, boolean logged) {
+        String key = fold(employee.getName());
+        consistency.readLock().lock();
+        Lock stripe = stripe(key);
+        stripe.lock();
+        try {
+            long seq = insertSeq.incrementAndGet();
+            if (byId.putIfAbsent(employee.getId(), new Entry(seq, employee)) != null) {
+                throw new IllegalStateException("Duplicate employee id " + employee.getId());
+            }
+            inOrder.put(seq, employee);
+            byName.computeIfAbsent(key, k -> new TreeMap<>()).put(seq, employee.getId());
+            long v = version.incrementAndGet();
+            if (logged) {
+                changes.append(v, MockEmployeeChange.Type.CREATED, employee);
+                if (journal != null) {
+                    journal.logCreated(employee);
+                }
+            }
+            return employee;
+        } finally {
+            stripe.unlock();
+            consistency.readLock().unlock();
+        }
+    }
+
+    /** Removes the earliest added employee with the given name, ignoring case. */
+    public Optional<MockEmployee> removeByName(@NonNull String name) {
+        Optional<MockEmployee> removed = unlinkByName(name);
+        removed.ifPresent(employee -> sync());
+        return removed;
+    }
+
+    public Optional<MockEmployee> removeById(@NonNull UUID id) {
+        Optional<MockEmployee> removed = unlinkById(id);
+        removed.ifPresent(employee -> sync());
+        return removed;
+    }
+
+    /** Removes the employees with the given ids, one result per id, with a single journal sync at the end. */
+    public List<Optional<MockEmployee>> removeAllById(@NonNull List<UUID> ids) {
+        List<Optional<MockEmployee>> removed = new ArrayList<>(ids.size());
+        ids.forEach(id -> removed.add(unlinkById(id)));
+        sync();
+        return removed;
+    }
+
+    private Optional<MockEmployee> unlinkByName(String name) {
+        String key = fold(name);
+        consistency.readLock().lock();
+        Lock stripe = stripe(key);
+        stripe.lock();
+        try {
+            NavigableMap<Long, UUID> ids = byName.get(key);
+            if (ids == null || ids.isEmpty()) {
+                return Optional.empty();
+            }
+            return Optional.of(unlink(ids.firstEntry().getValue(), key));
+        } finally {
+            stripe.unlock();
+            consistency.readLock().unlock();
+        }
+    }
+
+    private Optional<MockEmployee> unlinkById(UUID id) {
+        Entry entry = byId.get(id);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        String key = fold(entry.employee().getName());
+        consistency.readLock().lock();
+        Lock stripe = stripe(key);
+        stripe.lock();
+        try {
+            // re-check under the lock: a concurrent delete may have won
+            return byId.containsKey(id) ? Optional.of(unlink(id, key)) : Optional.empty();
+        } finally {
+            stripe.unlock();
+            consistency.readLock().unlock();
+        }
+    }
+
+    /** A consistent copy of the roster, in insertion order, as of the returned version. */
+    public RosterSnapshot snapshot() {
+        RosterSnapshot current = published;
+        if (current != null && current.version() == version.get()) {
+            return current;
+        }
+        return snapshot(() -> {});
+    }
+
+    /** Like {@link #snapshot()}, running {@code atCut} at the instant the snapshot is taken, between mutations. */
+    public RosterSnapshot snapshot(@NonNull Runnable atCut) {
+        consistency.writeLock().lock();
+        try {
+            atCut.run();
+            RosterSnapshot current = published;
+            if (current == null || current.version() != version.get()) {
+                current = new RosterSnapshot(version.get(), inOrder);
+                published = current;
+                log.debug("Published roster snapshot version={} size={}", current.version(), byId.size());
+            }
+            return current;
+        } finally {
+            consistency.writeLock().unlock();
+        }
+    }
+
+    // caller holds the stripe for key and the consistency read lock
+    private MockEmployee unlink(UUID id, String key) {
+        Entry entry = byId.remove(id);
+        inOrder.remove(entry.seq());
+        NavigableMap<Long, UUID> ids = byName.get(key);
+        ids.remove(entry.seq());
+        if (ids.isEmpty()) {
+            byName.remove(key);
+        }
+        changes.append(version.incrementAndGet(), MockEmployeeChange.Type.DELETED, entry.employee());
+        if (journal != null) {
+            journal.logDeleted(id);
+        }
+        return entry.employee();
+    }
+
+    private void sync() {
+        if (journal != null) {
+            journal.sync();
+        }
+    }
+
+    private Lock stripe(String key) {
+        return stripes[(key.hashCode() & 0x7fffffff) % STRIPES];
+    }
+
+    private static String fold(String name) {
+        return name == null ? "" : name.toLowerCase(Locale.ROOT);
+    }
+
+    private record Entry(long seq, MockEmployee employee) {}
+}
@@ -0,0 +1,72 @@
+package com.reliaquest.server.store;
+
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Compacts the {@link RosterJournal}: every {@code mock.employees.storage.snapshot-interval}, if anything
+ * was logged since the last snapshot, cuts a new log segment and writes the roster as of the cut as the
+ * next snapshot, which lets the journal drop the segments before it. A final snapshot on shutdown makes
+ * the next start read a snapshot only.
+ * <p>
+ * Only the cut holds mutations off; the snapshot file is written from the immutable copy afterwards.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "mock.employees.storage", name = "enabled", havingValue = "true")
+public class RosterCheckpointer {
+
+    private final EmployeeStore store;
+    private final RosterJournal journal;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        final var thread = new Thread(r, "roster-checkpoint");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public RosterCheckpointer(
+            EmployeeStore store,
+            RosterJournal journal,
+            @Value("${mock.employees.storage.snapshot-interval:5m}") Duration interval) {
+        this.store = store;
+        this.journal = journal;
+        scheduler.scheduleWithFixedDelay(this::checkpointQuietly, interval.toMillis(), interval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    /*
+     * Snapshots the roster if anything was logged since the last snapshot.
+     */
+    public synchronized void checkpoint() {
+        if (journal.sinceCut() == 0) {
+            return;
+        }
+        final var cut = new AtomicLong();
+        final var snapshot = store.snapshot(() -> cut.set(journal.cut()));
+        journal.writeSnapshot(cut.get(), snapshot.employees());
+    }
+
+    private void checkpointQuietly() {
+        try {
+            checkpoint();
+        } catch (RuntimeException ex) {
+            // the log still has everything; try again next time
+            log.error("Roster checkpoint failed", ex);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        scheduler.shutdownNow();
+        scheduler.awaitTermination(10, TimeUnit.SECONDS);
+        checkpointQuietly();
+    }
+}
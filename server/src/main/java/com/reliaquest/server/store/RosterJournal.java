@@ -0,0 +1,511 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Durable storage for the roster, on when {@code mock.employees.storage.enabled} is set: an append-only
+ * write-ahead log of creates and deletes plus compacted snapshot files, all under
+ * {@code mock.employees.storage.dir}.
+ * <ul>
+ *   <li>{@code snapshot-<n>.dat} is the whole roster, in roster order, as of the start of
+ *       {@code wal-<n>.log}; the log segment holds every mutation since, in the order they were applied
+ *       to each employee.</li>
+ *   <li>Records are framed as {@code [payload length][CRC32C of payload][payload]}. A torn record at the
+ *       end of the last segment is what a crash mid-append leaves behind, and recovery truncates it; a
+ *       corrupt record anywhere else, or no readable snapshot, fails recovery rather than bring back a
+ *       roster with writes missing from the middle.</li>
+ *   <li>{@link EmployeeStore} appends under its locks, which only copies the record into a buffer, and
+ *       then waits in {@link #sync()} after releasing them. Syncs are group commits: one writer writes the
+ *       buffer out and fsyncs it for everyone who appended meanwhile, so concurrent writes share fsyncs.
+ *       Once a write or fsync has failed, what reached the disk is unknown, so the journal stays failed:
+ *       every later sync throws.</li>
+ *   <li>{@link RosterCheckpointer} periodically cuts a new segment and writes the snapshot it starts from;
+ *       once that snapshot is durable, older snapshots and segments are deleted.</li>
+ * </ul>
+ * Recovery memory-maps the newest readable snapshot and the segments from its generation on and decodes
+ * them in one sequential pass, with no JSON or Datafaker involved, so a large roster comes back in the time
+ * it takes to read its files rather than to generate it again.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "mock.employees.storage", name = "enabled", havingValue = "true")
+public class RosterJournal {
+
+    private static final int SNAPSHOT_MAGIC = 0x524f5354; // "ROST"
+    private static final int HEADER = 8;
+    private static final byte CREATED = 1;
+    private static final byte DELETED = 2;
+    private static final int WRITE_BUFFER = 1 << 20;
+
+    private final Path dir;
+    private final Object syncLock = new Object();
+
+    // guarded by this
+    private ByteBuffer pending = ByteBuffer.allocate(64 * 1024);
+    private long appended;
+    private long appendedAtCut;
+
+    // guarded by syncLock
+    private ByteBuffer spare = ByteBuffer.allocate(64 * 1024);
+    private FileChannel segment;
+    private long generation;
+
+    /** Bytes appended and fsynced so far, across segments. */
+    private volatile long durable;
+
+    /** Set by the first failed write or fsync; from then on nothing is reported durable. */
+    private volatile IOException failure;
+
+    public RosterJournal(@Value("${mock.employees.storage.dir:data}") String dir) {
+        this.dir = Path.of(dir).toAbsolutePath();
+    }
+
+    /*
+     * Rebuilds the roster from the newest snapshot and the log after it, or, when there is nothing stored
+     * yet, takes the roster from seed and writes it as the first snapshot. Either way the log is open for
+     * appends afterwards.
+     */
+    public List<MockEmployee> recover(@NonNull Supplier<List<MockEmployee>> seed) {
+        try {
+            Files.createDirectories(dir);
+            final var snapshots = generations("snapshot-", ".dat");
+            final var segments = generations("wal-", ".log");
+            if (snapshots.isEmpty() && segments.isEmpty()) {
+                final var roster = seed.get();
+                writeSnapshot(1, roster);
+                synchronized (syncLock) {
+                    open(1);
+                }
+                log.info("Roster storage initialized in {} with {} employees", dir, roster.size());
+                return roster;
+            }
+            final long start = System.nanoTime();
+            Map<UUID, MockEmployee> roster = null;
+            long base = 0;
+            for (int i = snapshots.size() - 1; i >= 0; i--) {
+                try {
+                    roster = readSnapshot(snapshots.get(i));
+                    base = snapshots.get(i);
+                    break;
+                } catch (IOException ex) {
+                    log.warn("Skipping unreadable snapshot {}: {}", snapshotPath(snapshots.get(i)), ex.toString());
+                }
+            }
+            if (roster == null) {
+                // the log alone is not the roster: the employees it does not mention would be lost, and the
+                // next checkpoint would make that permanent
+                throw new IOException("No readable snapshot among " + snapshots + " for log segments " + segments);
+            }
+            long last = base;
+            long records = 0;
+            for (long gen : segments) {
+                if (gen < base) {
+                    continue;
+                }
+                if (gen != last && gen != last + 1) {
+                    throw new IOException("Log segments " + (last + 1) + " to " + (gen - 1) + " are missing");
+                }
+                records += replay(gen, roster, gen == segments.get(segments.size() - 1));
+                last = gen;
+            }
+            synchronized (syncLock) {
+                open(last);
+            }
+            log.info(
+                    "Recovered {} employees from {} (snapshot {}, {} log records) in {} ms",
+                    roster.size(),
+                    dir,
+                    base,
+                    records,
+                    (System.nanoTime() - start) / 1_000_000);
+            return new ArrayList<>(roster.values());
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to recover the roster from " + dir, ex);
+        }
+    }
+
+    void logCreated(MockEmployee employee) {
+        append(frame(CREATED, employee.getId(), employee));
+    }
+
+    void logDeleted(UUID id) {
+        append(frame(DELETED, id, null));
+    }
+
+    private synchronized void append(byte[] record) {
+        if (pending.remaining() < record.length) {
+            final var grown = ByteBuffer.allocate(Math.max(pending.capacity() * 2, pending.position() + record.length));
+            grown.put(pending.flip());
+            pending = grown;
+        }
+        pending.put(record);
+        appended += record.length;
+    }
+
+    /*
+     * Returns once everything appended so far, by any thread, is on disk.
+     */
+    public void sync() {
+        failIfFailed();
+        final long target;
+        synchronized (this) {
+            target = appended;
+        }
+        if (durable >= target) {
+            return;
+        }
+        synchronized (syncLock) {
+            // an fsync that ran while we waited for the lock may have covered us, or failed
+            failIfFailed();
+            if (durable >= target) {
+                return;
+            }
+            try {
+                flush();
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Failed to sync the roster log", ex);
+            }
+        }
+    }
+
+    /** Bytes appended since the last cut. */
+    public synchronized long sinceCut() {
+        return appended - appendedAtCut;
+    }
+
+    /*
+     * Syncs the current segment and starts the next; returns the new generation. The caller must hold off
+     * mutations meanwhile, so that the cut falls between two of them.
+     */
+    long cut() {
+        synchronized (syncLock) {
+            try {
+                flush();
+                segment.close();
+                open(generation + 1);
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Failed to start a new roster log segment", ex);
+            }
+            synchronized (this) {
+                appendedAtCut = appended;
+            }
+            return generation;
+        }
+    }
+
+    /*
+     * Writes the roster as of the start of segment generation, then deletes what it supersedes.
+     */
+    void writeSnapshot(long generation, List<MockEmployee> employees) {
+        final long start = System.nanoTime();
+        final var target = snapshotPath(generation);
+        final var tmp = dir.resolve(target.getFileName() + ".tmp");
+        try {
+            try (var out = FileChannel.open(
+                    tmp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                var buffer = ByteBuffer.allocate(WRITE_BUFFER);
+                buffer.putInt(SNAPSHOT_MAGIC).putInt(employees.size());
+                for (MockEmployee employee : employees) {
+                    final var record = frame(CREATED, employee.getId(), employee);
+                    if (buffer.remaining() < record.length) {
+                        writeFully(out, buffer.flip());
+                        buffer.clear();
+                        if (buffer.remaining() < record.length) {
+                            buffer = ByteBuffer.allocate(record.length);
+                        }
+                    }
+                    buffer.put(record);
+                }
+                writeFully(out, buffer.flip());
+                out.force(true);
+            }
+            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            forceDirectory();
+            for (long gen : generations("snapshot-", ".dat")) {
+                if (gen < generation) {
+                    Files.deleteIfExists(snapshotPath(gen));
+                }
+            }
+            for (long gen : generations("wal-", ".log")) {
+                if (gen < generation) {
+                    Files.deleteIfExists(segmentPath(gen));
+                }
+            }
+            log.info(
+                    "Wrote roster snapshot {} ({} employees, {} bytes) in {} ms",
+                    target.getFileName(),
+                    employees.size(),
+                    Files.size(target),
+                    (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to write roster snapshot " + target, ex);
+        }
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        synchronized (syncLock) {
+            if (segment != null && segment.isOpen()) {
+                try {
+                    flush();
+                } finally {
+                    segment.close();
+                }
+            }
+        }
+    }
+
+    private void failIfFailed() {
+        final var failed = failure;
+        if (failed != null) {
+            throw new UncheckedIOException("The roster log failed earlier; writes are no longer durable", failed);
+        }
+    }
+
+    // caller holds syncLock
+    private void flush() throws IOException {
+        if (failure != null) {
+            throw new IOException("The roster log failed earlier", failure);
+        }
+        final ByteBuffer batch;
+        final long upTo;
+        synchronized (this) {
+            batch = pending;
+            pending = spare;
+            upTo = appended;
+        }
+        try {
+            writeFully(segment, batch.flip());
+            segment.force(false);
+        } catch (IOException ex) {
+            failure = ex;
+            synchronized (this) {
+                // keep the batch, ahead of what was appended since, in a buffer of its own
+                final var kept = ByteBuffer.allocate(batch.limit() + pending.position());
+                kept.put(batch.position(0)).put(pending.flip());
+                pending = kept;
+                spare = ByteBuffer.allocate(spare.capacity());
+            }
+            throw ex;
+        }
+        spare = batch.clear();
+        durable = upTo;
+    }
+
+    // caller holds syncLock
+    private void open(long gen) throws IOException {
+        final var path = segmentPath(gen);
+        final boolean created = !Files.exists(path);
+        segment = openSegment(path);
+        segment.position(segment.size());
+        generation = gen;
+        if (created) {
+            forceDirectory();
+        }
+    }
+
+    /** Opens a log segment for appending; tests substitute channels that fail. */
+    FileChannel openSegment(Path path) throws IOException {
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+    }
+
+    private Map<UUID, MockEmployee> readSnapshot(long gen) throws IOException {
+        try (var channel = FileChannel.open(snapshotPath(gen), StandardOpenOption.READ)) {
+            final var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < 8 || buffer.getInt() != SNAPSHOT_MAGIC) {
+                throw new IOException("not a roster snapshot");
+            }
+            final int count = buffer.getInt();
+            final var roster = new LinkedHashMap<UUID, MockEmployee>(Math.max(16, count * 4 / 3 + 1));
+            for (int i = 0; i < count; i++) {
+                final var payload = next(buffer);
+                if (payload == null || payload.get() != CREATED) {
+                    throw new IOException("corrupt record " + i + " of " + count);
+                }
+                final var employee = readEmployee(payload);
+                roster.put(employee.getId(), employee);
+            }
+            return roster;
+        }
+    }
+
+    /** Applies the records of one segment to roster; returns how many were read. */
+    private long replay(long gen, Map<UUID, MockEmployee> roster, boolean tail) throws IOException {
+        final var path = segmentPath(gen);
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            final long size = channel.size();
+            final var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            long records = 0;
+            long valid = 0;
+            ByteBuffer payload;
+            while ((payload = next(buffer)) != null) {
+                final byte type = payload.get();
+                if (type == CREATED) {
+                    final var employee = readEmployee(payload);
+                    roster.put(employee.getId(), employee);
+                } else if (type == DELETED) {
+                    roster.remove(new UUID(payload.getLong(), payload.getLong()));
+                } else {
+                    break;
+                }
+                records++;
+                valid = buffer.position();
+            }
+            if (valid < size) {
+                if (!tail) {
+                    // later segments were written after this one; skipping ahead would apply them to a
+                    // roster missing the writes in between
+                    throw new IOException("Corrupt record at offset " + valid + " of " + path);
+                }
+                log.warn("Discarding {} bytes of torn records at offset {} of {}", size - valid, valid, path);
+                channel.truncate(valid);
+                channel.force(true);
+            }
+            return records;
+        }
+    }
+
+    /**
+     * The payload of the record at the buffer's position, advancing past it, or {@code null} (leaving the
+     * position alone) if there is no complete, intact record there.
+     */
+    private static ByteBuffer next(ByteBuffer buffer) {
+        final int at = buffer.position();
+        if (buffer.remaining() < HEADER) {
+            return null;
+        }
+        final int length = buffer.getInt(at);
+        if (length <= 0 || length > buffer.remaining() - HEADER) {
+            return null;
+        }
+        final var payload = buffer.slice(at + HEADER, length);
+        final var crc = new CRC32C();
+        crc.update(payload.duplicate());
+        if ((int) crc.getValue() != buffer.getInt(at + 4)) {
+            return null;
+        }
+        buffer.position(at + HEADER + length);
+        return payload;
+    }
+
+    private static byte[] frame(byte type, UUID id, MockEmployee employee) {
+        final byte[] name = employee == null ? null : utf8(employee.getName());
+        final byte[] title = employee == null ? null : utf8(employee.getTitle());
+        final byte[] email = employee == null ? null : utf8(employee.getEmail());
+        final int length =
+                1 + 16 + (employee == null ? 0 : 8 + sizeOf(name) + sizeOf(title) + sizeOf(email));
+        final var buffer = ByteBuffer.allocate(HEADER + length).position(HEADER);
+        buffer.put(type).putLong(id.getMostSignificantBits()).putLong(id.getLeastSignificantBits());
+        if (employee != null) {
+            putString(buffer, name);
+            buffer.putInt(orMin(employee.getSalary())).putInt(orMin(employee.getAge()));
+            putString(buffer, title);
+            putString(buffer, email);
+        }
+        final var crc = new CRC32C();
+        crc.update(buffer.array(), HEADER, length);
+        buffer.putInt(0, length).putInt(4, (int) crc.getValue());
+        return buffer.array();
+    }
+
+    private static MockEmployee readEmployee(ByteBuffer payload) {
+        final var id = new UUID(payload.getLong(), payload.getLong());
+        final var name = getString(payload);
+        final var salary = orNull(payload.getInt());
+        final var age = orNull(payload.getInt());
+        return new MockEmployee(id, name, salary, age, getString(payload), getString(payload));
+    }
+
+    private static byte[] utf8(String s) {
+        return s == null ? null : s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int sizeOf(byte[] s) {
+        return 4 + (s == null ? 0 : s.length);
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] s) {
+        if (s == null) {
+            buffer.putInt(-1);
+        } else {
+            buffer.putInt(s.length).put(s);
+        }
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        final int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        final var bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int orMin(Integer value) {
+        return value == null ? Integer.MIN_VALUE : value;
+    }
+
+    private static Integer orNull(int value) {
+        return value == Integer.MIN_VALUE ? null : value;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /** Makes created, renamed and deleted files durable; not supported everywhere, hence best effort. */
+    private void forceDirectory() {
+        try (var channel = FileChannel.open(dir, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException ex) {
+            log.debug("Could not fsync {}: {}", dir, ex.toString());
+        }
+    }
+
+    /** Generations of the files named prefix + generation + suffix, in ascending order. */
+    private List<Long> generations(String prefix, String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(prefix) && name.endsWith(suffix))
+                    .map(name -> name.substring(prefix.length(), name.length() - suffix.length()))
+                    .filter(gen -> !gen.isEmpty() && gen.chars().allMatch(Character::isDigit))
+                    .map(Long::parseLong)
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private Path snapshotPath(long gen) {
+        return dir.resolve("snapshot-" + gen + ".dat");
+    }
+
+    private Path segmentPath(long gen) {
+        return dir.resolve("wal-" + gen + ".log");
+    }
+}
@@ -0,0 +1,79 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+
+/**
+ * Immutable roster as of a store version, in insertion order.
+ * <p>
+ * Every employee keeps the insertion sequence number the store gave it, ascending in roster order, and
+ * keyset pages ({@link #page}) are cut by it, so a paged walk returns the roster in the same order as the
+ * whole roster does, and an employee added later is always at the end. Sequence numbers are only meaningful
+ * within one run of the server, which is why every page reports the version it was cut from.
+ */
+public final class RosterSnapshot {
+
+    private final long version;
+    private final List<MockEmployee> employees;
+    private final long[] seqs;
+
+    /** @param inOrder the roster by insertion sequence number */
+    public RosterSnapshot(long version, NavigableMap<Long, MockEmployee> inOrder) {
+        this.version = version;
+        List<MockEmployee> employees = new ArrayList<>(inOrder.size());
+        long[] seqs = new long[inOrder.size()];
+        for (Map.Entry<Long, MockEmployee> entry : inOrder.entrySet()) {
+            seqs[employees.size()] = entry.getKey();
+            employees.add(entry.getValue());
+        }
+        this.employees = List.copyOf(employees);
+        this.seqs = seqs;
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public List<MockEmployee> employees() {
+        return employees;
+    }
+
+    /** Sequence number of the newest employee, or {@code 0} for an empty roster. */
+    public long lastSeq() {
+        return seqs.length == 0 ? 0 : seqs[seqs.length - 1];
+    }
+
+    /**
+     * Up to {@code limit} employees in insertion order, starting at sequence number {@code from} (inclusive)
+     * or just past {@code after} (exclusive), whichever is later, and stopping before {@code to}. Null bounds
+     * are open.
+     */
+    public Page page(Long from, Long after, Long to, int limit) {
+        int start = 0;
+        if (from != null) {
+            start = Math.max(start, lowerBound(from, false));
+        }
+        if (after != null) {
+            start = Math.max(start, lowerBound(after, true));
+        }
+        int end = to == null ? seqs.length : lowerBound(to, false);
+        if (start >= end) {
+            return new Page(List.of(), null);
+        }
+        int stop = Math.min(end, start + limit);
+        return new Page(employees.subList(start, stop), stop < end ? seqs[stop - 1] : null);
+    }
+
+    /** Index of the first employee whose sequence number is {@code >= seq}, or {@code > seq} when {@code exclusive}. */
+    private int lowerBound(long seq, boolean exclusive) {
+        int at = Arrays.binarySearch(seqs, seq);
+        return at < 0 ? -at - 1 : exclusive ? at + 1 : at;
+    }
+
+    /** @param nextCursor the {@code after} value for the next page, {@code null} once the range is exhausted */
+    public record Page(List<MockEmployee> employees, Long nextCursor) {}
+}
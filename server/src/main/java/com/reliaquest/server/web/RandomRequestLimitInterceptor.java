@@ -7,28 +7,46 @@ import java.time.Instant;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.random.RandomGenerator;
 import lombok.Getter;
+import lombok.NonNull;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.servlet.HandlerInterceptor;
 
+/*
+ * Rejects requests with 429 once the limit has been let through, until the backoff has passed since the
+ * last one let through. Both are picked at random (5-9 requests, 30-89s) unless given.
+ */
 public class RandomRequestLimitInterceptor implements HandlerInterceptor {
 
-    private static final int REQUEST_LIMIT = RandomGenerator.getDefault().nextInt(5, 10);
-    private static final Duration REQUEST_BACKOFF_DURATION =
-            Duration.ofSeconds(RandomGenerator.getDefault().nextInt(30, 90));
+    @Getter
+    private final int limit;
+
+    @Getter
+    private final Duration backoff;
 
     private final AtomicReference<RequestLimit> requestLimit = new AtomicReference<>(RequestLimit.init());
 
+    public RandomRequestLimitInterceptor() {
+        this(
+                RandomGenerator.getDefault().nextInt(5, 10),
+                Duration.ofSeconds(RandomGenerator.getDefault().nextInt(30, 90)));
+    }
+
+    public RandomRequestLimitInterceptor(int limit, @NonNull Duration backoff) {
+        this.limit = limit;
+        this.backoff = backoff;
+    }
+
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
-        if (requestLimit.get().getCount() >= REQUEST_LIMIT) {
+        if (requestLimit.get().getCount() >= limit) {
             if (Instant.now()
-                    .minus(REQUEST_BACKOFF_DURATION)
+                    .minus(backoff)
                     .isBefore(requestLimit.get().getLastRequested())) {
                 response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
                 return false;
             }
             if (Instant.now()
-                    .minus(REQUEST_BACKOFF_DURATION)
+                    .minus(backoff)
                     .isAfter(requestLimit.get().getLastRequested())) {
                 requestLimit.set(RequestLimit.init());
             }
@@ -0,0 +1,71 @@
+package com.reliaquest.server.config;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.store.EmployeeStore;
+import com.reliaquest.server.store.RosterJournal;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.*;
+
+class LazyRosterSeederTest {
+
+    private static final int COUNT = MockEmployeeGenerator.CHUNK + 10;
+
+    private final EmployeeStore store = new EmployeeStore(List.of(), 100);
+    private final CountDownLatch seeded = new CountDownLatch(1);
+    private final MockEmployeeGenerator generator = new MockEmployeeGenerator(Locale.US, 7L, 2) {
+        @Override
+        public void generate(int count, Consumer<List<MockEmployee>> sink) {
+            super.generate(count, sink);
+            seeded.countDown();
+        }
+    };
+    private final LazyRosterSeeder seeder = new LazyRosterSeeder(
+            generator, store, new DefaultListableBeanFactory().getBeanProvider(RosterJournal.class), COUNT);
+
+    @Test
+    void seed_addsTheGeneratedRosterInTheBackground_afterWhatIsAlreadyThere() throws Exception {
+        var early = store.add(employee("early"));
+
+        seeder.seed();
+
+        assertThat(seeded.await(30, TimeUnit.SECONDS)).isTrue();
+        List<MockEmployee> expected = new ArrayList<>(List.of(early));
+        expected.addAll(new MockEmployeeGenerator(Locale.US, 7L, 1).generate(COUNT));
+        assertThat(store.snapshot().employees()).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void seed_makesChangeFeedReadersFromBeforeItReset_andIsNotInTheFeed() throws Exception {
+        store.add(employee("early"));
+        assertThat(store.changes().retains(0)).isTrue();
+
+        seeder.seed();
+        assertThat(seeded.await(30, TimeUnit.SECONDS)).isTrue();
+
+        long afterSeeding = store.version();
+        assertThat(afterSeeding).isEqualTo(COUNT + 1);
+        assertThat(store.changes().retains(0)).isFalse();
+        assertThat(store.changes().retains(1)).isFalse();
+        assertThat(store.changes().retains(afterSeeding)).isTrue();
+        assertThat(store.changes().since(afterSeeding, 10)).isEmpty();
+
+        var late = store.add(employee("late"));
+        var changes = store.changes().since(afterSeeding, 10);
+        assertThat(changes).hasSize(1);
+        assertThat(changes.get(0).employee()).isEqualTo(late);
+    }
+
+    private static MockEmployee employee(String name) {
+        return new MockEmployee(UUID.randomUUID(), name, 100_000, 30, "Engineer", name + "@company.com");
+    }
+}
@@ -0,0 +1,54 @@
+package com.reliaquest.server.config;
+
+import com.reliaquest.server.model.MockEmployee;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.*;
+
+class MockEmployeeGeneratorTest {
+
+    private static final int COUNT = 3 * MockEmployeeGenerator.CHUNK + 17;
+
+    @Test
+    void sameSeed_givesTheSameRoster_atAnyParallelism() {
+        var oneThread = new MockEmployeeGenerator(Locale.US, 42L, 1).generate(COUNT);
+        var fourThreads = new MockEmployeeGenerator(Locale.US, 42L, 4).generate(COUNT);
+        var perCore = new MockEmployeeGenerator(Locale.US, 42L, 0).generate(COUNT);
+
+        assertThat(oneThread).hasSize(COUNT);
+        assertThat(fourThreads).containsExactlyElementsOf(oneThread);
+        assertThat(perCore).containsExactlyElementsOf(oneThread);
+        assertThat(new HashSet<>(oneThread.stream().map(MockEmployee::getId).toList())).hasSize(COUNT);
+    }
+
+    @Test
+    void differentSeeds_giveDifferentRosters() {
+        var first = new MockEmployeeGenerator(Locale.US, 1L, 2).generate(10);
+        var second = new MockEmployeeGenerator(Locale.US, 2L, 2).generate(10);
+
+        assertThat(second).isNotEqualTo(first);
+    }
+
+    @Test
+    void generate_handsChunksToTheSinkInRosterOrder_onTheCallingThread() {
+        var generator = new MockEmployeeGenerator(Locale.US, 42L, 4);
+        List<List<MockEmployee>> chunks = new ArrayList<>();
+        List<String> threads = new ArrayList<>();
+
+        generator.generate(COUNT, chunk -> {
+            chunks.add(chunk);
+            threads.add(Thread.currentThread().getName());
+        });
+
+        int chunk = MockEmployeeGenerator.CHUNK;
+        assertThat(chunks.stream().map(List::size).toList()).containsExactly(chunk, chunk, chunk, 17);
+        assertThat(chunks.stream().flatMap(List::stream).toList())
+                .containsExactlyElementsOf(generator.generate(COUNT));
+        assertThat(threads).containsOnly(Thread.currentThread().getName());
+    }
+}
@@ -0,0 +1,162 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChange;
+import com.reliaquest.server.store.EmployeeStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ChangeStreamServiceTest {
+
+    private final EmployeeStore store = new EmployeeStore(List.of(employee("seed")), 3);
+    private final List<RecordingEmitter> emitters = new CopyOnWriteArrayList<>();
+    private final ChangeStreamService changeStream = changeStream(store, 100);
+
+    private ChangeStreamService changeStream(EmployeeStore store, long maxLag) {
+        return new ChangeStreamService(
+                new MockEmployeeService(null, store, null, null), Duration.ofMinutes(1), maxLag) {
+            @Override
+            SseEmitter newEmitter(long timeoutMillis) {
+                return emitters.isEmpty() ? new RecordingEmitter(timeoutMillis) : emitters.remove(0);
+            }
+        };
+    }
+
+    @Test
+    void open_sendsTheChangesSinceTheCursor_thenEachNewOne_fromASenderThread() throws Exception {
+        var a = store.add(employee("a"));
+        store.add(employee("b"));
+
+        var emitter = (RecordingEmitter) changeStream.open(1);
+        emitter.awaitEvents(1);
+        var c = store.add(employee("c"));
+        store.removeById(a.getId());
+
+        assertThat(emitter.awaitEvents(3))
+                .containsExactly(
+                        "id:2\nevent:created\ndata:#2\n\n",
+                        "id:3\nevent:created\ndata:#3\n\n",
+                        "id:4\nevent:deleted\ndata:#4\n\n");
+        assertThat(emitter.threads.stream().allMatch(thread -> thread.startsWith("change-stream-"))).isTrue();
+        assertThat(emitter.completed).isFalse();
+        assertThat(store.findById(c.getId())).isPresent();
+        changeStream.shutdown();
+    }
+
+    @Test
+    void open_behindTheRetentionWindow_sendsResetWithTheLatestSequenceNumber_andCompletes() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            store.add(employee("e" + i));
+        }
+
+        var emitter = (RecordingEmitter) changeStream.open(1);
+
+        assertThat(emitter.awaitEvents(1)).containsExactly("event:reset\ndata:5\n\n");
+        assertThat(emitter.completed).isTrue();
+        changeStream.shutdown();
+    }
+
+    @Test
+    void open_pastTheLatestSequenceNumber_sendsReset() throws Exception {
+        var emitter = (RecordingEmitter) changeStream.open(7);
+
+        assertThat(emitter.awaitEvents(1)).containsExactly("event:reset\ndata:0\n\n");
+        assertThat(emitter.completed).isTrue();
+        changeStream.shutdown();
+    }
+
+    @Test
+    void aBlockedSubscriber_doesNotHoldUpTheOthers() throws Exception {
+        var store = new EmployeeStore(List.of(), 100);
+        var changeStream = changeStream(store, 100);
+        var release = new CountDownLatch(1);
+        var blocked = new RecordingEmitter(60_000) {
+            @Override
+            public void send(SseEventBuilder event) {
+                super.send(event);
+                try {
+                    release.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        emitters.add(blocked);
+        changeStream.open(0);
+        var other = (RecordingEmitter) changeStream.open(0);
+
+        store.add(employee("a"));
+        blocked.awaitEvents(1);
+        for (int i = 0; i < 20; i++) {
+            store.add(employee("b" + i));
+        }
+
+        assertThat(other.awaitEvents(21)).hasSize(21);
+        assertThat(blocked.events).hasSize(1);
+        release.countDown();
+        assertThat(blocked.awaitEvents(21)).hasSize(21);
+        changeStream.shutdown();
+    }
+
+    @Test
+    void open_furtherBehindThanTheMaxLag_sendsReset() throws Exception {
+        var changeStream = changeStream(store, 2);
+        store.add(employee("a"));
+        store.add(employee("b"));
+        store.add(employee("c"));
+
+        var emitter = (RecordingEmitter) changeStream.open(0);
+
+        assertThat(emitter.awaitEvents(1)).containsExactly("event:reset\ndata:3\n\n");
+        assertThat(emitter.completed).isTrue();
+        changeStream.shutdown();
+    }
+
+    private static MockEmployee employee(String name) {
+        return new MockEmployee(UUID.randomUUID(), name, 100_000, 30, "Engineer", name + "@company.com");
+    }
+
+    /** Records each event as its wire text, with a change as {@code #<seq>}, and the thread that sent it. */
+    private static class RecordingEmitter extends SseEmitter {
+        final List<String> events = new CopyOnWriteArrayList<>();
+        final List<String> threads = new CopyOnWriteArrayList<>();
+        volatile boolean completed;
+
+        RecordingEmitter(long timeoutMillis) {
+            super(timeoutMillis);
+        }
+
+        @Override
+        public void send(SseEventBuilder event) {
+            var text = new StringBuilder();
+            for (var part : event.build()) {
+                text.append(part.getData() instanceof MockEmployeeChange change ? "#" + change.seq() : part.getData());
+            }
+            events.add(text.toString());
+            threads.add(Thread.currentThread().getName());
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        List<String> awaitEvents(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+            while (events.size() < count && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            assertThat(events).hasSizeGreaterThanOrEqualTo(count);
+            return events;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChange;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static com.reliaquest.server.model.MockEmployeeChange.Type.CREATED;
+import static com.reliaquest.server.model.MockEmployeeChange.Type.DELETED;
+import static org.assertj.core.api.Assertions.*;
+
+class ChangeLogTest {
+
+    private final MockEmployee employee =
+            new MockEmployee(UUID.randomUUID(), "a", 100_000, 30, "Engineer", "a@company.com");
+
+    @Test
+    void since_stopsAtAGap_untilTheMissingChangeIsAppended() {
+        var log = new ChangeLog(100);
+        log.append(1, CREATED, employee);
+        log.append(2, DELETED, employee);
+        log.append(4, CREATED, employee);
+
+        assertThat(seqs(log.since(0, 10))).containsExactly(1L, 2L);
+        assertThat(log.since(2, 10)).isEmpty();
+
+        log.append(3, DELETED, employee);
+        assertThat(seqs(log.since(0, 10))).containsExactly(1L, 2L, 3L, 4L);
+        assertThat(seqs(log.since(1, 2))).containsExactly(2L, 3L);
+    }
+
+    @Test
+    void capacity_dropsTheOldestChanges_andReadersBehindThemMustReset() {
+        var log = new ChangeLog(3);
+        for (long seq = 1; seq <= 5; seq++) {
+            log.append(seq, CREATED, employee);
+        }
+
+        assertThat(log.retains(1)).isFalse();
+        assertThat(log.retains(2)).isTrue();
+        assertThat(seqs(log.since(2, 10))).containsExactly(3L, 4L, 5L);
+        assertThat(log.retains(5)).isTrue();
+    }
+
+    @Test
+    void truncateThrough_dropsChangesUpToTheSequenceNumber() {
+        var log = new ChangeLog(100);
+        log.append(1, CREATED, employee);
+        log.append(2, CREATED, employee);
+        log.append(3, CREATED, employee);
+
+        log.truncateThrough(2);
+
+        assertThat(log.retains(0)).isFalse();
+        assertThat(log.retains(1)).isFalse();
+        assertThat(log.retains(2)).isTrue();
+        assertThat(seqs(log.since(2, 10))).containsExactly(3L);
+
+        log.truncateThrough(1);
+        assertThat(log.retains(1)).as("truncation never moves back").isFalse();
+    }
+
+    @Test
+    void subscribe_notifiesEveryAppend_untilUnsubscribed() {
+        var log = new ChangeLog(100);
+        List<Long> seen = new ArrayList<>();
+        var unsubscribe = log.subscribe(seen::add);
+
+        log.append(1, CREATED, employee);
+        log.append(2, DELETED, employee);
+        unsubscribe.run();
+        log.append(3, CREATED, employee);
+
+        assertThat(seen).containsExactly(1L, 2L);
+    }
+
+    private static List<Long> seqs(List<MockEmployeeChange> changes) {
+        return changes.stream().map(MockEmployeeChange::seq).toList();
+    }
+}
@@ -0,0 +1,336 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.*;
+
+class RosterJournalTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void recover_seedsAnEmptyDirectory_thenReplaysTheLogOverTheSnapshot() throws IOException {
+        var seed = List.of(employee("a"), employee("b"), employee("c"));
+        var journal = journal();
+        assertThat(journal.recover(() -> seed)).containsExactlyElementsOf(seed);
+        assertThat(Files.exists(dir.resolve("snapshot-1.dat"))).isTrue();
+
+        var added = employee("d");
+        journal.logCreated(added);
+        journal.logDeleted(seed.get(0).getId());
+        journal.sync();
+        journal.close();
+
+        assertThat(journal().recover(RosterJournalTest::noSeed)).containsExactly(seed.get(1), seed.get(2), added);
+    }
+
+    @Test
+    void replay_truncatesATornTail() throws IOException {
+        var journal = journal();
+        journal.recover(List::of);
+        var kept = employee("kept");
+        journal.logCreated(kept);
+        journal.sync();
+        journal.close();
+        long intact = Files.size(segment(1));
+        // a record whose header promises more bytes than were written
+        Files.write(segment(1), new byte[] {0, 0, 0, 100, 1, 2, 3, 4, 5}, StandardOpenOption.APPEND);
+
+        assertThat(journal().recover(RosterJournalTest::noSeed)).containsExactly(kept);
+        assertThat(Files.size(segment(1))).isEqualTo(intact);
+    }
+
+    @Test
+    void replay_rejectsARecordWhoseChecksumDoesNotMatch() throws IOException {
+        var journal = journal();
+        journal.recover(List::of);
+        var first = employee("first");
+        journal.logCreated(first);
+        journal.sync();
+        long firstEnd = Files.size(segment(1));
+        journal.logCreated(employee("second"));
+        journal.sync();
+        journal.close();
+        flipByte(segment(1), Files.size(segment(1)) - 3);
+
+        assertThat(journal().recover(RosterJournalTest::noSeed)).containsExactly(first);
+        assertThat(Files.size(segment(1))).isEqualTo(firstEnd);
+    }
+
+    @Test
+    void recover_failsOnCorruptionBeforeTheLastSegment() throws IOException {
+        var journal = journal();
+        journal.recover(List::of);
+        journal.logCreated(employee("in segment 1"));
+        journal.sync();
+        journal.cut();
+        journal.logCreated(employee("in segment 2"));
+        journal.sync();
+        journal.close();
+        flipByte(segment(1), Files.size(segment(1)) - 3);
+
+        assertThatThrownBy(() -> journal().recover(RosterJournalTest::noSeed))
+                .isInstanceOf(UncheckedIOException.class)
+                .hasRootCauseMessage("Corrupt record at offset 0 of " + segment(1));
+    }
+
+    @Test
+    void recover_failsWithoutAReadableSnapshot() throws IOException {
+        var journal = journal();
+        journal.recover(() -> List.of(employee("a")));
+        journal.logCreated(employee("b"));
+        journal.sync();
+        journal.close();
+        flipByte(dir.resolve("snapshot-1.dat"), 0);
+
+        assertThatThrownBy(() -> journal().recover(RosterJournalTest::noSeed))
+                .isInstanceOf(UncheckedIOException.class)
+                .hasRootCauseMessage("No readable snapshot among [1] for log segments [1]");
+    }
+
+    @Test
+    void sync_isSharedByConcurrentWriters_andCoversEveryoneWhoAppended() throws Exception {
+        var journal = journal();
+        journal.recover(List::of);
+        List<MockEmployee> written = new ArrayList<>();
+        ExecutorService writers = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<MockEmployee>> done = new ArrayList<>();
+            for (int i = 0; i < 2_000; i++) {
+                var e = employee("e" + i);
+                done.add(writers.submit(() -> {
+                    journal.logCreated(e);
+                    journal.sync();
+                    return e;
+                }));
+            }
+            for (var f : done) {
+                written.add(f.get());
+            }
+        } finally {
+            writers.shutdownNow();
+        }
+        // nothing appended since: a no-op
+        journal.sync();
+        journal.close();
+
+        assertThat(journal().recover(RosterJournalTest::noSeed)).containsExactlyInAnyOrderElementsOf(written);
+    }
+
+    @Test
+    void sync_keepsFailingOnceAnFsyncHasFailed_evenIfTheDiskRecovers() throws IOException {
+        var failing = new FailingJournal(dir);
+        failing.recover(List::of);
+        var synced = employee("synced");
+        failing.logCreated(synced);
+        failing.sync();
+
+        failing.channel.failNextForce = true;
+        failing.logCreated(employee("maybe lost"));
+        assertThatThrownBy(failing::sync).isInstanceOf(UncheckedIOException.class);
+        // nothing new appended, and still not durable
+        assertThatThrownBy(failing::sync).isInstanceOf(UncheckedIOException.class);
+        // the next fsync would succeed, but must not vouch for the batch that failed
+        failing.logCreated(employee("after"));
+        assertThatThrownBy(failing::sync).isInstanceOf(UncheckedIOException.class);
+        assertThatThrownBy(failing::cut).isInstanceOf(UncheckedIOException.class);
+        assertThat(failing.channel.forces).isEqualTo(2);
+        failing.channel.close();
+
+        assertThat(journal().recover(RosterJournalTest::noSeed)).contains(synced);
+    }
+
+    @Test
+    void checkpoint_rotatesTheLog_andDeletesOlderGenerations() throws Exception {
+        var seed = List.of(employee("a"), employee("b"));
+        var journal = journal();
+        var store = new EmployeeStore(journal.recover(() -> seed), 100, Optional.of(journal));
+        var checkpointer = new RosterCheckpointer(store, journal, Duration.ofHours(1));
+        var added = store.add(employee("c"));
+        store.removeById(seed.get(0).getId());
+
+        checkpointer.checkpoint();
+        assertThat(files()).containsExactlyInAnyOrder("snapshot-2.dat", "wal-2.log");
+        assertThat(journal.sinceCut()).isZero();
+
+        checkpointer.checkpoint();
+        assertThat(files()).containsExactlyInAnyOrder("snapshot-2.dat", "wal-2.log");
+
+        var late = store.add(employee("d"));
+        checkpointer.shutdown();
+        journal.close();
+        assertThat(files()).containsExactlyInAnyOrder("snapshot-3.dat", "wal-3.log");
+        assertThat(journal().recover(RosterJournalTest::noSeed)).containsExactly(seed.get(1), added, late);
+    }
+
+    private RosterJournal journal() {
+        return new RosterJournal(dir.toString());
+    }
+
+    private Path segment(long gen) {
+        return dir.resolve("wal-" + gen + ".log");
+    }
+
+    private List<String> files() throws IOException {
+        try (var files = Files.list(dir)) {
+            return files.map(path -> path.getFileName().toString()).toList();
+        }
+    }
+
+    private static void flipByte(Path file, long offset) throws IOException {
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            var b = ByteBuffer.allocate(1);
+            channel.read(b, offset);
+            b.put(0, (byte) ~b.get(0));
+            channel.write(b.rewind(), offset);
+        }
+    }
+
+    private static List<MockEmployee> noSeed() {
+        throw new AssertionError("stored roster expected");
+    }
+
+    private static MockEmployee employee(String name) {
+        return new MockEmployee(UUID.randomUUID(), name, 100_000, 30, "Engineer", name + "@company.com");
+    }
+
+    /** Writes its log through a channel whose next fsync can be made to fail. */
+    private static final class FailingJournal extends RosterJournal {
+        FailingChannel channel;
+
+        FailingJournal(Path dir) {
+            super(dir.toString());
+        }
+
+        @Override
+        FileChannel openSegment(Path path) throws IOException {
+            channel = new FailingChannel(super.openSegment(path));
+            return channel;
+        }
+    }
+
+    private static final class FailingChannel extends FileChannel {
+        private final FileChannel delegate;
+        volatile boolean failNextForce;
+        int forces;
+
+        FailingChannel(FileChannel delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void force(boolean metaData) throws IOException {
+            forces++;
+            if (failNextForce) {
+                failNextForce = false;
+                throw new IOException("injected fsync failure");
+            }
+            delegate.force(metaData);
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            return delegate.write(src);
+        }
+
+        @Override
+        public long write(ByteBuffer[] srcs, int offset, int length) throws IOException {
+            return delegate.write(srcs, offset, length);
+        }
+
+        @Override
+        public int write(ByteBuffer src, long position) throws IOException {
+            return delegate.write(src, position);
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            return delegate.read(dst);
+        }
+
+        @Override
+        public long read(ByteBuffer[] dsts, int offset, int length) throws IOException {
+            return delegate.read(dsts, offset, length);
+        }
+
+        @Override
+        public int read(ByteBuffer dst, long position) throws IOException {
+            return delegate.read(dst, position);
+        }
+
+        @Override
+        public long position() throws IOException {
+            return delegate.position();
+        }
+
+        @Override
+        public FileChannel position(long newPosition) throws IOException {
+            delegate.position(newPosition);
+            return this;
+        }
+
+        @Override
+        public long size() throws IOException {
+            return delegate.size();
+        }
+
+        @Override
+        public FileChannel truncate(long size) throws IOException {
+            delegate.truncate(size);
+            return this;
+        }
+
+        @Override
+        public long transferTo(long position, long count, WritableByteChannel target) throws IOException {
+            return delegate.transferTo(position, count, target);
+        }
+
+        @Override
+        public long transferFrom(ReadableByteChannel src, long position, long count) throws IOException {
+            return delegate.transferFrom(src, position, count);
+        }
+
+        @Override
+        public MappedByteBuffer map(MapMode mode, long position, long size) throws IOException {
+            return delegate.map(mode, position, size);
+        }
+
+        @Override
+        public FileLock lock(long position, long size, boolean shared) throws IOException {
+            return delegate.lock(position, size, shared);
+        }
+
+        @Override
+        public FileLock tryLock(long position, long size, boolean shared) throws IOException {
+            return delegate.tryLock(position, size, shared);
+        }
+
+        @Override
+        protected void implCloseChannel() throws IOException {
+            delegate.close();
+        }
+    }
+}
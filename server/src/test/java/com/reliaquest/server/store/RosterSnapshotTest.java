@@ -0,0 +1,59 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class RosterSnapshotTest {
+
+    private final List<MockEmployee> seed =
+            IntStream.range(0, 6).mapToObj(i -> employee("e" + i)).toList();
+    private final EmployeeStore store = new EmployeeStore(seed, 100);
+
+    @Test
+    void pages_walkTheRosterInInsertionOrder_withLaterAdditionsAtTheEnd() {
+        store.removeById(seed.get(2).getId());
+        var added = store.add(employee("added"));
+        var snapshot = store.snapshot();
+
+        List<MockEmployee> walked = new ArrayList<>();
+        Long after = null;
+        do {
+            var page = snapshot.page(null, after, null, 2);
+            walked.addAll(page.employees());
+            after = page.nextCursor();
+        } while (after != null);
+
+        assertThat(walked).containsExactlyElementsOf(snapshot.employees());
+        assertThat(walked).hasSize(6);
+        assertThat(walked.get(5)).isSameAs(added);
+    }
+
+    @Test
+    void ranges_areBoundedByCursor_andTheLastPageOfARangeHasNoNextCursor() {
+        var snapshot = store.snapshot();
+        assertThat(snapshot.lastSeq()).isEqualTo(6L);
+
+        var first = snapshot.page(1L, null, 4L, 2);
+        assertThat(first.employees()).containsExactly(seed.get(0), seed.get(1));
+        assertThat(first.nextCursor()).isEqualTo(2L);
+
+        var second = snapshot.page(1L, first.nextCursor(), 4L, 2);
+        assertThat(second.employees()).containsExactly(seed.get(2));
+        assertThat(second.nextCursor()).isNull();
+
+        assertThat(snapshot.page(4L, null, null, 10).employees())
+                .containsExactly(seed.get(3), seed.get(4), seed.get(5));
+        assertThat(snapshot.page(null, 6L, null, 10).employees()).isEmpty();
+    }
+
+    private static MockEmployee employee(String name) {
+        return new MockEmployee(UUID.randomUUID(), name, 100_000, 30, "Engineer", name + "@company.com");
+    }
+}